@@ -1,5 +1,7 @@
 package com.kite.app.config;
 
+import com.kite.authenticator.concurrent.VirtualThreads;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableAsync;
@@ -17,7 +19,13 @@ import java.util.concurrent.Executor;
 public class AsyncConfig {
     
     @Bean("operationLogExecutor")
-    public Executor operationLogExecutor() {
+    public Executor operationLogExecutor(@Value("${kite.threads.virtual.enabled:false}") boolean virtualThreads) {
+        // JDK 21 及以上且启用虚拟线程时，每条日志一个虚拟线程，写库阻塞不再受线程池大小限制
+        // 直接返回 ExecutorService，容器关闭时按推断的 close/shutdown 方法关闭
+        if (virtualThreads && VirtualThreads.isAvailable()) {
+            return VirtualThreads.newThreadPerTaskExecutor("operation-log-");
+        }
+        
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(2);
         executor.setMaxPoolSize(5);
@@ -2,6 +2,9 @@ package com.kite.authenticator;
 
 import com.kite.authenticator.context.LoginUser;
 import com.kite.authenticator.token.HostAuthenticationToken;
+import com.kite.authenticator.token.TokenPair;
+import com.kite.common.exception.BusinessException;
+import com.kite.common.response.ResultCode;
 
 /**
  * 认证器接口
@@ -25,5 +28,28 @@ public interface Authenticator {
      * @return 登录用户信息
      */
     LoginUser authenticate(HostAuthenticationToken token);
+    
+    /**
+     * 登录并签发令牌对（启用 Refresh Token 时同时签发短期 Access Token 与 Refresh Token）
+     * 默认实现只签发单个 Token
+     * 
+     * @param authenticationInfo 认证信息
+     * @return 令牌对
+     */
+    default TokenPair issueTokens(AuthenticationInfo authenticationInfo) {
+        String token = login(authenticationInfo);
+        return new TokenPair(token, authenticationInfo.getUser().getExpireAt(), null, null);
+    }
+    
+    /**
+     * 使用 Refresh Token 换取新的令牌对（Refresh Token 轮换，旧 Token 立即失效）
+     * 
+     * @param refreshToken Refresh Token
+     * @param host 设备ID
+     * @return 新的令牌对
+     */
+    default TokenPair refresh(String refreshToken, String host) {
+        throw new BusinessException(ResultCode.PARAM_ERROR.getCode(), "未启用 Refresh Token");
+    }
 }
 
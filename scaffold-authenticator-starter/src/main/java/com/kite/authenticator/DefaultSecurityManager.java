@@ -1,21 +1,37 @@
 package com.kite.authenticator;
 
+import com.kite.authenticator.cache.VerifiedTokenCache;
 import com.kite.authenticator.context.LoginUser;
+import com.kite.authenticator.exception.AuthRejection;
+import com.kite.authenticator.exception.AuthenticationException;
+import com.kite.authenticator.jfr.AuthenticateEvent;
+import com.kite.authenticator.jfr.JfrEvents;
+import com.kite.authenticator.metrics.AuthMetrics;
+import com.kite.authenticator.metrics.AuthOutcome;
+import com.kite.authenticator.metrics.AuthStage;
 import com.kite.authenticator.notifier.AuthcEventType;
 import com.kite.authenticator.notifier.Notifier;
 import com.kite.authenticator.notifier.NotifyRegistry;
 import com.kite.authenticator.notifier.impl.LoginEvent;
+import com.kite.authenticator.revocation.RevocationRegistry;
+import com.kite.authenticator.session.DefaultSession;
 import com.kite.authenticator.session.Session;
+import com.kite.authenticator.session.dao.RedisSessionDao;
 import com.kite.authenticator.session.dao.SessionDao;
 import com.kite.authenticator.service.TokenBlacklistService;
 import com.kite.authenticator.session.SessionManager;
 import com.kite.authenticator.session.SessionParser;
-import com.kite.authenticator.session.enums.UserStatus;
+import com.kite.authenticator.session.SessionValidator;
+import com.kite.authenticator.session.SessionWriteBehind;
+import com.kite.authenticator.signature.VerifiedClaims;
 import com.kite.authenticator.token.HostAuthenticationToken;
+import com.kite.authenticator.token.TokenPair;
+import com.kite.authenticator.util.SingleFlight;
 import com.kite.common.exception.BusinessException;
 import com.kite.common.response.ResultCode;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.util.StringUtils;
+
+import java.util.Objects;
 
 /**
  * 默认安全管理器
@@ -33,6 +49,11 @@ public class DefaultSecurityManager implements Authenticator {
     private final AuthenticatorConfigReader config;
     private final SessionParser sessionParser;
     private final TokenBlacklistService tokenBlacklistService;
+    private VerifiedTokenCache verifiedTokenCache;
+    private RevocationRegistry revocationRegistry;
+    private AuthMetrics metrics = AuthMetrics.NOOP;
+    private SingleFlight<String, Authenticated> singleFlight;
+    private SessionWriteBehind sessionWriteBehind;
     
     public DefaultSecurityManager(
             Realm realm,
@@ -51,8 +72,215 @@ public class DefaultSecurityManager implements Authenticator {
         this.tokenBlacklistService = tokenBlacklistService;
     }
     
+    /**
+     * 设置已验证 Token 缓存（可选）
+     */
+    public void setVerifiedTokenCache(VerifiedTokenCache verifiedTokenCache) {
+        this.verifiedTokenCache = verifiedTokenCache;
+    }
+    
+    /**
+     * 设置撤销登记表（设置后启用无状态验证：认证时不读写 Redis Session）
+     */
+    public void setRevocationRegistry(RevocationRegistry revocationRegistry) {
+        this.revocationRegistry = revocationRegistry;
+    }
+    
+    /**
+     * 设置认证阶段指标（可选）
+     */
+    public void setMetrics(AuthMetrics metrics) {
+        this.metrics = metrics != null ? metrics : AuthMetrics.NOOP;
+    }
+    
+    /**
+     * 设置是否合并同一 Token 的并发认证
+     * 启用后同一 Token、同一设备的并发请求共享一次黑名单检查、验签、Session 读取与回写
+     * 
+     * @param coalescing 是否启用
+     * @param waitTimeoutMillis 等待方的最长等待时间（毫秒），超时后自行认证
+     */
+    public void setCoalescing(boolean coalescing, long waitTimeoutMillis) {
+        this.singleFlight = coalescing ? new SingleFlight<>(waitTimeoutMillis) : null;
+    }
+    
+    /**
+     * 设置 Session 延迟写回（可选，未设置时每次认证都写回访问时间与续期）
+     */
+    public void setSessionWriteBehind(SessionWriteBehind sessionWriteBehind) {
+        this.sessionWriteBehind = sessionWriteBehind;
+    }
+    
     @Override
     public LoginUser authenticate(HostAuthenticationToken token) {
+        AuthenticateEvent event = JfrEvents.authenticate();
+        if (event == null) {
+            return coalesce(token);
+        }
+        String mode = revocationRegistry != null ? "stateless" : isRefreshTokenEnabled() ? "access-token" : "session";
+        int tokenLength = token.getCredential() != null ? token.getCredential().length() : 0;
+        try {
+            LoginUser loginUser = coalesce(token);
+            event.finish("success", null, mode, tokenLength);
+            return loginUser;
+        } catch (AuthenticationException e) {
+            event.finish("rejected", e.getReason().name(), mode, tokenLength);
+            throw e;
+        } catch (RuntimeException e) {
+            event.finish(e instanceof BusinessException ? "rejected" : "error",
+                    e.getClass().getSimpleName(), mode, tokenLength);
+            throw e;
+        }
+    }
+    
+    /**
+     * 合并并发认证：同一 Token 与设备ID 只有一个线程执行认证，其余线程等待并共享结果（或异常）
+     * 每个请求拿到各自的 LoginUser 与 Session 副本，一个请求的修改不会影响其他请求
+     */
+    private LoginUser coalesce(HostAuthenticationToken token) {
+        SingleFlight<String, Authenticated> flight = this.singleFlight;
+        String credential = token.getCredential();
+        if (flight == null || credential == null) {
+            return doAuthenticate(token);
+        }
+        // Token 中不含空格，可直接作为分隔符
+        Authenticated authenticated = flight.execute(credential + ' ' + token.getHost(),
+                () -> new Authenticated(doAuthenticate(token), token));
+        token.setVerifiedClaims(authenticated.verifiedClaims);
+        token.setSession(authenticated.session != null ? DefaultSession.copyOf(authenticated.session) : null);
+        return authenticated.loginUser.copy();
+    }
+    
+    private LoginUser doAuthenticate(HostAuthenticationToken token) {
+        Boolean validateDevice = config.getValidateHost();
+        if (validateDevice == null) {
+            validateDevice = true;
+        }
+        boolean accessTokenMode = isRefreshTokenEnabled();
+        
+        // Session 存储于 Redis 时，黑名单检查与 Session 校验、写回合并为一次脚本调用（在验签之后）
+        // 脚本的 KEYS 跨多个槽位，Redis Cluster 上逐条命令执行
+        boolean sessionScript = revocationRegistry == null && !accessTokenMode
+                && sessionManager != null && sessionDao instanceof RedisSessionDao
+                && !((RedisSessionDao) sessionDao).isCluster();
+        
+        // 0. 检查 Token 黑名单（优先检查，避免无效验证）
+        // 令牌对模式下 Access Token 只做本地校验，黑名单仅在无状态模式（本地登记表）下检查
+        if (tokenBlacklistService != null && (!accessTokenMode || revocationRegistry != null) && !sessionScript) {
+            checkBlacklist(token);
+        }
+        
+        // 1. 验证 Token（通过 Signature，解析与验签只执行一次；启用缓存时重复 Token 直接命中）
+        String secret = getSecret();
+        long verifyStart = metrics.start();
+        VerifiedClaims verifiedClaims;
+        try {
+            verifiedClaims = verifiedTokenCache != null
+                    ? verifiedTokenCache.get(token.getCredential(), token.getFingerprint(),
+                            credential -> signature.verifyClaims(credential, secret))
+                    : signature.verifyClaims(token.getCredential(), secret);
+        } catch (RuntimeException e) {
+            metrics.record(AuthStage.TOKEN_VERIFY, AuthOutcome.of(e), verifyStart);
+            throw e;
+        }
+        metrics.record(AuthStage.TOKEN_VERIFY, AuthOutcome.SUCCESS, verifyStart);
+        if (verifiedClaims.isRefreshToken()) {
+            throw AuthRejection.REFRESH_TOKEN_NOT_ALLOWED.exception();
+        }
+        token.setVerifiedClaims(verifiedClaims);
+        
+        // 2. 从 Realm 获取认证信息（复用已验证的声明）
+        AuthenticationInfo authenticationInfo = realm.getAuthenticationInfo(token);
+        if (authenticationInfo == null || authenticationInfo.getUser() == null) {
+            throw AuthRejection.AUTHENTICATION_FAILED.exception();
+        }
+        LoginUser loginUser = authenticationInfo.getUser();
+        
+        // 3. 无状态验证：只查询本地撤销登记表（踢出、禁用、退出登录），不访问 Redis
+        if (revocationRegistry != null) {
+            revocationRegistry.check(verifiedClaims);
+            String sessionKey = verifiedClaims.getSessionKey();
+            if (validateDevice && sessionKey != null
+                    && !Objects.equals(sessionParser.extractDeviceId(sessionKey), token.getHost())) {
+                throw AuthRejection.DEVICE_MISMATCH.exception();
+            }
+            return loginUser;
+        }
+        
+        // 3. 令牌对模式：短期 Access Token 只做本地验签，Session 校验在刷新时进行
+        if (accessTokenMode) {
+            return loginUser;
+        }
+        
+        // 3. Session 验证（如果启用）
+        if (sessionDao != null && sessionManager != null) {
+            String sessionKey = verifiedClaims.getSessionKey();
+            boolean hasSession = sessionKey != null && !sessionKey.isEmpty();
+            if (sessionScript && hasSession) {
+                checkSession(token, sessionKey, loginUser.getUserId(), validateDevice);
+            } else {
+                if (sessionScript && tokenBlacklistService != null) {
+                    checkBlacklist(token);
+                }
+                if (hasSession) {
+                    token.setSession(validateSession(sessionKey, token.getHost(), config.getSessionTimeout()));
+                }
+            }
+        }
+        
+        return loginUser;
+    }
+    
+    /**
+     * 检查 Token 黑名单
+     */
+    private void checkBlacklist(HostAuthenticationToken token) {
+        long start = metrics.start();
+        boolean blacklisted;
+        try {
+            blacklisted = tokenBlacklistService.isFingerprintBlacklisted(token.getFingerprint());
+        } catch (RuntimeException e) {
+            metrics.record(AuthStage.BLACKLIST, AuthOutcome.ERROR, start);
+            throw e;
+        }
+        if (blacklisted) {
+            metrics.record(AuthStage.BLACKLIST, AuthOutcome.REJECTED, start);
+            log.debug("Token 已被撤销（黑名单）");
+            throw AuthRejection.TOKEN_REVOKED.exception();
+        }
+        metrics.record(AuthStage.BLACKLIST, AuthOutcome.SUCCESS, start);
+    }
+    
+    /**
+     * 黑名单检查与 Session 校验、访问时间更新、续期在一次 Redis 往返中完成
+     */
+    private void checkSession(HostAuthenticationToken token, String sessionKey, Long userId, boolean validateDevice) {
+        String blacklistKey = tokenBlacklistService != null
+                ? tokenBlacklistService.getBlacklistKey(token.getFingerprint())
+                : null;
+        Long renewalInterval = !Boolean.FALSE.equals(config.getRenewal()) ? config.getRenewalInterval() : null;
+        long start = metrics.start();
+        try {
+            Session session = ((RedisSessionDao) sessionDao).authenticate(sessionKey, userId, blacklistKey, token.getHost(),
+                    config.getSessionTimeout(), validateDevice, !Boolean.FALSE.equals(config.getValidateStatus()),
+                    renewalInterval, sessionWriteBehind);
+            token.setSession(session);
+        } catch (RuntimeException e) {
+            metrics.record(AuthStage.SESSION_CHECK, AuthOutcome.of(e), start);
+            throw e;
+        }
+        metrics.record(AuthStage.SESSION_CHECK, AuthOutcome.SUCCESS, start);
+    }
+    
+    /**
+     * Session 验证：存在性、过期、设备、状态、超时，通过后更新访问时间并续期
+     * 
+     * @param sessionKey Session Key
+     * @param host 设备ID
+     * @param sessionTimeout 会话超时时间（毫秒，为空时不检查）
+     * @return 校验通过的 Session
+     */
+    private Session validateSession(String sessionKey, String host, Long sessionTimeout) {
         Boolean validateDevice = config.getValidateHost();
         Boolean isRenewal = config.getRenewal();
         Boolean validateStatus = config.getValidateStatus();
@@ -68,88 +296,57 @@ public class DefaultSecurityManager implements Authenticator {
             validateStatus = true;
         }
         
-        // 0. 检查 Token 黑名单（优先检查，避免无效验证）
-        if (tokenBlacklistService != null) {
-            if (tokenBlacklistService.isBlacklisted(token.getCredential())) {
-                log.warn("Token 已被撤销（黑名单）");
-                throw new BusinessException(ResultCode.UNAUTHORIZED.getCode(), "Token 已被撤销");
-            }
+        long start = metrics.start();
+        Session session;
+        try {
+            session = sessionManager.getSession(sessionKey);
+        } catch (RuntimeException e) {
+            metrics.record(AuthStage.SESSION_LOAD, AuthOutcome.of(e), start);
+            throw e;
         }
-        
-        // 1. 从 Realm 获取认证信息
-        AuthenticationInfo authenticationInfo = realm.getAuthenticationInfo(token);
-        if (authenticationInfo == null || authenticationInfo.getUser() == null) {
-            throw new BusinessException(ResultCode.UNAUTHORIZED.getCode(), "认证失败");
+        if (session == null) {
+            metrics.record(AuthStage.SESSION_LOAD, AuthOutcome.REJECTED, start);
+            throw AuthRejection.SESSION_NOT_FOUND.exception();
         }
+        metrics.record(AuthStage.SESSION_LOAD, AuthOutcome.SUCCESS, start);
         
-        // 2. 验证 Token（通过 Signature）
-        LoginUser loginUser = signature.verify(token.getCredential(), getSecret());
+        start = metrics.start();
+        try {
+            SessionValidator.validate(session, host, sessionTimeout, validateDevice, validateStatus);
+        } catch (RuntimeException e) {
+            metrics.record(AuthStage.SESSION_VALIDATE, AuthOutcome.of(e), start);
+            throw e;
+        }
+        metrics.record(AuthStage.SESSION_VALIDATE, AuthOutcome.SUCCESS, start);
         
-        // 3. Session 验证（如果启用）
-        if (sessionDao != null && sessionManager != null) {
-            String secret = getSecret();
-            if (StringUtils.isEmpty(secret)) {
-                throw new BusinessException(ResultCode.PARAM_ERROR.getCode(), "JWT 密钥不能为空");
-            }
-            String sessionKey = com.kite.authenticator.util.JwtUtils.extractSessionKey(
-                token.getCredential(), secret);
+        start = metrics.start();
+        try {
+            Long persistedLastAccessTime = session.getLastAccessTime();
+            Long persistedExpireAt = session.getExpireAt();
             
-            if (sessionKey != null && !sessionKey.isEmpty()) {
-                Session session = sessionManager.getSession(sessionKey);
-                if (session == null) {
-                    throw new BusinessException(ResultCode.UNAUTHORIZED.getCode(), "Session 不存在");
-                }
-                
-                // 检查 Session 是否过期
-                if (session.isExpired()) {
-                    throw new BusinessException(ResultCode.UNAUTHORIZED.getCode(), "Session 已过期");
-                }
-                
-                // 检查设备是否匹配
-                if (validateDevice && !session.matchDevice(token.getHost())) {
-                    throw new BusinessException(ResultCode.UNAUTHORIZED.getCode(), "设备不匹配");
-                }
-                
-                // 检查用户状态
-                if (validateStatus) {
-                    UserStatus status = UserStatus.fromCode(session.getStatus());
-                    if (status == UserStatus.KICK_OUT) {
-                        throw new BusinessException(ResultCode.UNAUTHORIZED.getCode(), "用户已被踢出");
-                    }
-                    if (status == UserStatus.DISABLED) {
-                        throw new BusinessException(ResultCode.UNAUTHORIZED.getCode(), "用户已被禁用");
-                    }
-                    if (status == UserStatus.DEVICE_KICK_OUT) {
-                        throw new BusinessException(ResultCode.UNAUTHORIZED.getCode(), "设备已被踢出");
-                    }
-                    if (status == UserStatus.REPLACED) {
-                        throw new BusinessException(ResultCode.UNAUTHORIZED.getCode(), "用户已在其他地方登录");
-                    }
-                }
-                
-                // 检查会话超时
-                Long sessionTimeout = config.getSessionTimeout();
-                if (sessionTimeout != null && session.exceedSessionTimeout(sessionTimeout)) {
-                    throw new BusinessException(ResultCode.UNAUTHORIZED.getCode(), "会话已超时，请重新登录");
-                }
-                
-                // 更新最后访问时间
-                session.touch();
-                
-                // Session 续期
-                if (isRenewal) {
-                    Long renewalInterval = config.getRenewalInterval();
-                    if (renewalInterval != null) {
-                        session.renewal(renewalInterval);
-                    }
+            // 更新最后访问时间
+            session.touch();
+            
+            // Session 续期
+            if (isRenewal) {
+                Long renewalInterval = config.getRenewalInterval();
+                if (renewalInterval != null) {
+                    session.renewal(renewalInterval);
                 }
-                
-                // 更新 Session
-                sessionDao.update(session);
             }
+            
+            // 写回访问时间与续期（启用延迟写回时合并短时间内的多次访问），不覆盖并发的踢出、禁用与登出
+            if (sessionWriteBehind != null) {
+                sessionWriteBehind.write(session, persistedLastAccessTime, persistedExpireAt);
+            } else {
+                sessionDao.touch(session);
+            }
+        } catch (RuntimeException e) {
+            metrics.record(AuthStage.SESSION_WRITE, AuthOutcome.ERROR, start);
+            throw e;
         }
-        
-        return loginUser;
+        metrics.record(AuthStage.SESSION_WRITE, AuthOutcome.SUCCESS, start);
+        return session;
     }
     
     @Override
@@ -159,32 +356,22 @@ public class DefaultSecurityManager implements Authenticator {
             throw new BusinessException(ResultCode.PARAM_ERROR.getCode(), "登录用户信息不能为空");
         }
         
+        // 密钥校验由 Signature 实现负责（非对称算法不使用 secret）
         String secret = getSecret();
-        if (StringUtils.isEmpty(secret)) {
-            throw new BusinessException(ResultCode.PARAM_ERROR.getCode(), "JWT 密钥不能为空");
-        }
-        
         Long expireTime = getExpireTime();
         
         // 创建 Session（如果启用）
-        String sessionKey = null;
-        if (sessionManager != null && sessionDao != null) {
-            // 从 authenticationInfo 中获取 deviceId（存储在 credential 中）
-            String deviceId = authenticationInfo.getCredential();
-            Session session = sessionManager.createSession(
-                loginUser, 
-                deviceId,
-                expireTime);
-            sessionKey = session.getSessionKey();
-        }
+        String sessionKey = createSession(authenticationInfo, expireTime);
         
-        // 生成 Token（包含 sessionKey）
-        String token = signature.sign(loginUser, getSecret());
-        
-        // 如果有 sessionKey，需要更新 Token
+        // 生成 Token（有 sessionKey 时直接签发携带 sessionKey 的 Token，只签名一次）
+        String token;
         if (sessionKey != null && !sessionKey.isEmpty()) {
-            token = com.kite.authenticator.util.JwtUtils.generateToken(
-                loginUser, secret, expireTime, sessionKey);
+            if (loginUser.getExpireAt() == null) {
+                loginUser.setExpireAt(System.currentTimeMillis() + expireTime);
+            }
+            token = signature.sign(loginUser, secret, sessionKey, expireTime);
+        } else {
+            token = signature.sign(loginUser, secret);
         }
         
         // 触发登录事件
@@ -193,6 +380,127 @@ public class DefaultSecurityManager implements Authenticator {
         return token;
     }
     
+    @Override
+    public TokenPair issueTokens(AuthenticationInfo authenticationInfo) {
+        if (!isRefreshTokenEnabled()) {
+            return Authenticator.super.issueTokens(authenticationInfo);
+        }
+        
+        LoginUser loginUser = authenticationInfo.getUser();
+        if (loginUser == null) {
+            throw new BusinessException(ResultCode.PARAM_ERROR.getCode(), "登录用户信息不能为空");
+        }
+        
+        // Session 与 Refresh Token 有效期一致
+        String sessionKey = createSession(authenticationInfo, getExpireTime());
+        TokenPair tokenPair = signTokenPair(loginUser, sessionKey);
+        
+        // 触发登录事件
+        triggerLoginEvent(loginUser);
+        
+        return tokenPair;
+    }
+    
+    @Override
+    public TokenPair refresh(String refreshToken, String host) {
+        if (!isRefreshTokenEnabled()) {
+            return Authenticator.super.refresh(refreshToken, host);
+        }
+        if (refreshToken == null || refreshToken.isEmpty()) {
+            throw AuthRejection.REFRESH_TOKEN_EMPTY.exception();
+        }
+        
+        // 1. 验签
+        VerifiedClaims verifiedClaims = signature.verifyClaims(refreshToken, getSecret());
+        if (!verifiedClaims.isRefreshToken()) {
+            throw AuthRejection.TOKEN_TYPE_MISMATCH.exception();
+        }
+        
+        // 2. 轮换：签发新 Token 前原子认领旧 Refresh Token（SET NX），并发重放只有一个请求能认领成功；
+        // 已在黑名单中（已轮换或已撤销）或 Redis 异常时拒绝
+        claimRefreshToken(refreshToken, verifiedClaims);
+        
+        // 3. Session 与状态校验（只在刷新时执行）
+        // Access Token 有效期内不会更新访问时间，超时判断放宽一个 Access Token 有效期
+        if (revocationRegistry != null) {
+            revocationRegistry.check(verifiedClaims);
+        }
+        String sessionKey = verifiedClaims.getSessionKey();
+        if (sessionDao != null && sessionManager != null && sessionKey != null && !sessionKey.isEmpty()) {
+            Long sessionTimeout = config.getSessionTimeout();
+            if (sessionTimeout != null) {
+                sessionTimeout += getAccessExpireTime();
+            }
+            validateSession(sessionKey, host, sessionTimeout);
+        }
+        
+        // 4. 加载最新的用户信息
+        HostAuthenticationToken token = new HostAuthenticationToken(refreshToken, host);
+        token.setVerifiedClaims(verifiedClaims);
+        AuthenticationInfo authenticationInfo = realm.getAuthenticationInfo(token);
+        if (authenticationInfo == null || authenticationInfo.getUser() == null) {
+            throw AuthRejection.AUTHENTICATION_FAILED.exception();
+        }
+        
+        return signTokenPair(authenticationInfo.getUser(), sessionKey);
+    }
+    
+    /**
+     * 认领 Refresh Token（失败即关闭：未配置黑名单服务、已被认领或 Redis 异常都拒绝刷新）
+     */
+    private void claimRefreshToken(String refreshToken, VerifiedClaims verifiedClaims) {
+        if (tokenBlacklistService == null) {
+            log.error("未配置 TokenBlacklistService，无法保证 Refresh Token 只使用一次，拒绝刷新");
+            throw AuthRejection.AUTHENTICATION_FAILED.exception();
+        }
+        Long expireAt = verifiedClaims.getExpireAt();
+        long remaining = expireAt != null ? expireAt - System.currentTimeMillis() : getExpireTime();
+        boolean claimed;
+        try {
+            claimed = tokenBlacklistService.claimToken(refreshToken, "Refresh Token 已轮换", remaining);
+        } catch (RuntimeException e) {
+            log.error("认领 Refresh Token 失败，拒绝刷新", e);
+            throw AuthRejection.AUTHENTICATION_FAILED.exception();
+        }
+        if (!claimed) {
+            log.warn("Refresh Token 已失效（已轮换或已撤销）");
+            throw AuthRejection.REFRESH_TOKEN_INVALID.exception();
+        }
+    }
+    
+    /**
+     * 创建 Session（如果启用）
+     * 
+     * @return Session Key，未启用 Session 时返回 null
+     */
+    private String createSession(AuthenticationInfo authenticationInfo, Long expireTime) {
+        if (sessionManager == null || sessionDao == null) {
+            return null;
+        }
+        // 从 authenticationInfo 中获取 deviceId（存储在 credential 中）
+        String deviceId = authenticationInfo.getCredential();
+        Session session = sessionManager.createSession(
+            authenticationInfo.getUser(), 
+            deviceId,
+            expireTime);
+        return session.getSessionKey();
+    }
+    
+    /**
+     * 签发短期 Access Token 与 Refresh Token
+     */
+    private TokenPair signTokenPair(LoginUser loginUser, String sessionKey) {
+        String secret = getSecret();
+        long now = System.currentTimeMillis();
+        long accessExpireTime = getAccessExpireTime();
+        long refreshExpireTime = getExpireTime();
+        
+        loginUser.setExpireAt(now + accessExpireTime);
+        String accessToken = signature.sign(loginUser, secret, sessionKey, accessExpireTime);
+        String refreshToken = signature.signRefresh(loginUser.getUserId(), secret, sessionKey, refreshExpireTime);
+        return new TokenPair(accessToken, now + accessExpireTime, refreshToken, now + refreshExpireTime);
+    }
+    
     /**
      * 触发登录事件
      */
@@ -217,6 +525,28 @@ public class DefaultSecurityManager implements Authenticator {
         return null;
     }
     
+    /**
+     * 是否启用 Access/Refresh 令牌对（从配置中获取）
+     */
+    private boolean isRefreshTokenEnabled() {
+        if (config instanceof com.kite.authenticator.config.AuthenticatorProperties) {
+            return Boolean.TRUE.equals(((com.kite.authenticator.config.AuthenticatorProperties) config)
+                    .getRefreshToken().getEnabled());
+        }
+        return false;
+    }
+    
+    /**
+     * 获取 Access Token 过期时间（从配置中获取）
+     */
+    private Long getAccessExpireTime() {
+        if (config instanceof com.kite.authenticator.config.AuthenticatorProperties) {
+            return ((com.kite.authenticator.config.AuthenticatorProperties) config)
+                    .getRefreshToken().getAccessExpireTime();
+        }
+        return 60 * 60 * 1000L;  // 默认 1 小时
+    }
+    
     /**
      * 获取过期时间（从配置中获取）
      */
@@ -226,5 +556,19 @@ public class DefaultSecurityManager implements Authenticator {
         }
         return 7 * 24 * 60 * 60 * 1000L;  // 默认 7 天
     }
+    
+    /**
+     * 一次认证的结果（在合并的并发请求间共享，只读；LoginUser 与 Session 为发起方返回前的快照）
+     */
+    private static final class Authenticated {
+        private final LoginUser loginUser;
+        private final VerifiedClaims verifiedClaims;
+        private final Session session;
+        
+        private Authenticated(LoginUser loginUser, HostAuthenticationToken token) {
+            this.loginUser = loginUser.copy();
+            this.verifiedClaims = token.getVerifiedClaims();
+            this.session = token.getSession() != null ? DefaultSession.copyOf(token.getSession()) : null;
+        }
+    }
 }
-
@@ -1,6 +1,10 @@
 package com.kite.authenticator;
 
 import com.kite.authenticator.context.LoginUser;
+import com.kite.authenticator.signature.HmacKeyring;
+import com.kite.authenticator.signature.VerifiedClaims;
+import com.kite.authenticator.util.JwtUtils;
+import io.jsonwebtoken.SignatureAlgorithm;
 
 /**
  * 签名接口
@@ -19,6 +23,36 @@ public interface Signature {
      */
     String sign(LoginUser loginUser, String key);
     
+    /**
+     * 生成携带 SessionKey 的签名（Token）
+     * 默认实现沿用 HMAC JWT 格式，自定义实现建议覆盖此方法
+     * 
+     * @param loginUser 登录用户信息
+     * @param key 密钥（可选）
+     * @param sessionKey Session Key（可选）
+     * @param expireTime 过期时间（毫秒）
+     * @return Token 字符串
+     */
+    default String sign(LoginUser loginUser, String key, String sessionKey, long expireTime) {
+        return JwtUtils.generateToken(loginUser, key, expireTime, sessionKey);
+    }
+    
+    /**
+     * 生成 Refresh Token
+     * 默认实现沿用 HMAC JWT 格式，自定义实现建议覆盖此方法
+     * 
+     * @param userId 用户ID
+     * @param key 密钥（可选）
+     * @param sessionKey Session Key（可选）
+     * @param expireTime 过期时间（毫秒）
+     * @return Refresh Token 字符串
+     */
+    default String signRefresh(Long userId, String key, String sessionKey, long expireTime) {
+        HmacKeyring keyring = HmacKeyring.of(key);
+        return JwtUtils.generateRefreshToken(userId, sessionKey, keyring.getSigningKey(), keyring.getPrimaryKid(),
+                SignatureAlgorithm.HS256, expireTime);
+    }
+    
     /**
      * 验证签名并解析用户信息
      * 
@@ -27,5 +61,19 @@ public interface Signature {
      * @return 登录用户信息
      */
     LoginUser verify(String token, String key);
+    
+    /**
+     * 验证签名并一次性解析全部声明
+     * 认证流程只调用一次，Realm 与 Session 校验复用返回结果。
+     * 默认实现基于 {@link #verify}，SessionKey 通过 JWT 工具类补充提取，自定义实现建议覆盖此方法
+     * 
+     * @param token Token 字符串
+     * @param key 密钥（可选）
+     * @return 已验证的声明
+     */
+    default VerifiedClaims verifyClaims(String token, String key) {
+        LoginUser loginUser = verify(token, key);
+        String sessionKey = key != null && !key.isEmpty() ? JwtUtils.extractSessionKey(token, key) : null;
+        return new VerifiedClaims(null, loginUser.getUserId(), sessionKey, loginUser, null, loginUser.getExpireAt());
+    }
 }
-
@@ -0,0 +1,179 @@
+package com.kite.authenticator.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.kite.authenticator.context.LoginUser;
+import com.kite.authenticator.session.Session;
+import com.kite.authenticator.session.SessionListener;
+import com.kite.authenticator.session.enums.UserStatus;
+import com.kite.authenticator.signature.VerifiedClaims;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 登录用户缓存
+ * 紧凑格式 Token 只携带用户ID与授权版本号，完整的 LoginUser 由此缓存按用户ID加载（底层调用
+ * {@link com.kite.authenticator.service.AuthenticationService#getUserById}）。
+ * <p>
+ * 当 Token 的授权版本号与缓存不一致、且缓存早于 Token 签发时，说明权限已变更，重新加载。
+ *
+ * @author yourname
+ */
+public class LoginUserCache implements SessionListener {
+
+    private final Cache<Long, CachedUser> cache;
+    private final Function<Long, LoginUser> loader;
+
+    /**
+     * @param loader 用户加载函数（按用户ID查询）
+     * @param maximumSize 最大缓存用户数
+     * @param ttlMillis 缓存有效期（毫秒）
+     */
+    public LoginUserCache(Function<Long, LoginUser> loader, long maximumSize, long ttlMillis) {
+        this.loader = loader;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttlMillis, TimeUnit.MILLISECONDS)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 计算用户的授权版本号（由角色与权限列表决定，各节点结果一致）
+     * 取排序去重后的角色、权限集合的 SHA-256 摘要前 8 字节：列表顺序不影响版本号，
+     * 64 位摘要的碰撞概率可忽略，角色或权限的任何变更都会使版本号变化。
+     */
+    public static long authorizationVersion(LoginUser loginUser) {
+        MessageDigest digest = sha256();
+        update(digest, loginUser.getRoles());
+        // 分隔角色与权限，避免 ["a"],[] 与 [],["a"] 得到相同摘要
+        digest.update((byte) 1);
+        update(digest, loginUser.getPermissions());
+        return ByteBuffer.wrap(digest.digest()).getLong();
+    }
+
+    private static void update(MessageDigest digest, Collection<String> values) {
+        if (values == null) {
+            return;
+        }
+        TreeSet<String> sorted = new TreeSet<>();
+        for (String value : values) {
+            if (value != null) {
+                sorted.add(value);
+            }
+        }
+        for (String value : sorted) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("当前 JVM 不支持 SHA-256", e);
+        }
+    }
+
+    /**
+     * 根据已验证的紧凑声明加载登录用户
+     * 返回副本并填充本 Token 的过期时间，缓存中的对象不会被修改
+     *
+     * @param claims 已验证的声明
+     * @return 登录用户，用户不存在时返回 null
+     */
+    public LoginUser get(VerifiedClaims claims) {
+        Long userId = claims.getUserId();
+        if (userId == null) {
+            return null;
+        }
+        CachedUser cached = cache.get(userId, this::load);
+        if (cached != null && isStale(cached, claims)) {
+            cached = load(userId);
+            if (cached != null) {
+                cache.put(userId, cached);
+            }
+        }
+        if (cached == null) {
+            return null;
+        }
+        LoginUser loginUser = cached.loginUser.copy();
+        loginUser.setExpireAt(claims.getExpireAt());
+        return loginUser;
+    }
+
+    /**
+     * 清除指定用户的缓存（角色、权限变更后调用）
+     */
+    public void evict(Long userId) {
+        if (userId != null) {
+            cache.invalidate(userId);
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * 缓存统计
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * 底层 Caffeine 缓存（用于注册缓存指标）
+     */
+    public Cache<Long, ?> getNativeCache() {
+        return cache;
+    }
+
+    @Override
+    public void onStatusChanged(Session session, UserStatus status) {
+        evict(session.getUserId());
+    }
+
+    private CachedUser load(Long userId) {
+        LoginUser loginUser = loader.apply(userId);
+        if (loginUser == null) {
+            return null;
+        }
+        return new CachedUser(loginUser, authorizationVersion(loginUser), System.currentTimeMillis());
+    }
+
+    private boolean isStale(CachedUser cached, VerifiedClaims claims) {
+        Long version = claims.getAuthorizationVersion();
+        if (version == null || version == cached.version) {
+            return false;
+        }
+        // 缓存晚于 Token 签发时，缓存中的授权信息更新，无需重新加载
+        Long issuedAt = claims.getIssuedAt();
+        return issuedAt == null || cached.loadedAt < issuedAt;
+    }
+
+    private static class CachedUser {
+
+        private final LoginUser loginUser;
+        private final long version;
+        private final long loadedAt;
+
+        CachedUser(LoginUser loginUser, long version, long loadedAt) {
+            this.loginUser = loginUser;
+            this.version = version;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.kite.authenticator.cache;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * 基于 Redis Pub/Sub 的 Session 缓存失效广播器
+ * 消息为换行分隔的 Session Key，各节点收到后失效本地缓存（包括发送节点自身，重复失效无副作用）
+ *
+ * @author yourname
+ */
+public class RedisSessionInvalidationBroadcaster implements SessionInvalidationBroadcaster, MessageListener,
+        InitializingBean, DisposableBean {
+
+    private static final String CHANNEL = "authc:session-invalidation";
+
+    private final RedisConnectionFactory connectionFactory;
+    private final StringRedisTemplate redisTemplate;
+    private final SessionNearCache cache;
+
+    private RedisMessageListenerContainer container;
+
+    public RedisSessionInvalidationBroadcaster(RedisConnectionFactory connectionFactory, SessionNearCache cache) {
+        this.connectionFactory = connectionFactory;
+        this.redisTemplate = new StringRedisTemplate(connectionFactory);
+        this.cache = cache;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(this, new ChannelTopic(CHANNEL));
+        container.afterPropertiesSet();
+        container.start();
+
+        cache.setBroadcaster(this);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        cache.setBroadcaster(null);
+        if (container != null) {
+            container.destroy();
+        }
+    }
+
+    @Override
+    public void broadcast(Collection<String> sessionKeys) {
+        redisTemplate.convertAndSend(CHANNEL, String.join("\n", sessionKeys));
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        if (!body.isEmpty()) {
+            cache.invalidateLocal(Arrays.asList(body.split("\n")));
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.kite.authenticator.cache;
+
+import java.util.Collection;
+
+/**
+ * Session 本地缓存失效广播器
+ * 将本节点失效的 Session Key 推送到其他节点
+ *
+ * @author yourname
+ */
+public interface SessionInvalidationBroadcaster {
+
+    /**
+     * 广播失效的 Session Key
+     *
+     * @param sessionKeys Session Key 列表
+     */
+    void broadcast(Collection<String> sessionKeys);
+}
@@ -0,0 +1,130 @@
+package com.kite.authenticator.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.kite.authenticator.session.DefaultSession;
+import com.kite.authenticator.session.Session;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Session 本地缓存
+ * 缓存有效期很短且容量有限，认证时多数请求直接从本地内存读取 Session。
+ * 踢出、禁用、删除时本节点立即失效，并通过 {@link SessionInvalidationBroadcaster} 通知其他节点失效；
+ * 广播消息丢失时，其他节点最多在缓存有效期后读到最新状态。
+ * <p>
+ * 读取时返回副本，调用方修改访问时间等字段不会影响缓存中的对象。
+ *
+ * @author yourname
+ */
+public class SessionNearCache {
+
+    private final Cache<String, Session> cache;
+
+    private volatile SessionInvalidationBroadcaster broadcaster;
+
+    /**
+     * @param maximumSize 最大缓存 Session 数
+     * @param ttlMillis 缓存有效期（毫秒）
+     */
+    public SessionNearCache(long maximumSize, long ttlMillis) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttlMillis, TimeUnit.MILLISECONDS)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 设置失效广播器（为空时只失效本节点）
+     */
+    public void setBroadcaster(SessionInvalidationBroadcaster broadcaster) {
+        this.broadcaster = broadcaster;
+    }
+
+    /**
+     * 读取 Session，未命中时由 loader 加载（Session 不存在时不缓存）
+     */
+    public Session get(String sessionKey, Function<String, Session> loader) {
+        Session session = cache.get(sessionKey, loader);
+        return session != null ? DefaultSession.copyOf(session) : null;
+    }
+
+    /**
+     * 用已写回的 Session 刷新缓存（未缓存时不加入，已失效的 Session 不会被重新加入）
+     */
+    public void refresh(Session session) {
+        if (session.getSessionKey() != null) {
+            cache.asMap().computeIfPresent(session.getSessionKey(), (key, current) -> DefaultSession.copyOf(session));
+        }
+    }
+
+    /**
+     * 前移缓存中 Session 的访问时间与过期时间（与存储端的写回规则一致）
+     */
+    public void touch(Session session) {
+        if (session.getSessionKey() == null) {
+            return;
+        }
+        cache.asMap().computeIfPresent(session.getSessionKey(), (key, current) -> {
+            Session touched = DefaultSession.copyOf(current);
+            if (isAfter(session.getLastAccessTime(), touched.getLastAccessTime())) {
+                touched.setLastAccessTime(session.getLastAccessTime());
+            }
+            if (isAfter(session.getExpireAt(), touched.getExpireAt())) {
+                touched.setExpireAt(session.getExpireAt());
+            }
+            return touched;
+        });
+    }
+
+    /**
+     * 失效本节点与其他节点的缓存
+     */
+    public void invalidate(Collection<String> sessionKeys) {
+        if (sessionKeys.isEmpty()) {
+            return;
+        }
+        invalidateLocal(sessionKeys);
+        SessionInvalidationBroadcaster current = this.broadcaster;
+        if (current != null) {
+            current.broadcast(sessionKeys);
+        }
+    }
+
+    /**
+     * 失效本节点与其他节点的缓存
+     */
+    public void invalidate(String sessionKey) {
+        invalidate(Collections.singletonList(sessionKey));
+    }
+
+    /**
+     * 只失效本节点的缓存（收到其他节点的广播时调用）
+     */
+    public void invalidateLocal(Collection<String> sessionKeys) {
+        cache.invalidateAll(sessionKeys);
+    }
+
+    /**
+     * 缓存统计
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * 底层 Caffeine 缓存（用于注册缓存指标）
+     */
+    public Cache<String, Session> getNativeCache() {
+        return cache;
+    }
+
+    private static boolean isAfter(Long candidate, Long current) {
+        return candidate != null && (current == null || candidate > current);
+    }
+}
@@ -0,0 +1,211 @@
+package com.kite.authenticator.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.kite.authenticator.session.Session;
+import com.kite.authenticator.session.SessionListener;
+import com.kite.authenticator.session.enums.UserStatus;
+import com.kite.authenticator.signature.VerifiedClaims;
+import com.kite.authenticator.util.TokenHashUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 已验证 Token 缓存
+ * 以 Token 指纹为 Key 缓存验签结果（LoginUser 与 SessionKey），重复请求跳过验签与用户信息反序列化。
+ * 容量有界（W-TinyLFU 淘汰），每个条目的存活时间不超过 JWT 的 exp。
+ * 另按 SessionKey 维护 Token 指纹的二级索引，Session 失效时只清除对应条目，不遍历整个缓存
+ * （踢出、禁用用户时按其每个 Session 通知，无需单独的用户索引）。
+ *
+ * @author yourname
+ */
+public class VerifiedTokenCache implements SessionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(VerifiedTokenCache.class);
+
+    private final Cache<String, VerifiedClaims> cache;
+
+    /**
+     * SessionKey -> Token 指纹
+     */
+    private final ConcurrentMap<String, Set<String>> sessionIndex = new ConcurrentHashMap<>();
+
+    /**
+     * @param maximumSize 最大条目数
+     * @param maxTtlMillis 条目最长存活时间（毫秒），实际存活时间取其与 Token 剩余有效期的较小值
+     */
+    public VerifiedTokenCache(long maximumSize, long maxTtlMillis) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new ClaimsExpiry(TimeUnit.MILLISECONDS.toNanos(maxTtlMillis)))
+                // 条目移除（淘汰、过期、失效）时在当前线程同步维护二级索引
+                .executor(Runnable::run)
+                .removalListener((String fingerprint, VerifiedClaims claims, RemovalCause cause) -> {
+                    if (fingerprint != null && claims != null && cause != RemovalCause.REPLACED) {
+                        unindex(fingerprint, claims);
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * 获取已验证的声明，未命中时调用 verifier 验签并写入缓存
+     * verifier 抛出的异常原样抛出，验签失败的结果不会被缓存
+     *
+     * @param token Token 字符串
+     * @param verifier 验签函数
+     * @return 已验证的声明
+     */
+    public VerifiedClaims get(String token, Function<String, VerifiedClaims> verifier) {
+        return get(token, TokenHashUtils.sha256Hex(token), verifier);
+    }
+    
+    /**
+     * 获取已验证的声明（指纹已计算时使用，避免重复哈希）
+     *
+     * @param token Token 字符串
+     * @param fingerprint Token 指纹（SHA-256 十六进制）
+     * @param verifier 验签函数
+     * @return 已验证的声明
+     */
+    public VerifiedClaims get(String token, String fingerprint, Function<String, VerifiedClaims> verifier) {
+        return cache.get(fingerprint, key -> {
+            VerifiedClaims claims = verifier.apply(token);
+            if (claims != null) {
+                index(key, claims);
+            }
+            return claims;
+        });
+    }
+
+    /**
+     * 清除指定 Token 的缓存（加入黑名单时调用）
+     */
+    public void invalidate(String token) {
+        if (token == null || token.isEmpty()) {
+            return;
+        }
+        cache.invalidate(TokenHashUtils.sha256Hex(token));
+    }
+
+    /**
+     * 清除指定 Session 关联的全部缓存
+     */
+    public void invalidateSession(String sessionKey) {
+        if (sessionKey == null) {
+            return;
+        }
+        Set<String> fingerprints = sessionIndex.remove(sessionKey);
+        if (fingerprints != null) {
+            cache.invalidateAll(fingerprints);
+        }
+    }
+
+    /**
+     * 清空缓存
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * 缓存统计（命中、未命中、淘汰次数等）
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * 底层 Caffeine 缓存（用于注册缓存指标）
+     */
+    public Cache<String, VerifiedClaims> getNativeCache() {
+        return cache;
+    }
+
+    /**
+     * 当前缓存条目数（近似值）
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    @Override
+    public void onStatusChanged(Session session, UserStatus status) {
+        invalidateSession(session.getSessionKey());
+        logger.debug("Session 状态变更，已清除 Token 缓存: sessionKey={}, status={}", session.getSessionKey(), status);
+    }
+
+    @Override
+    public void onDeleted(Session session) {
+        invalidateSession(session.getSessionKey());
+    }
+
+    private void index(String fingerprint, VerifiedClaims claims) {
+        if (claims.getSessionKey() != null) {
+            add(sessionIndex, claims.getSessionKey(), fingerprint);
+        }
+    }
+
+    private void unindex(String fingerprint, VerifiedClaims claims) {
+        if (claims.getSessionKey() != null) {
+            remove(sessionIndex, claims.getSessionKey(), fingerprint);
+        }
+    }
+
+    private static void add(ConcurrentMap<String, Set<String>> index, String key, String fingerprint) {
+        index.compute(key, (k, fingerprints) -> {
+            Set<String> result = fingerprints != null ? fingerprints : ConcurrentHashMap.newKeySet();
+            result.add(fingerprint);
+            return result;
+        });
+    }
+
+    private static void remove(ConcurrentMap<String, Set<String>> index, String key, String fingerprint) {
+        index.computeIfPresent(key, (k, fingerprints) -> {
+            fingerprints.remove(fingerprint);
+            return fingerprints.isEmpty() ? null : fingerprints;
+        });
+    }
+
+    /**
+     * 条目过期策略：min(最长存活时间, Token 剩余有效期)
+     */
+    private static class ClaimsExpiry implements Expiry<String, VerifiedClaims> {
+
+        private final long maxTtlNanos;
+
+        ClaimsExpiry(long maxTtlNanos) {
+            this.maxTtlNanos = maxTtlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedClaims claims, long currentTime) {
+            Long expireAt = claims.getExpireAt();
+            if (expireAt == null) {
+                return maxTtlNanos;
+            }
+            long remainingNanos = TimeUnit.MILLISECONDS.toNanos(expireAt - System.currentTimeMillis());
+            return Math.max(0L, Math.min(maxTtlNanos, remainingNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedClaims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedClaims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
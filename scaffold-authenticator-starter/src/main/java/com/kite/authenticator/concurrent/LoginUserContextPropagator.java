@@ -0,0 +1,28 @@
+package com.kite.authenticator.concurrent;
+
+import com.kite.authenticator.context.LoginUser;
+import com.kite.authenticator.context.LoginUserContext;
+import com.kite.common.concurrent.ContextPropagator;
+
+/**
+ * 登录用户上下文传递器
+ * 使并行扇出的任务中 {@link LoginUserContext#getUserId()} 等方法与发起请求的线程一致
+ *
+ * @author yourname
+ */
+public class LoginUserContextPropagator implements ContextPropagator {
+
+    @Override
+    public Object capture() {
+        return LoginUserContext.getLoginUser();
+    }
+
+    @Override
+    public void restore(Object snapshot) {
+        if (snapshot == null) {
+            LoginUserContext.clear();
+        } else {
+            LoginUserContext.setLoginUser((LoginUser) snapshot);
+        }
+    }
+}
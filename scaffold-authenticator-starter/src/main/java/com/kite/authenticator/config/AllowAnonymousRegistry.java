@@ -1,12 +1,12 @@
 package com.kite.authenticator.config;
 
 import com.kite.authenticator.annotation.AllowAnonymous;
+import com.kite.authenticator.util.PathPatternTrie;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.context.ApplicationListener;
 import org.springframework.context.event.ContextRefreshedEvent;
 import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.http.HttpMethod;
-import org.springframework.util.AntPathMatcher;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.mvc.condition.PatternsRequestCondition;
 import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
@@ -18,21 +18,40 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * 收集标记了 {@link AllowAnonymous} 的接口，供认证过滤器在运行时放行。
+ * 排除路径与匿名接口在 {@link ContextRefreshedEvent} 时编译为按 HTTP 方法分组的 {@link PathPatternTrie}，
+ * 每次请求只做一次按路径深度的查找。
  */
 public class AllowAnonymousRegistry implements ApplicationListener<ContextRefreshedEvent> {
 
     private final ObjectProvider<List<RequestMappingHandlerMapping>> handlerMappingsProvider;
-    private final AntPathMatcher pathMatcher = new AntPathMatcher();
-    private final List<AnonymousDefinition> definitions = new CopyOnWriteArrayList<>();
+    private volatile List<String> excludePaths = Collections.emptyList();
+    private volatile List<AnonymousDefinition> definitions = Collections.emptyList();
+
+    /**
+     * 仅包含匿名接口
+     */
+    private volatile PathPatternTrie anonymousTrie = new PathPatternTrie();
+
+    /**
+     * 排除路径 + 匿名接口
+     */
+    private volatile PathPatternTrie permittedTrie = new PathPatternTrie();
 
     public AllowAnonymousRegistry(ObjectProvider<List<RequestMappingHandlerMapping>> handlerMappingsProvider) {
         this.handlerMappingsProvider = handlerMappingsProvider;
     }
 
+    /**
+     * 设置排除路径（立即编译，不必等待上下文刷新）
+     */
+    public void setExcludePaths(List<String> excludePaths) {
+        this.excludePaths = excludePaths != null ? new ArrayList<>(excludePaths) : Collections.emptyList();
+        compile();
+    }
+
     @Override
     public void onApplicationEvent(ContextRefreshedEvent event) {
         reload();
@@ -42,43 +61,62 @@ public class AllowAnonymousRegistry implements ApplicationListener<ContextRefres
      * 判断当前请求是否命中 AllowAnonymous。
      */
     public boolean isAllowAnonymous(String path, String method) {
-        if (definitions.isEmpty()) {
-            return false;
-        }
-        HttpMethod httpMethod = null;
-        if (method != null) {
-            try {
-                httpMethod = HttpMethod.valueOf(method);
-            } catch (IllegalArgumentException ignored) {
-                // ignore unknown http method
-            }
+        return anonymousTrie.matches(path, resolveMethod(method));
+    }
+
+    /**
+     * 判断当前请求是否无需认证（命中排除路径或 AllowAnonymous）。
+     */
+    public boolean isPermitted(String path, String method) {
+        return permittedTrie.matches(path, resolveMethod(method));
+    }
+
+    private HttpMethod resolveMethod(String method) {
+        if (method == null) {
+            return null;
         }
-        for (AnonymousDefinition definition : definitions) {
-            if (!definition.matches(pathMatcher, path, httpMethod)) {
-                continue;
-            }
-            return true;
+        try {
+            return HttpMethod.valueOf(method);
+        } catch (IllegalArgumentException ignored) {
+            // ignore unknown http method
+            return null;
         }
-        return false;
     }
 
     private void reload() {
-        definitions.clear();
         List<RequestMappingHandlerMapping> handlerMappings =
                 handlerMappingsProvider.getIfAvailable(Collections::emptyList);
-        if (handlerMappings == null || handlerMappings.isEmpty()) {
-            return;
-        }
-        for (RequestMappingHandlerMapping handlerMapping : handlerMappings) {
-            Map<RequestMappingInfo, HandlerMethod> mappingInfo = handlerMapping.getHandlerMethods();
-            for (Map.Entry<RequestMappingInfo, HandlerMethod> entry : mappingInfo.entrySet()) {
-                HandlerMethod handlerMethod = entry.getValue();
-                if (!isAllowAnonymous(handlerMethod)) {
-                    continue;
+        List<AnonymousDefinition> loaded = new ArrayList<>();
+        if (handlerMappings != null) {
+            for (RequestMappingHandlerMapping handlerMapping : handlerMappings) {
+                Map<RequestMappingInfo, HandlerMethod> mappingInfo = handlerMapping.getHandlerMethods();
+                for (Map.Entry<RequestMappingInfo, HandlerMethod> entry : mappingInfo.entrySet()) {
+                    HandlerMethod handlerMethod = entry.getValue();
+                    if (!isAllowAnonymous(handlerMethod)) {
+                        continue;
+                    }
+                    loaded.addAll(buildDefinitions(entry.getKey()));
                 }
-                definitions.addAll(buildDefinitions(entry.getKey()));
             }
         }
+        this.definitions = loaded;
+        compile();
+    }
+
+    /**
+     * 编译前缀树，构建完成后整体替换（查找无锁）
+     */
+    private synchronized void compile() {
+        PathPatternTrie anonymous = new PathPatternTrie();
+        for (AnonymousDefinition definition : definitions) {
+            anonymous.add(definition.pattern, definition.methods);
+        }
+        PathPatternTrie permitted = new PathPatternTrie().addAll(excludePaths);
+        for (AnonymousDefinition definition : definitions) {
+            permitted.add(definition.pattern, definition.methods);
+        }
+        this.anonymousTrie = anonymous;
+        this.permittedTrie = permitted;
     }
 
     private boolean isAllowAnonymous(HandlerMethod handlerMethod) {
@@ -129,15 +167,5 @@ public class AllowAnonymousRegistry implements ApplicationListener<ContextRefres
             this.pattern = pattern;
             this.methods = methods == null ? Collections.emptySet() : methods;
         }
-
-        boolean matches(AntPathMatcher matcher, String path, HttpMethod method) {
-            if (!matcher.match(pattern, path)) {
-                return false;
-            }
-            if (methods.isEmpty() || method == null) {
-                return true;
-            }
-            return methods.contains(method);
-        }
     }
 }
@@ -1,34 +1,58 @@
 package com.kite.authenticator.config;
 
 import com.kite.authenticator.*;
+import com.kite.authenticator.cache.LoginUserCache;
+import com.kite.authenticator.cache.RedisSessionInvalidationBroadcaster;
+import com.kite.authenticator.cache.SessionInvalidationBroadcaster;
+import com.kite.authenticator.cache.SessionNearCache;
+import com.kite.authenticator.cache.VerifiedTokenCache;
 import com.kite.authenticator.filter.AuthenticationFilter;
+import com.kite.authenticator.metrics.AuthCacheMetrics;
+import com.kite.authenticator.metrics.AuthMetrics;
+import com.kite.authenticator.metrics.MicrometerAuthMetrics;
+import com.kite.authenticator.concurrent.LoginUserContextPropagator;
 import com.kite.authenticator.context.LoginUserContextCustomizer;
+import com.kite.authenticator.enums.JwtAlgorithm;
 import com.kite.authenticator.realm.EmptyRealm;
 import com.kite.authenticator.realm.UserRealm;
 import com.kite.authenticator.service.AuthenticationService;
+import com.kite.authenticator.session.SessionListener;
 import com.kite.authenticator.session.SessionManager;
 import com.kite.authenticator.session.SessionParser;
+import com.kite.authenticator.session.SessionWriteBehind;
+import com.kite.authenticator.session.dao.CachingSessionDao;
 import com.kite.authenticator.session.dao.RedisSessionDao;
 import com.kite.authenticator.session.dao.SessionDao;
 import com.kite.authenticator.resolvers.LoginUserArgumentResolver;
+import com.kite.authenticator.revocation.RedisRevocationBroadcaster;
+import com.kite.authenticator.revocation.RevocationBroadcaster;
+import com.kite.authenticator.revocation.RevocationRegistry;
 import com.kite.authenticator.service.RateLimitService;
 import com.kite.authenticator.service.TokenBlacklistService;
+import com.kite.authenticator.signature.HmacKeyring;
+import com.kite.authenticator.signature.JwtEcSignature;
 import com.kite.authenticator.signature.JwtHmacSignature;
+import com.kite.authenticator.util.PemKeyUtils;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.util.StringUtils;
 import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 
+import java.security.PrivateKey;
+import java.security.PublicKey;
 import java.util.List;
 
 /**
@@ -39,28 +63,52 @@ import java.util.List;
 @Configuration
 @EnableConfigurationProperties(AuthenticatorProperties.class)
 @ConditionalOnProperty(prefix = "kite.auth", name = "enabled", havingValue = "true", matchIfMissing = true)
-public class AuthenticatorAutoConfiguration implements WebMvcConfigurer {
+public class AuthenticatorAutoConfiguration {
+    
+    @Bean
+    public LoginUserContextPropagator loginUserContextPropagator() {
+        return new LoginUserContextPropagator();
+    }
     
     @Bean
     public SessionParser sessionParser() {
         return new SessionParser();
     }
 
+    /**
+     * Session 本地缓存（kite.auth.session.near-cache.enabled=true 时启用）
+     */
+    @Bean
+    @ConditionalOnMissingBean(SessionNearCache.class)
+    @ConditionalOnProperty(prefix = "kite.auth.session.near-cache", name = "enabled", havingValue = "true")
+    public SessionNearCache sessionNearCache(AuthenticatorProperties properties) {
+        AuthenticatorProperties.NearCache nearCache = properties.getSession().getNearCache();
+        return new SessionNearCache(nearCache.getMaximumSize(), nearCache.getTtl());
+    }
+    
+    /**
+     * Session 缓存失效广播器（启用本地缓存时，通过 Redis Pub/Sub 通知所有节点）
+     */
     @Bean
-    @ConditionalOnClass(RequestMappingHandlerMapping.class)
-    public AllowAnonymousRegistry allowAnonymousRegistry(
-            ObjectProvider<List<RequestMappingHandlerMapping>> handlerMappingsProvider) {
-        return new AllowAnonymousRegistry(handlerMappingsProvider);
+    @ConditionalOnClass(RedisTemplate.class)
+    @ConditionalOnBean({RedisTemplate.class, SessionNearCache.class})
+    @ConditionalOnMissingBean(SessionInvalidationBroadcaster.class)
+    public RedisSessionInvalidationBroadcaster sessionInvalidationBroadcaster(RedisTemplate<String, Object> redisTemplate,
+                                                                              SessionNearCache sessionNearCache) {
+        return new RedisSessionInvalidationBroadcaster(redisTemplate.getConnectionFactory(), sessionNearCache);
     }
     
     /**
-     * Redis Session Dao（当存在 RedisTemplate 时自动配置）
+     * Redis Session Dao（当存在 RedisTemplate 时自动配置，启用本地缓存时外层包装 CachingSessionDao）
      */
     @Bean
     @ConditionalOnClass(RedisTemplate.class)
     @ConditionalOnBean(RedisTemplate.class)
-    public SessionDao redisSessionDao(RedisTemplate<String, Object> redisTemplate) {
-        return new RedisSessionDao(redisTemplate);
+    public SessionDao redisSessionDao(RedisTemplate<String, Object> redisTemplate, AuthenticatorProperties properties,
+                                      @Autowired(required = false) SessionNearCache sessionNearCache) {
+        RedisSessionDao sessionDao = new RedisSessionDao(redisTemplate);
+        sessionDao.setCluster(properties.getSession().getCluster());
+        return sessionNearCache != null ? new CachingSessionDao(sessionDao, sessionNearCache) : sessionDao;
     }
     
     /**
@@ -68,8 +116,75 @@ public class AuthenticatorAutoConfiguration implements WebMvcConfigurer {
      */
     @Bean
     @ConditionalOnBean(SessionDao.class)
-    public SessionManager sessionManager(SessionDao sessionDao, SessionParser sessionParser) {
-        return new SessionManager(sessionDao, sessionParser);
+    public SessionManager sessionManager(SessionDao sessionDao, SessionParser sessionParser,
+                                         ObjectProvider<SessionListener> sessionListeners) {
+        SessionManager sessionManager = new SessionManager(sessionDao, sessionParser);
+        sessionListeners.orderedStream().forEach(sessionManager::addListener);
+        return sessionManager;
+    }
+    
+    /**
+     * Session 访问时间与续期的延迟写回（kite.auth.session.write-behind.enabled=false 时关闭）
+     */
+    @Bean
+    @ConditionalOnBean(SessionDao.class)
+    @ConditionalOnMissingBean(SessionWriteBehind.class)
+    @ConditionalOnProperty(prefix = "kite.auth.session.write-behind", name = "enabled", havingValue = "true",
+            matchIfMissing = true)
+    public SessionWriteBehind sessionWriteBehind(SessionDao sessionDao, AuthenticatorProperties properties) {
+        AuthenticatorProperties.WriteBehind writeBehind = properties.getSession().getWriteBehind();
+        return new SessionWriteBehind(sessionDao, writeBehind.getGranularity(), writeBehind.getFlushInterval(),
+                writeBehind.getBatchSize());
+    }
+    
+    /**
+     * 已验证 Token 缓存（kite.auth.token-cache.enabled=true 时启用）
+     */
+    @Bean
+    @ConditionalOnMissingBean(VerifiedTokenCache.class)
+    @ConditionalOnProperty(prefix = "kite.auth.token-cache", name = "enabled", havingValue = "true")
+    public VerifiedTokenCache verifiedTokenCache(AuthenticatorProperties properties) {
+        AuthenticatorProperties.TokenCache tokenCache = properties.getTokenCache();
+        return new VerifiedTokenCache(tokenCache.getMaximumSize(), tokenCache.getMaxTtl());
+    }
+    
+    /**
+     * 撤销登记表（无状态验证模式）
+     */
+    @Bean
+    @ConditionalOnMissingBean(RevocationRegistry.class)
+    @ConditionalOnProperty(prefix = "kite.auth.stateless", name = "enabled", havingValue = "true")
+    public RevocationRegistry revocationRegistry(AuthenticatorProperties properties) {
+        return new RevocationRegistry(properties.getExpireTime());
+    }
+    
+    /**
+     * 撤销记录广播器（无状态验证模式，通过 Redis Pub/Sub 同步到所有节点）
+     */
+    @Bean
+    @ConditionalOnClass(RedisTemplate.class)
+    @ConditionalOnBean(RedisTemplate.class)
+    @ConditionalOnMissingBean(RevocationBroadcaster.class)
+    @ConditionalOnProperty(prefix = "kite.auth.stateless", name = "enabled", havingValue = "true")
+    public RedisRevocationBroadcaster revocationBroadcaster(RedisTemplate<String, Object> redisTemplate,
+                                                            RevocationRegistry revocationRegistry,
+                                                            AuthenticatorProperties properties) {
+        return new RedisRevocationBroadcaster(redisTemplate.getConnectionFactory(), revocationRegistry,
+                properties.getExpireTime(), properties.getStateless().getResyncInterval());
+    }
+    
+    /**
+     * 登录用户缓存（紧凑格式 Token 按用户ID加载 LoginUser）
+     */
+    @Bean
+    @ConditionalOnMissingBean(LoginUserCache.class)
+    public LoginUserCache loginUserCache(ObjectProvider<AuthenticationService> authenticationServiceProvider,
+                                         AuthenticatorProperties properties) {
+        AuthenticatorProperties.UserCache userCache = properties.getUserCache();
+        return new LoginUserCache(userId -> {
+            AuthenticationService authenticationService = authenticationServiceProvider.getIfAvailable();
+            return authenticationService != null ? authenticationService.getUserById(userId) : null;
+        }, userCache.getMaximumSize(), userCache.getTtl());
     }
     
     /**
@@ -92,12 +207,44 @@ public class AuthenticatorAutoConfiguration implements WebMvcConfigurer {
     }
     
     /**
-     * Signature（JWT HMAC 实现）
+     * HMAC 密钥环（预构建密钥与解析器，支持密钥轮换）
+     */
+    @Bean
+    @ConditionalOnMissingBean(HmacKeyring.class)
+    @ConditionalOnProperty(prefix = "kite.auth", name = "secret")
+    public HmacKeyring hmacKeyring(AuthenticatorProperties properties) {
+        HmacKeyring keyring = new HmacKeyring(properties.getSecret(), properties.getAcceptedSecrets());
+        HmacKeyring.register(keyring);
+        return keyring;
+    }
+    
+    /**
+     * Signature（默认 JWT HMAC 实现，algorithm 为 ES256 时使用 ECDSA 实现）
      */
     @Bean
     @ConditionalOnMissingBean(Signature.class)
-    public Signature signature(AuthenticatorProperties properties) {
-        return new JwtHmacSignature(properties.getSecret());
+    public Signature signature(AuthenticatorProperties properties,
+                               @Autowired(required = false) HmacKeyring hmacKeyring) {
+        if (properties.getAlgorithm() == JwtAlgorithm.ES256) {
+            return ecSignature(properties);
+        }
+        JwtHmacSignature signature = new JwtHmacSignature(hmacKeyring, properties.getSecret());
+        signature.setTokenProfile(properties.getTokenProfile());
+        return signature;
+    }
+    
+    private JwtEcSignature ecSignature(AuthenticatorProperties properties) {
+        AuthenticatorProperties.KeyPair keyPair = properties.getKeyPair();
+        if (StringUtils.isEmpty(keyPair.getPublicKey())) {
+            throw new IllegalStateException("ES256 算法需要配置 kite.auth.key-pair.public-key");
+        }
+        PublicKey publicKey = PemKeyUtils.parsePublicKey(keyPair.getPublicKey(), "EC");
+        PrivateKey privateKey = StringUtils.isEmpty(keyPair.getPrivateKey())
+                ? null
+                : PemKeyUtils.parsePrivateKey(keyPair.getPrivateKey(), "EC");
+        JwtEcSignature signature = new JwtEcSignature(privateKey, publicKey, properties.getExpireTime());
+        signature.setTokenProfile(properties.getTokenProfile());
+        return signature;
     }
     
     /**
@@ -109,8 +256,15 @@ public class AuthenticatorAutoConfiguration implements WebMvcConfigurer {
     @ConditionalOnMissingBean(TokenBlacklistService.class)
     public TokenBlacklistService tokenBlacklistService(
             RedisTemplate<String, Object> redisTemplate,
-            AuthenticatorProperties properties) {
-        return new TokenBlacklistService(redisTemplate, properties.getSecret());
+            AuthenticatorProperties properties,
+            Signature signature,
+            @Autowired(required = false) VerifiedTokenCache verifiedTokenCache,
+            @Autowired(required = false) RevocationRegistry revocationRegistry) {
+        TokenBlacklistService tokenBlacklistService = new TokenBlacklistService(redisTemplate, properties.getSecret());
+        tokenBlacklistService.setSignature(signature);
+        tokenBlacklistService.setRevocationRegistry(revocationRegistry);
+        tokenBlacklistService.setVerifiedTokenCache(verifiedTokenCache);
+        return tokenBlacklistService;
     }
     
     /**
@@ -137,8 +291,12 @@ public class AuthenticatorAutoConfiguration implements WebMvcConfigurer {
             SessionParser sessionParser,
             @Autowired(required = false) SessionManager sessionManager,
             @Autowired(required = false) SessionDao sessionDao,
-            @Autowired(required = false) TokenBlacklistService tokenBlacklistService) {
-        return new DefaultSecurityManager(
+            @Autowired(required = false) TokenBlacklistService tokenBlacklistService,
+            @Autowired(required = false) VerifiedTokenCache verifiedTokenCache,
+            @Autowired(required = false) RevocationRegistry revocationRegistry,
+            @Autowired(required = false) AuthMetrics authMetrics,
+            @Autowired(required = false) SessionWriteBehind sessionWriteBehind) {
+        DefaultSecurityManager securityManager = new DefaultSecurityManager(
             realm, 
             signature, 
             sessionManager, 
@@ -146,47 +304,111 @@ public class AuthenticatorAutoConfiguration implements WebMvcConfigurer {
             sessionParser, 
             properties,
             tokenBlacklistService);
+        securityManager.setVerifiedTokenCache(verifiedTokenCache);
+        securityManager.setRevocationRegistry(revocationRegistry);
+        securityManager.setMetrics(authMetrics);
+        AuthenticatorProperties.Coalescing coalescing = properties.getCoalescing();
+        securityManager.setCoalescing(Boolean.TRUE.equals(coalescing.getEnabled()),
+                coalescing.getWaitTimeout() != null ? coalescing.getWaitTimeout() : 200L);
+        securityManager.setSessionWriteBehind(sessionWriteBehind);
+        return securityManager;
     }
     
     /**
-     * Authentication Filter（使用 Authenticator）
+     * Servlet 版本的认证入口（过滤器、匿名访问登记、参数解析器）
+     * spring-webmvc 为可选依赖，单独放在嵌套配置中，WebFlux 应用不加载
      */
-    @Bean
-    public AuthenticationFilter authenticationFilter(
-            AuthenticatorProperties properties,
-            Authenticator authenticator,
-            @Autowired(required = false) AllowAnonymousRegistry allowAnonymousRegistry,
-            @Autowired(required = false) List<LoginUserContextCustomizer> contextCustomizers) {
-        return new AuthenticationFilter(properties, authenticator, allowAnonymousRegistry, contextCustomizers);
-    }
-    
-    @Bean
-    public FilterRegistrationBean<AuthenticationFilter> authenticationFilterRegistration(
-            AuthenticationFilter authenticationFilter) {
-        FilterRegistrationBean<AuthenticationFilter> registration = new FilterRegistrationBean<>();
-        registration.setFilter(authenticationFilter);
-        registration.addUrlPatterns("/*");
-        registration.setName("authenticationFilter");
-        registration.setOrder(1); // 设置优先级
-        return registration;
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnClass(name = "org.springframework.web.servlet.config.annotation.WebMvcConfigurer")
+    static class ServletAuthenticationConfiguration implements WebMvcConfigurer {
+        
+        @Bean
+        public AllowAnonymousRegistry allowAnonymousRegistry(
+                ObjectProvider<List<RequestMappingHandlerMapping>> handlerMappingsProvider,
+                AuthenticatorProperties properties) {
+            AllowAnonymousRegistry registry = new AllowAnonymousRegistry(handlerMappingsProvider);
+            registry.setExcludePaths(properties.getExcludePaths());
+            return registry;
+        }
+        
+        /**
+         * Authentication Filter（使用 Authenticator）
+         */
+        @Bean
+        public AuthenticationFilter authenticationFilter(
+                AuthenticatorProperties properties,
+                Authenticator authenticator,
+                @Autowired(required = false) AllowAnonymousRegistry allowAnonymousRegistry,
+                @Autowired(required = false) List<LoginUserContextCustomizer> contextCustomizers,
+                @Autowired(required = false) AuthMetrics authMetrics) {
+            AuthenticationFilter filter =
+                    new AuthenticationFilter(properties, authenticator, allowAnonymousRegistry, contextCustomizers);
+            filter.setMetrics(authMetrics);
+            return filter;
+        }
+        
+        @Bean
+        public FilterRegistrationBean<AuthenticationFilter> authenticationFilterRegistration(
+                AuthenticationFilter authenticationFilter) {
+            FilterRegistrationBean<AuthenticationFilter> registration = new FilterRegistrationBean<>();
+            registration.setFilter(authenticationFilter);
+            registration.addUrlPatterns("/*");
+            registration.setName("authenticationFilter");
+            registration.setOrder(1); // 设置优先级
+            return registration;
+        }
+        
+        /**
+         * LoginUser 参数解析器
+         */
+        @Bean
+        @ConditionalOnMissingBean(LoginUserArgumentResolver.class)
+        public LoginUserArgumentResolver loginUserArgumentResolver() {
+            return new LoginUserArgumentResolver();
+        }
+        
+        /**
+         * 注册参数解析器到 Spring MVC
+         */
+        @Override
+        public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
+            // LoginUserArgumentResolver 是无状态的，直接创建实例避免循环依赖
+            // 如果需要使用 Bean，可以通过 ApplicationContext 获取
+            resolvers.add(new LoginUserArgumentResolver());
+        }
     }
     
     /**
-     * LoginUser 参数解析器
+     * 认证阶段指标（Micrometer 为可选依赖，单独放在嵌套配置中避免类加载失败）
      */
-    @Bean
-    @ConditionalOnMissingBean(LoginUserArgumentResolver.class)
-    public LoginUserArgumentResolver loginUserArgumentResolver() {
-        return new LoginUserArgumentResolver();
+    @Configuration
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    @ConditionalOnProperty(prefix = "kite.auth.metrics", name = "enabled", havingValue = "true")
+    static class AuthMetricsConfiguration {
+        
+        @Bean
+        @ConditionalOnMissingBean(AuthMetrics.class)
+        public AuthMetrics authMetrics(ObjectProvider<MeterRegistry> meterRegistryProvider) {
+            MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable();
+            return meterRegistry != null ? new MicrometerAuthMetrics(meterRegistry) : AuthMetrics.NOOP;
+        }
     }
     
     /**
-     * 注册参数解析器到 Spring MVC
+     * 本地缓存指标（存在 MeterRegistry 时由 Spring Boot 自动绑定 MeterBinder）
      */
-    @Override
-    public void addArgumentResolvers(List<HandlerMethodArgumentResolver> resolvers) {
-        // LoginUserArgumentResolver 是无状态的，直接创建实例避免循环依赖
-        // 如果需要使用 Bean，可以通过 ApplicationContext 获取
-        resolvers.add(new LoginUserArgumentResolver());
+    @Configuration
+    @ConditionalOnClass(name = "io.micrometer.core.instrument.MeterRegistry")
+    static class AuthCacheMetricsConfiguration {
+        
+        @Bean
+        @ConditionalOnMissingBean(AuthCacheMetrics.class)
+        public AuthCacheMetrics authCacheMetrics(ObjectProvider<VerifiedTokenCache> verifiedTokenCacheProvider,
+                                                 ObjectProvider<LoginUserCache> loginUserCacheProvider,
+                                                 ObjectProvider<SessionNearCache> sessionNearCacheProvider) {
+            return new AuthCacheMetrics(verifiedTokenCacheProvider.getIfAvailable(),
+                    loginUserCacheProvider.getIfAvailable(), sessionNearCacheProvider.getIfAvailable());
+        }
     }
 }
@@ -1,6 +1,9 @@
 package com.kite.authenticator.config;
 
 import com.kite.authenticator.AuthenticatorConfigReader;
+import com.kite.authenticator.enums.JwtAlgorithm;
+import com.kite.authenticator.enums.TokenProfile;
+import com.kite.common.constant.Constants;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
@@ -31,11 +34,32 @@ public class AuthenticatorProperties implements AuthenticatorConfigReader {
      */
     private String secret;
     
+    /**
+     * 除 secret 外仍接受验证的密钥（用于密钥轮换，不用于签名）
+     */
+    private List<String> acceptedSecrets = new ArrayList<>();
+    
+    /**
+     * JWT 签名算法（默认：HS256）
+     */
+    private JwtAlgorithm algorithm = JwtAlgorithm.HS256;
+    
+    /**
+     * 非对称密钥配置（algorithm 为 ES256 时使用）
+     */
+    private KeyPair keyPair = new KeyPair();
+    
     /**
      * Token 过期时间（毫秒，默认：7天）
      */
     private Long expireTime = 7 * 24 * 60 * 60 * 1000L;
     
+    /**
+     * Token 格式（默认：FULL）
+     * COMPACT 模式下 Token 只携带用户ID、SessionKey 与授权版本号，LoginUser 由本地缓存加载
+     */
+    private TokenProfile tokenProfile = TokenProfile.FULL;
+    
     /**
      * 是否启用认证（默认：true）
      */
@@ -76,6 +100,36 @@ public class AuthenticatorProperties implements AuthenticatorConfigReader {
      */
     private RateLimit rateLimit = new RateLimit();
     
+    /**
+     * Refresh Token 配置
+     */
+    private RefreshToken refreshToken = new RefreshToken();
+    
+    /**
+     * 无状态验证模式配置
+     */
+    private Stateless stateless = new Stateless();
+    
+    /**
+     * 已验证 Token 缓存配置
+     */
+    private TokenCache tokenCache = new TokenCache();
+    
+    /**
+     * 登录用户缓存配置（紧凑格式 Token 使用）
+     */
+    private UserCache userCache = new UserCache();
+    
+    /**
+     * 认证阶段指标配置
+     */
+    private Metrics metrics = new Metrics();
+    
+    /**
+     * 并发认证合并配置
+     */
+    private Coalescing coalescing = new Coalescing();
+    
     @Data
     public static class Session {
         /**
@@ -109,6 +163,162 @@ public class AuthenticatorProperties implements AuthenticatorConfigReader {
          * 每次访问时，如果未超过超时时间，则续期
          */
         private Long renewalInterval = 7 * 24 * 60 * 60 * 1000L;
+        
+        /**
+         * 访问时间与续期的延迟写回配置
+         */
+        private WriteBehind writeBehind = new WriteBehind();
+        
+        /**
+         * Session 本地缓存配置
+         */
+        private NearCache nearCache = new NearCache();
+        
+        /**
+         * Redis 是否为 Cluster 部署（默认：根据连接自动判断）
+         * Cluster 上不使用跨多个 Key 的 Lua 脚本，改为逐条命令读写
+         */
+        private Boolean cluster;
+    }
+    
+    @Data
+    public static class NearCache {
+        /**
+         * 是否启用 Session 本地缓存（默认：false）
+         * 启用后认证时优先从本地内存读取 Session，踢出、禁用、删除通过 Redis Pub/Sub 通知所有节点失效
+         */
+        private Boolean enabled = false;
+        
+        /**
+         * 最大缓存 Session 数（默认：10000）
+         */
+        private Long maximumSize = 10000L;
+        
+        /**
+         * 缓存有效期（毫秒，默认：5秒），也是广播消息丢失时其他节点读到旧状态的最长时间
+         */
+        private Long ttl = 5 * 1000L;
+    }
+    
+    @Data
+    public static class WriteBehind {
+        /**
+         * 是否合并写回 Session 的访问时间与续期（默认：true）
+         */
+        private Boolean enabled = true;
+        
+        /**
+         * 写回粒度（毫秒，默认：60秒）
+         * 存储中的访问时间落后超过该值，或 Session 距过期不足该值时立即写回，否则交给后台批量写回
+         */
+        private Long granularity = 60 * 1000L;
+        
+        /**
+         * 后台批量写回间隔（毫秒，默认：10秒）
+         */
+        private Long flushInterval = 10 * 1000L;
+        
+        /**
+         * 每批写回的 Session 数量（默认：100）
+         */
+        private Integer batchSize = 100;
+    }
+    
+    @Data
+    public static class KeyPair {
+        /**
+         * 私钥（PKCS#8，PEM 或 Base64，仅签发 Token 的节点配置）
+         */
+        private String privateKey;
+        
+        /**
+         * 公钥（X.509，PEM 或 Base64）
+         * 只配置公钥时为仅验证模式，适用于网关与下游服务
+         */
+        private String publicKey;
+    }
+    
+    @Data
+    public static class RefreshToken {
+        /**
+         * 是否启用 Access/Refresh 令牌对（默认：false）
+         * 启用后登录签发短期 Access Token 与 Refresh Token（有效期为 expire-time），
+         * Access Token 只做本地验签，Session、黑名单与状态校验在刷新时进行
+         */
+        private Boolean enabled = false;
+        
+        /**
+         * Access Token 过期时间（毫秒，默认：1小时）
+         */
+        private Long accessExpireTime = Constants.TOKEN_EXPIRE * 1000;
+    }
+    
+    @Data
+    public static class Stateless {
+        /**
+         * 是否启用无状态验证（默认：false）
+         * 启用后认证时不再读写 Redis Session，踢出、禁用、退出登录与黑名单通过本地撤销登记表判断
+         */
+        private Boolean enabled = false;
+        
+        /**
+         * 撤销记录全量同步间隔（毫秒，默认：60秒），Pub/Sub 消息丢失时的最大生效延迟
+         */
+        private Long resyncInterval = 60 * 1000L;
+    }
+    
+    @Data
+    public static class TokenCache {
+        /**
+         * 是否启用已验证 Token 缓存（默认：false）
+         * 启用后，同一 Token 的重复请求跳过验签与用户信息反序列化
+         */
+        private Boolean enabled = false;
+        
+        /**
+         * 最大缓存条目数（默认：10000）
+         */
+        private Long maximumSize = 10000L;
+        
+        /**
+         * 条目最长存活时间（毫秒，默认：5分钟），不会超过 Token 本身的过期时间
+         */
+        private Long maxTtl = 5 * 60 * 1000L;
+    }
+    
+    @Data
+    public static class UserCache {
+        /**
+         * 最大缓存用户数（默认：10000）
+         */
+        private Long maximumSize = 10000L;
+        
+        /**
+         * 缓存有效期（毫秒，默认：5分钟）
+         */
+        private Long ttl = 5 * 60 * 1000L;
+    }
+    
+    @Data
+    public static class Metrics {
+        /**
+         * 是否记录认证各阶段耗时（默认：false，需要 Micrometer 与 MeterRegistry）
+         */
+        private Boolean enabled = false;
+    }
+    
+    @Data
+    public static class Coalescing {
+        /**
+         * 是否合并同一 Token 的并发认证（默认：false）
+         * 页面加载时同一 Token 的多个并发请求只执行一次黑名单检查、验签、Session 读取与回写
+         */
+        private Boolean enabled = false;
+        
+        /**
+         * 等待合并结果的最长时间（毫秒，默认：200），超时后自行认证
+         */
+        private Long waitTimeout = 200L;
     }
     
     // AuthenticatorConfigReader 接口实现
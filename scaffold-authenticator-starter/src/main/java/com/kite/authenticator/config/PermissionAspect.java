@@ -4,12 +4,15 @@ import com.kite.authenticator.annotation.RequiresPermissions;
 import com.kite.authenticator.annotation.RequiresRoles;
 import com.kite.authenticator.context.LoginUser;
 import com.kite.authenticator.context.LoginUserContext;
+import com.kite.authenticator.exception.AuthRejection;
 import com.kite.common.exception.BusinessException;
 import com.kite.common.response.ResultCode;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.Aspect;
 import org.aspectj.lang.annotation.Before;
 import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
@@ -24,6 +27,8 @@ import java.util.List;
  */
 @Aspect
 @Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnClass(name = "javax.servlet.http.HttpServletRequest")
 @Order(2)
 public class PermissionAspect {
     
@@ -48,7 +53,7 @@ public class PermissionAspect {
         
         LoginUser loginUser = LoginUserContext.getLoginUser();
         if (loginUser == null) {
-            throw new BusinessException(ResultCode.UNAUTHORIZED.getCode(), "用户未登录");
+            throw AuthRejection.NOT_LOGGED_IN.exception();
         }
         
         // 检查角色
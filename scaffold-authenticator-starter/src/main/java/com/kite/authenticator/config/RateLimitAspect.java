@@ -1,6 +1,7 @@
 package com.kite.authenticator.config;
 
 import com.kite.authenticator.annotation.RateLimit;
+import com.kite.authenticator.context.AuthContext;
 import com.kite.authenticator.context.LoginUser;
 import com.kite.authenticator.context.LoginUserContext;
 import com.kite.authenticator.enums.RateLimitType;
@@ -14,6 +15,8 @@ import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.web.context.request.RequestContextHolder;
@@ -30,15 +33,20 @@ import java.lang.reflect.Method;
  */
 @Aspect
 @Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnClass(name = "javax.servlet.http.HttpServletRequest")
 @Order(1) // 在权限检查之前执行
 public class RateLimitAspect {
     
     private static final Logger logger = LoggerFactory.getLogger(RateLimitAspect.class);
     
     private final RateLimitService rateLimitService;
+    private final AuthenticatorProperties properties;
     
-    public RateLimitAspect(@Autowired(required = false) RateLimitService rateLimitService) {
+    public RateLimitAspect(@Autowired(required = false) RateLimitService rateLimitService,
+                           @Autowired(required = false) AuthenticatorProperties properties) {
         this.rateLimitService = rateLimitService;
+        this.properties = properties;
     }
     
     @Around("@annotation(com.kite.authenticator.annotation.RateLimit) || " +
@@ -118,89 +126,36 @@ public class RateLimitAspect {
         }
         
         HttpServletRequest request = attributes.getRequest();
+        AuthContext authContext = AuthContext.from(request, properties);
         String method = request.getMethod();
         String path = request.getRequestURI();
         
         switch (type) {
             case IP:
-                return extractIp(request) + ":" + method + ":" + path;
+                return authContext.getClientIp() + ":" + method + ":" + path;
                 
             case USER:
                 LoginUser loginUser = LoginUserContext.getLoginUser();
                 if (loginUser == null) {
                     // 用户未登录，使用IP作为fallback
-                    return extractIp(request) + ":" + method + ":" + path;
+                    return authContext.getClientIp() + ":" + method + ":" + path;
                 }
                 return "user:" + loginUser.getUserId() + ":" + method + ":" + path;
                 
             case TOKEN:
-                String token = extractToken(request);
-                if (token == null || token.isEmpty()) {
+                String fingerprint = authContext.getFingerprint();
+                if (fingerprint == null) {
                     // Token为空，使用IP作为fallback
-                    return extractIp(request) + ":" + method + ":" + path;
+                    return authContext.getClientIp() + ":" + method + ":" + path;
                 }
-                // 使用Token的哈希值（避免存储完整Token）
-                return "token:" + hashToken(token) + ":" + method + ":" + path;
+                // 使用Token的哈希值（避免存储完整Token，认证时已计算则直接复用）
+                return "token:" + fingerprint + ":" + method + ":" + path;
                 
             case GLOBAL:
                 return "global:" + method + ":" + path;
                 
             default:
-                return extractIp(request) + ":" + method + ":" + path;
-        }
-    }
-    
-    /**
-     * 提取IP地址
-     */
-    private String extractIp(HttpServletRequest request) {
-        String ip = request.getHeader("X-Forwarded-For");
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getHeader("X-Real-IP");
-        }
-        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
-            ip = request.getRemoteAddr();
-        }
-        // 如果IP包含多个值，取第一个
-        if (ip != null && ip.contains(",")) {
-            ip = ip.split(",")[0].trim();
-        }
-        return ip != null ? ip : "unknown";
-    }
-    
-    /**
-     * 提取Token
-     */
-    private String extractToken(HttpServletRequest request) {
-        String token = request.getHeader("Authorization");
-        if (token != null && token.startsWith("Bearer ")) {
-            return token.substring(7);
-        }
-        return null;
-    }
-    
-    /**
-     * Token哈希（避免存储完整Token）
-     */
-    private String hashToken(String token) {
-        try {
-            java.security.MessageDigest digest = java.security.MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(token.getBytes(java.nio.charset.StandardCharsets.UTF_8));
-            
-            StringBuilder hexString = new StringBuilder();
-            for (byte b : hash) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) {
-                    hexString.append('0');
-                }
-                hexString.append(hex);
-            }
-            return hexString.toString();
-        } catch (Exception e) {
-            logger.error("Token哈希失败", e);
-            // 如果哈希失败，使用Token的前16个字符
-            return token.length() > 16 ? token.substring(0, 16) : token;
+                return authContext.getClientIp() + ":" + method + ":" + path;
         }
     }
 }
-
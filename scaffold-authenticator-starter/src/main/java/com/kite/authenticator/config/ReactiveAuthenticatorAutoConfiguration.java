@@ -0,0 +1,121 @@
+package com.kite.authenticator.config;
+
+import com.kite.authenticator.Realm;
+import com.kite.authenticator.Signature;
+import com.kite.authenticator.cache.VerifiedTokenCache;
+import com.kite.authenticator.reactive.ReactiveAllowAnonymousRegistry;
+import com.kite.authenticator.reactive.ReactiveAuthenticationFilter;
+import com.kite.authenticator.reactive.ReactiveLoginUserArgumentResolver;
+import com.kite.authenticator.reactive.ReactiveRateLimitService;
+import com.kite.authenticator.reactive.ReactiveRedisSessionDao;
+import com.kite.authenticator.reactive.ReactiveSecurityManager;
+import com.kite.authenticator.reactive.ReactiveSessionDao;
+import com.kite.authenticator.reactive.ReactiveTokenBlacklistService;
+import com.kite.authenticator.revocation.RevocationRegistry;
+import com.kite.authenticator.session.SessionParser;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.web.reactive.config.WebFluxConfigurer;
+import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+import org.springframework.web.reactive.result.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.server.WebFilter;
+
+import java.util.List;
+
+/**
+ * 响应式（WebFlux）认证自动配置类
+ * 复用 {@link AuthenticatorAutoConfiguration} 中的签名、Realm、撤销登记表等组件，
+ * 黑名单、Session、限流改用 ReactiveStringRedisTemplate，认证入口为 {@link ReactiveAuthenticationFilter}。
+ *
+ * @author yourname
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ConditionalOnClass(WebFilter.class)
+@ConditionalOnProperty(prefix = "kite.auth", name = "enabled", havingValue = "true", matchIfMissing = true)
+@AutoConfigureAfter(value = AuthenticatorAutoConfiguration.class,
+        name = "org.springframework.boot.autoconfigure.data.redis.RedisReactiveAutoConfiguration")
+public class ReactiveAuthenticatorAutoConfiguration implements WebFluxConfigurer {
+
+    @Bean
+    @ConditionalOnClass(ReactiveStringRedisTemplate.class)
+    @ConditionalOnBean(ReactiveStringRedisTemplate.class)
+    @ConditionalOnMissingBean(ReactiveSessionDao.class)
+    public ReactiveSessionDao reactiveSessionDao(ReactiveStringRedisTemplate reactiveStringRedisTemplate,
+                                                 AuthenticatorProperties properties) {
+        ReactiveRedisSessionDao sessionDao = new ReactiveRedisSessionDao(reactiveStringRedisTemplate);
+        sessionDao.setCluster(properties.getSession().getCluster());
+        return sessionDao;
+    }
+
+    @Bean
+    @ConditionalOnClass(ReactiveStringRedisTemplate.class)
+    @ConditionalOnBean(ReactiveStringRedisTemplate.class)
+    @ConditionalOnMissingBean(ReactiveTokenBlacklistService.class)
+    public ReactiveTokenBlacklistService reactiveTokenBlacklistService(
+            ReactiveStringRedisTemplate reactiveStringRedisTemplate,
+            @Autowired(required = false) RevocationRegistry revocationRegistry) {
+        ReactiveTokenBlacklistService blacklistService = new ReactiveTokenBlacklistService(reactiveStringRedisTemplate);
+        blacklistService.setRevocationRegistry(revocationRegistry);
+        return blacklistService;
+    }
+
+    @Bean
+    @ConditionalOnClass(ReactiveStringRedisTemplate.class)
+    @ConditionalOnBean(ReactiveStringRedisTemplate.class)
+    @ConditionalOnMissingBean(ReactiveRateLimitService.class)
+    @ConditionalOnProperty(prefix = "kite.auth.rate-limit", name = "enabled", havingValue = "true", matchIfMissing = true)
+    public ReactiveRateLimitService reactiveRateLimitService(ReactiveStringRedisTemplate reactiveStringRedisTemplate) {
+        return new ReactiveRateLimitService(reactiveStringRedisTemplate);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(ReactiveSecurityManager.class)
+    public ReactiveSecurityManager reactiveSecurityManager(
+            Realm realm,
+            Signature signature,
+            SessionParser sessionParser,
+            AuthenticatorProperties properties,
+            @Autowired(required = false) ReactiveSessionDao reactiveSessionDao,
+            @Autowired(required = false) ReactiveTokenBlacklistService reactiveTokenBlacklistService,
+            @Autowired(required = false) VerifiedTokenCache verifiedTokenCache,
+            @Autowired(required = false) RevocationRegistry revocationRegistry) {
+        ReactiveSecurityManager securityManager = new ReactiveSecurityManager(
+                realm, signature, sessionParser, properties, reactiveSessionDao, reactiveTokenBlacklistService);
+        securityManager.setVerifiedTokenCache(verifiedTokenCache);
+        securityManager.setRevocationRegistry(revocationRegistry);
+        return securityManager;
+    }
+
+    @Bean
+    public ReactiveAllowAnonymousRegistry reactiveAllowAnonymousRegistry(
+            ObjectProvider<List<RequestMappingHandlerMapping>> handlerMappingsProvider,
+            AuthenticatorProperties properties) {
+        return new ReactiveAllowAnonymousRegistry(handlerMappingsProvider, properties.getExcludePaths());
+    }
+
+    @Bean
+    public ReactiveAuthenticationFilter reactiveAuthenticationFilter(
+            AuthenticatorProperties properties,
+            ReactiveSecurityManager reactiveSecurityManager,
+            ReactiveAllowAnonymousRegistry reactiveAllowAnonymousRegistry) {
+        return new ReactiveAuthenticationFilter(properties, reactiveSecurityManager, reactiveAllowAnonymousRegistry);
+    }
+
+    /**
+     * 注册参数解析器到 Spring WebFlux
+     */
+    @Override
+    public void configureArgumentResolvers(ArgumentResolverConfigurer configurer) {
+        configurer.addCustomResolver(new ReactiveLoginUserArgumentResolver());
+    }
+}
@@ -0,0 +1,117 @@
+package com.kite.authenticator.config;
+
+import com.kite.authenticator.concurrent.VirtualThreads;
+import org.apache.coyote.ProtocolHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.AutoConfigureBefore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 虚拟线程自动配置（可选，需要 JDK 21 及以上）
+ * 启用 kite.threads.virtual.enabled 后，Tomcat 请求处理与默认的 @Async 执行器改为每个任务一个虚拟线程，
+ * 认证链路中的 Redis 调用与业务中的 JDBC 调用阻塞时不再占用平台线程。
+ * 运行在 JDK 21 以下时不生效，仍使用原有线程池。
+ *
+ * @author yourname
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "kite.threads.virtual", name = "enabled", havingValue = "true")
+@AutoConfigureBefore(TaskExecutionAutoConfiguration.class)
+public class VirtualThreadAutoConfiguration implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadAutoConfiguration.class);
+
+    /**
+     * 本配置创建的执行器，容器关闭时统一关闭
+     */
+    private final List<ExecutorService> executors = new CopyOnWriteArrayList<>();
+
+    public VirtualThreadAutoConfiguration() {
+        if (!VirtualThreads.isAvailable()) {
+            logger.warn("已启用 kite.threads.virtual.enabled，但当前 JDK {} 不支持虚拟线程，继续使用平台线程池",
+                    System.getProperty("java.version"));
+        }
+    }
+
+    /**
+     * 默认的 @Async 执行器（未指定执行器名称的 @Async 方法使用）
+     */
+    @Bean(name = {TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME, "taskExecutor"})
+    @Conditional(VirtualThreadsAvailableCondition.class)
+    @ConditionalOnMissingBean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        logger.info("@Async 默认执行器使用虚拟线程");
+        ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("task-vt-");
+        executors.add(executor);
+        return new TaskExecutorAdapter(executor);
+    }
+
+    @Override
+    public void destroy() {
+        shutdown(executors);
+    }
+
+    /**
+     * Tomcat 请求处理使用虚拟线程
+     */
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    @ConditionalOnClass(name = "org.apache.catalina.startup.Tomcat")
+    @Conditional(VirtualThreadsAvailableCondition.class)
+    static class TomcatVirtualThreadConfiguration implements DisposableBean {
+
+        /**
+         * 外部设置的执行器不由 Tomcat 关闭，在 Web 服务器停止后随容器关闭
+         */
+        private final List<ExecutorService> executors = new CopyOnWriteArrayList<>();
+
+        @Bean
+        public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+            return protocolHandler -> {
+                logger.info("Tomcat 请求处理使用虚拟线程");
+                ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("tomcat-vt-");
+                executors.add(executor);
+                protocolHandler.setExecutor(executor);
+            };
+        }
+
+        @Override
+        public void destroy() {
+            shutdown(executors);
+        }
+    }
+
+    private static void shutdown(List<ExecutorService> executors) {
+        for (ExecutorService executor : executors) {
+            executor.shutdown();
+        }
+        executors.clear();
+    }
+
+    static class VirtualThreadsAvailableCondition implements Condition {
+
+        @Override
+        public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+            return VirtualThreads.isAvailable();
+        }
+    }
+}
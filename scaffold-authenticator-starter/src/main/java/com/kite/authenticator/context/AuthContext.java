@@ -0,0 +1,206 @@
+package com.kite.authenticator.context;
+
+import com.kite.authenticator.config.AuthenticatorProperties;
+import com.kite.authenticator.session.Session;
+import com.kite.authenticator.signature.VerifiedClaims;
+import com.kite.authenticator.token.HostAuthenticationToken;
+import com.kite.authenticator.util.TokenHashUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+
+/**
+ * 请求级认证上下文
+ * 保存在请求属性中，Token、指纹、设备ID、客户端 IP 在首次读取时计算且每个请求只计算一次；
+ * 认证通过后还可读取已验证的声明与 Session。过滤器、切面、Controller 共用同一个实例。
+ * 非线程安全，只在处理请求的线程中使用。
+ *
+ * @author yourname
+ */
+public final class AuthContext {
+
+    /**
+     * 请求属性名
+     */
+    public static final String ATTRIBUTE = AuthContext.class.getName();
+
+    private static final String DEFAULT_TOKEN_HEADER = "Authorization";
+    private static final String DEFAULT_TOKEN_PREFIX = "Bearer ";
+
+    private final HttpServletRequest request;
+    private final String tokenHeader;
+    private final String tokenPrefix;
+
+    private boolean tokenResolved;
+    private String token;
+    private String fingerprint;
+    private String deviceId;
+    private String clientIp;
+    private HostAuthenticationToken authenticationToken;
+
+    private AuthContext(HttpServletRequest request, String tokenHeader, String tokenPrefix) {
+        this.request = request;
+        this.tokenHeader = tokenHeader != null ? tokenHeader : DEFAULT_TOKEN_HEADER;
+        this.tokenPrefix = tokenPrefix != null ? tokenPrefix : DEFAULT_TOKEN_PREFIX;
+    }
+
+    /**
+     * 获取请求的认证上下文，不存在时创建并保存到请求属性
+     *
+     * @param request 当前请求
+     * @param properties 认证配置（为空时使用默认的 Header 与前缀）
+     */
+    public static AuthContext from(HttpServletRequest request, AuthenticatorProperties properties) {
+        Object existing = request.getAttribute(ATTRIBUTE);
+        if (existing instanceof AuthContext) {
+            return (AuthContext) existing;
+        }
+        AuthContext context = properties != null
+                ? new AuthContext(request, properties.getTokenHeader(), properties.getTokenPrefix())
+                : new AuthContext(request, null, null);
+        request.setAttribute(ATTRIBUTE, context);
+        return context;
+    }
+
+    /**
+     * 获取当前请求的认证上下文（不在请求线程中时返回 null）
+     *
+     * @param properties 认证配置（为空时使用默认的 Header 与前缀）
+     */
+    public static AuthContext current(AuthenticatorProperties properties) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return null;
+        }
+        return from(((ServletRequestAttributes) attributes).getRequest(), properties);
+    }
+
+    /**
+     * 原始 Token（已去除前缀，依次从 Header、Cookie 中获取）
+     */
+    public String getToken() {
+        if (!tokenResolved) {
+            token = extractToken();
+            tokenResolved = true;
+        }
+        return token;
+    }
+
+    /**
+     * Token 指纹（SHA-256 十六进制），没有 Token 时返回 null
+     */
+    public String getFingerprint() {
+        if (fingerprint == null) {
+            if (authenticationToken != null) {
+                fingerprint = authenticationToken.getFingerprint();
+            } else if (getToken() != null && !token.isEmpty()) {
+                fingerprint = TokenHashUtils.sha256Hex(token);
+            }
+        }
+        return fingerprint;
+    }
+
+    /**
+     * 设备ID（X-Device-Id，其次 User-Agent 哈希，最后为客户端地址）
+     */
+    public String getDeviceId() {
+        if (deviceId == null) {
+            deviceId = extractDeviceId();
+        }
+        return deviceId;
+    }
+
+    /**
+     * 客户端 IP（X-Forwarded-For 第一个地址，其次 X-Real-IP，最后为连接地址）
+     */
+    public String getClientIp() {
+        if (clientIp == null) {
+            clientIp = extractClientIp();
+        }
+        return clientIp;
+    }
+
+    /**
+     * 已验证的 Token 声明（认证通过后可用）
+     */
+    public VerifiedClaims getVerifiedClaims() {
+        return authenticationToken != null ? authenticationToken.getVerifiedClaims() : null;
+    }
+
+    /**
+     * 认证时加载的 Session（认证通过且启用 Session 校验时可用）
+     */
+    public Session getSession() {
+        return authenticationToken != null ? authenticationToken.getSession() : null;
+    }
+
+    /**
+     * 创建与上下文共用指纹的认证令牌（认证过滤器使用）
+     */
+    public HostAuthenticationToken createAuthenticationToken() {
+        HostAuthenticationToken authToken = new HostAuthenticationToken(getToken(), getDeviceId());
+        authToken.setFingerprint(fingerprint);
+        this.authenticationToken = authToken;
+        return authToken;
+    }
+
+    private String extractToken() {
+        // 从 Header 中获取
+        String value = request.getHeader(tokenHeader);
+        if (value == null || value.isEmpty()) {
+            // 从 Cookie 中获取
+            value = null;
+            Cookie[] cookies = request.getCookies();
+            if (cookies != null) {
+                for (Cookie cookie : cookies) {
+                    if (tokenHeader.equals(cookie.getName())) {
+                        value = cookie.getValue();
+                        break;
+                    }
+                }
+            }
+        }
+        if (value != null && value.startsWith(tokenPrefix)) {
+            return value.substring(tokenPrefix.length());
+        }
+        return value;
+    }
+
+    private String extractDeviceId() {
+        // 优先从 Header 中获取
+        String value = request.getHeader("X-Device-Id");
+        if (value != null && !value.isEmpty()) {
+            return value;
+        }
+
+        // 从 User-Agent 中提取（简单实现）
+        String userAgent = request.getHeader("User-Agent");
+        if (userAgent != null && !userAgent.isEmpty()) {
+            return userAgent.hashCode() + "";
+        }
+
+        // 使用 IP 地址作为设备ID（简单实现）
+        return request.getRemoteAddr();
+    }
+
+    private String extractClientIp() {
+        String ip = request.getHeader("X-Forwarded-For");
+        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
+            ip = request.getHeader("X-Real-IP");
+        }
+        if (ip == null || ip.isEmpty() || "unknown".equalsIgnoreCase(ip)) {
+            ip = request.getRemoteAddr();
+        }
+        // 如果IP包含多个值，取第一个
+        if (ip != null) {
+            int comma = ip.indexOf(',');
+            if (comma >= 0) {
+                ip = ip.substring(0, comma).trim();
+            }
+        }
+        return ip != null ? ip : "unknown";
+    }
+}
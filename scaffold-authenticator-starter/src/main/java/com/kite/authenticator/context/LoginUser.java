@@ -3,6 +3,7 @@ package com.kite.authenticator.context;
 import lombok.Data;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -69,5 +70,23 @@ public class LoginUser implements Serializable {
      * 设备类型
      */
     private String deviceType;
+    
+    /**
+     * 复制一份（角色、权限列表同样复制），在多个请求间共享认证结果时避免一个请求的修改影响其他请求
+     */
+    public LoginUser copy() {
+        LoginUser target = new LoginUser();
+        target.setUserId(userId);
+        target.setUsername(username);
+        target.setNickname(nickname);
+        target.setAvatar(avatar);
+        target.setEmail(email);
+        target.setPhone(phone);
+        target.setRoles(roles != null ? new ArrayList<>(roles) : null);
+        target.setPermissions(permissions != null ? new ArrayList<>(permissions) : null);
+        target.setExpireAt(expireAt);
+        target.setDeviceId(deviceId);
+        target.setDeviceType(deviceType);
+        return target;
+    }
 }
-
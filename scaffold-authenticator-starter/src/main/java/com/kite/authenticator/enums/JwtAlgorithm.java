@@ -0,0 +1,21 @@
+package com.kite.authenticator.enums;
+
+/**
+ * JWT 签名算法枚举
+ * 
+ * @author yourname
+ */
+public enum JwtAlgorithm {
+    
+    /**
+     * HMAC-SHA256（默认）
+     * 签发与验证共用对称密钥（kite.auth.secret），验证方必须持有同一密钥
+     */
+    HS256,
+    
+    /**
+     * ECDSA P-256 + SHA-256
+     * 私钥签发、公钥验证，网关与下游服务只需配置公钥即可本地验证 Token
+     */
+    ES256
+}
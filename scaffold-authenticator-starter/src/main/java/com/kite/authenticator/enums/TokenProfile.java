@@ -0,0 +1,23 @@
+package com.kite.authenticator.enums;
+
+/**
+ * Token 格式枚举
+ * 
+ * @author yourname
+ */
+public enum TokenProfile {
+    
+    /**
+     * 完整格式（默认）
+     * Token 中以 JSON 携带完整的 LoginUser（含角色、权限列表）
+     */
+    FULL,
+    
+    /**
+     * 紧凑格式
+     * Token 只携带 uid、sid、授权版本号、iat 与 exp，LoginUser 由本地缓存按用户ID加载
+     * 优点：Header 体积小，解析快，无需反序列化用户 JSON
+     * 适用场景：角色/权限较多导致 Token 过大的场景
+     */
+    COMPACT
+}
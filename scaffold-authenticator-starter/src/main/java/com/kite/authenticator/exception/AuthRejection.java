@@ -0,0 +1,170 @@
+package com.kite.authenticator.exception;
+
+import com.kite.authenticator.session.enums.UserStatus;
+import com.kite.common.response.ResultCode;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 认证拒绝原因
+ * 每种原因预分配一个无堆栈的 {@link AuthenticationException}，并预先编码 401 响应体，
+ * 拒绝请求时不再创建异常、格式化字符串或序列化 JSON。
+ *
+ * @author yourname
+ */
+public enum AuthRejection {
+
+    TOKEN_MISSING("未提供 Token"),
+    TOKEN_EMPTY("Token 不能为空"),
+    TOKEN_EXPIRED("Token 已过期"),
+    TOKEN_INVALID("Token 无效"),
+    TOKEN_MALFORMED("Token 格式错误"),
+    TOKEN_UNREADABLE("Token 解析失败"),
+    TOKEN_PARSE_ERROR("Token 解析异常"),
+    TOKEN_REVOKED("Token 已被撤销"),
+    TOKEN_TYPE_MISMATCH("Token 类型错误"),
+    REFRESH_TOKEN_EMPTY("Refresh Token 不能为空"),
+    REFRESH_TOKEN_NOT_ALLOWED("Refresh Token 不能用于访问接口"),
+    REFRESH_TOKEN_INVALID("Refresh Token 已失效"),
+    SESSION_NOT_FOUND("Session 不存在"),
+    SESSION_EXPIRED("Session 已过期"),
+    SESSION_TIMEOUT("会话已超时，请重新登录"),
+    DEVICE_MISMATCH("设备不匹配"),
+    KICKED_OUT("用户已被踢出"),
+    DISABLED("用户已被禁用"),
+    DEVICE_KICKED_OUT("设备已被踢出"),
+    REPLACED("用户已在其他地方登录"),
+    NOT_LOGGED_IN("用户未登录"),
+    AUTHENTICATION_FAILED("认证失败");
+
+    private static final byte[] BODY_SUFFIX = "}".getBytes(StandardCharsets.UTF_8);
+
+    private final String message;
+    private final AuthenticationException exception;
+
+    /**
+     * 响应体中时间戳之前的部分：{"code":401,"message":"...","timestamp":
+     */
+    private final byte[] bodyPrefix;
+
+    AuthRejection(String message) {
+        this.message = message;
+        this.exception = new AuthenticationException(this);
+        this.bodyPrefix = bodyPrefix(message);
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * 预分配的异常实例（无堆栈，可直接抛出）
+     */
+    public AuthenticationException exception() {
+        return exception;
+    }
+
+    /**
+     * 写出 401 响应体
+     */
+    public void writeBody(OutputStream out) throws IOException {
+        writeBody(out, bodyPrefix);
+    }
+
+    /**
+     * 写出自定义消息的 401 响应体（非预定义原因时使用，消息会被转义）
+     */
+    public static void writeBody(OutputStream out, String message) throws IOException {
+        writeBody(out, bodyPrefix(message));
+    }
+
+    /**
+     * 401 响应体（响应式过滤器使用）
+     */
+    public byte[] body() {
+        return body(bodyPrefix);
+    }
+
+    /**
+     * 自定义消息的 401 响应体（消息会被转义）
+     */
+    public static byte[] body(String message) {
+        return body(bodyPrefix(message));
+    }
+
+    /**
+     * 用户状态对应的拒绝原因（null 表示 Session 已删除）
+     */
+    public static AuthRejection of(UserStatus status) {
+        if (status == null) {
+            return SESSION_NOT_FOUND;
+        }
+        switch (status) {
+            case DISABLED:
+                return DISABLED;
+            case DEVICE_KICK_OUT:
+                return DEVICE_KICKED_OUT;
+            case REPLACED:
+                return REPLACED;
+            default:
+                return KICKED_OUT;
+        }
+    }
+
+    private static void writeBody(OutputStream out, byte[] prefix) throws IOException {
+        out.write(prefix);
+        out.write(Long.toString(System.currentTimeMillis()).getBytes(StandardCharsets.US_ASCII));
+        out.write(BODY_SUFFIX);
+    }
+
+    private static byte[] body(byte[] prefix) {
+        byte[] timestamp = Long.toString(System.currentTimeMillis()).getBytes(StandardCharsets.US_ASCII);
+        byte[] body = new byte[prefix.length + timestamp.length + BODY_SUFFIX.length];
+        System.arraycopy(prefix, 0, body, 0, prefix.length);
+        System.arraycopy(timestamp, 0, body, prefix.length, timestamp.length);
+        System.arraycopy(BODY_SUFFIX, 0, body, prefix.length + timestamp.length, BODY_SUFFIX.length);
+        return body;
+    }
+
+    private static byte[] bodyPrefix(String message) {
+        return ("{\"code\":" + ResultCode.UNAUTHORIZED.getCode()
+                + ",\"message\":\"" + escape(message)
+                + "\",\"timestamp\":").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder builder = new StringBuilder(value.length() + 8);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        builder.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        builder.append(c);
+                    }
+            }
+        }
+        return builder.toString();
+    }
+}
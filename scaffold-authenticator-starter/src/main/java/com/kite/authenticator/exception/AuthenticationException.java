@@ -0,0 +1,37 @@
+package com.kite.authenticator.exception;
+
+import com.kite.common.exception.BusinessException;
+import com.kite.common.response.ResultCode;
+
+/**
+ * 认证失败异常
+ * 每种 {@link AuthRejection} 只有一个共享实例：不采集堆栈、不记录抑制异常，且不可修改。
+ * 仍是 {@link BusinessException}，现有的异常处理逻辑无需调整。
+ *
+ * @author yourname
+ */
+public final class AuthenticationException extends BusinessException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final AuthRejection reason;
+
+    AuthenticationException(AuthRejection reason) {
+        super(ResultCode.UNAUTHORIZED.getCode(), reason.getMessage(), false);
+        this.reason = reason;
+    }
+
+    public AuthRejection getReason() {
+        return reason;
+    }
+
+    @Override
+    public void setCode(Integer code) {
+        throw new UnsupportedOperationException("共享异常实例不可修改");
+    }
+
+    @Override
+    public void setMessage(String message) {
+        throw new UnsupportedOperationException("共享异常实例不可修改");
+    }
+}
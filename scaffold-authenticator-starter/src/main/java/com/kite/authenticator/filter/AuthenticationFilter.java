@@ -3,16 +3,21 @@ package com.kite.authenticator.filter;
 import com.kite.authenticator.Authenticator;
 import com.kite.authenticator.config.AllowAnonymousRegistry;
 import com.kite.authenticator.config.AuthenticatorProperties;
+import com.kite.authenticator.context.AuthContext;
 import com.kite.authenticator.context.LoginUser;
 import com.kite.authenticator.context.LoginUserContext;
 import com.kite.authenticator.context.LoginUserContextCustomizer;
+import com.kite.authenticator.exception.AuthRejection;
+import com.kite.authenticator.exception.AuthenticationException;
+import com.kite.authenticator.metrics.AuthMetrics;
+import com.kite.authenticator.metrics.AuthOutcome;
+import com.kite.authenticator.metrics.AuthStage;
 import com.kite.authenticator.token.HostAuthenticationToken;
+import com.kite.authenticator.util.RateLimitedLogger;
 import com.kite.common.exception.BusinessException;
-import com.kite.common.response.ResultCode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.AntPathMatcher;
-import org.springframework.util.StringUtils;
 
 import javax.servlet.*;
 import javax.servlet.http.HttpServletRequest;
@@ -20,6 +25,7 @@ import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * 认证过滤器
@@ -31,11 +37,20 @@ public class AuthenticationFilter implements Filter {
     
     private static final Logger logger = LoggerFactory.getLogger(AuthenticationFilter.class);
     
+    private static final String CONTENT_TYPE = "application/json;charset=UTF-8";
+    
+    /**
+     * 认证失败日志按原因限流（每种原因每 10 秒最多一条，不记录 Token）
+     */
+    private static final RateLimitedLogger rejectionLogger =
+            new RateLimitedLogger(logger, 10, TimeUnit.SECONDS);
+    
     private final AuthenticatorProperties properties;
     private final AntPathMatcher pathMatcher = new AntPathMatcher();
     private final Authenticator authenticator;
     private final AllowAnonymousRegistry allowAnonymousRegistry;
     private final List<LoginUserContextCustomizer> contextCustomizers;
+    private AuthMetrics metrics = AuthMetrics.NOOP;
     
     public AuthenticationFilter(AuthenticatorProperties properties,
                                 Authenticator authenticator,
@@ -47,6 +62,13 @@ public class AuthenticationFilter implements Filter {
         this.contextCustomizers = contextCustomizers != null ? contextCustomizers : Collections.emptyList();
     }
     
+    /**
+     * 设置认证阶段指标（可选）
+     */
+    public void setMetrics(AuthMetrics metrics) {
+        this.metrics = metrics != null ? metrics : AuthMetrics.NOOP;
+    }
+    
     @Override
     public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
             throws IOException, ServletException {
@@ -61,9 +83,12 @@ public class AuthenticationFilter implements Filter {
         }
         
         // 检查是否需要排除的路径
-        if (isExcludePath(requestPath) ||
-                (allowAnonymousRegistry != null &&
-                        allowAnonymousRegistry.isAllowAnonymous(requestPath, httpRequest.getMethod()))) {
+        long start = metrics.start();
+        boolean permitted = allowAnonymousRegistry != null
+                ? allowAnonymousRegistry.isPermitted(requestPath, httpRequest.getMethod())
+                : isExcludePath(requestPath);
+        metrics.record(AuthStage.PATH_MATCH, permitted ? AuthOutcome.PERMITTED : AuthOutcome.PROTECTED, start);
+        if (permitted) {
             chain.doFilter(request, response);
             return;
         }
@@ -82,20 +107,18 @@ public class AuthenticationFilter implements Filter {
             return;
         }
         
-        // 获取 Token
-        String token = extractToken(httpRequest);
+        // 获取 Token（请求级上下文，下游切面与 Controller 复用）
+        AuthContext authContext = AuthContext.from(httpRequest, properties);
+        String token = authContext.getToken();
         
         if (token == null || token.isEmpty()) {
-            handleUnauthorized(httpResponse, "未提供 Token");
+            reject(httpResponse, AuthRejection.TOKEN_MISSING);
             return;
         }
         
         try {
-            // 提取设备ID
-            String deviceId = extractDeviceId(httpRequest);
-            
-            // 创建认证令牌
-            HostAuthenticationToken authToken = new HostAuthenticationToken(token, deviceId);
+            // 创建认证令牌（包含设备ID）
+            HostAuthenticationToken authToken = authContext.createAuthenticationToken();
             
             // 调用 Authenticator 进行认证
             LoginUser loginUser = authenticator.authenticate(authToken);
@@ -112,70 +135,20 @@ public class AuthenticationFilter implements Filter {
                 notifyLoginUserCleared();
             }
             
+        } catch (AuthenticationException e) {
+            rejectionLogger.warn(e.getReason(), "Token 验证失败: {}", e.getMessage());
+            reject(httpResponse, e.getReason());
         } catch (BusinessException e) {
-            logger.warn("Token 验证失败: {}", e.getMessage());
+            rejectionLogger.warn(BusinessException.class, "Token 验证失败: {}", e.getMessage());
             handleUnauthorized(httpResponse, e.getMessage());
         } catch (Exception e) {
             logger.error("认证处理异常", e);
-            handleUnauthorized(httpResponse, "认证失败");
+            reject(httpResponse, AuthRejection.AUTHENTICATION_FAILED);
         }
     }
     
     /**
-     * 提取设备ID
-     */
-    private String extractDeviceId(HttpServletRequest request) {
-        // 优先从 Header 中获取
-        String deviceId = request.getHeader("X-Device-Id");
-        if (!StringUtils.isEmpty(deviceId)) {
-            return deviceId;
-        }
-        
-        // 从 User-Agent 中提取（简单实现）
-        String userAgent = request.getHeader("User-Agent");
-        if (!StringUtils.isEmpty(userAgent)) {
-            return userAgent.hashCode() + "";
-        }
-        
-        // 使用 IP 地址作为设备ID（简单实现）
-        return request.getRemoteAddr();
-    }
-    
-    /**
-     * 提取 Token
-     */
-    private String extractToken(HttpServletRequest request) {
-        String headerName = properties.getTokenHeader();
-        String tokenPrefix = properties.getTokenPrefix();
-        
-        // 从 Header 中获取
-        String token = request.getHeader(headerName);
-        if (token != null && !token.isEmpty()) {
-            if (token.startsWith(tokenPrefix)) {
-                return token.substring(tokenPrefix.length());
-            }
-            return token;
-        }
-        
-        // 从 Cookie 中获取
-        javax.servlet.http.Cookie[] cookies = request.getCookies();
-        if (cookies != null) {
-            for (javax.servlet.http.Cookie cookie : cookies) {
-                if (headerName.equals(cookie.getName())) {
-                    token = cookie.getValue();
-                    if (token != null && token.startsWith(tokenPrefix)) {
-                        return token.substring(tokenPrefix.length());
-                    }
-                    return token;
-                }
-            }
-        }
-        
-        return null;
-    }
-    
-    /**
-     * 检查是否为排除路径
+     * 检查是否为排除路径（未配置 AllowAnonymousRegistry 时使用）
      */
     private boolean isExcludePath(String path) {
         List<String> excludePaths = properties.getExcludePaths();
@@ -205,20 +178,29 @@ public class AuthenticationFilter implements Filter {
     }
     
     /**
-     * 处理未授权响应
+     * 处理未授权响应（预定义原因，直接写出预编码的响应体）
+     */
+    private void reject(HttpServletResponse response, AuthRejection reason) throws IOException {
+        metrics.rejected(reason);
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.setContentType(CONTENT_TYPE);
+        reason.writeBody(response.getOutputStream());
+    }
+    
+    /**
+     * 处理未授权响应（自定义消息）
      */
     private void handleUnauthorized(HttpServletResponse response, String message) throws IOException {
         response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-        response.setContentType("application/json;charset=UTF-8");
-        response.getWriter().write(String.format(
-            "{\"code\":%d,\"message\":\"%s\",\"timestamp\":%d}",
-            ResultCode.UNAUTHORIZED.getCode(),
-            message,
-            System.currentTimeMillis()
-        ));
+        response.setContentType(CONTENT_TYPE);
+        AuthRejection.writeBody(response.getOutputStream(), message);
     }
 
     private void notifyLoginUserSet(LoginUser loginUser) {
+        if (contextCustomizers.isEmpty()) {
+            return;
+        }
+        long start = metrics.start();
         for (LoginUserContextCustomizer customizer : contextCustomizers) {
             try {
                 customizer.onLoginUserSet(loginUser);
@@ -226,9 +208,14 @@ public class AuthenticationFilter implements Filter {
                 logger.warn("LoginUserContextCustomizer 执行失败: {}", ex.getMessage());
             }
         }
+        metrics.record(AuthStage.CONTEXT_CUSTOMIZERS, AuthOutcome.SUCCESS, start);
     }
 
     private void notifyLoginUserCleared() {
+        if (contextCustomizers.isEmpty()) {
+            return;
+        }
+        long start = metrics.start();
         for (LoginUserContextCustomizer customizer : contextCustomizers) {
             try {
                 customizer.onLoginUserCleared();
@@ -236,5 +223,6 @@ public class AuthenticationFilter implements Filter {
                 logger.warn("LoginUserContextCustomizer 清理失败: {}", ex.getMessage());
             }
         }
+        metrics.record(AuthStage.CONTEXT_CUSTOMIZERS, AuthOutcome.SUCCESS, start);
     }
 }
@@ -0,0 +1,49 @@
+package com.kite.authenticator.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 认证事件（{@code DefaultSecurityManager.authenticate}）
+ *
+ * @author yourname
+ */
+@Name("com.kite.authenticator.Authenticate")
+@Label("Authenticate")
+@Category({"Kite", "Authenticator"})
+@Description("一次 Token 认证的耗时与结果")
+@StackTrace(false)
+public class AuthenticateEvent extends jdk.jfr.Event {
+
+    @Label("Outcome")
+    @Description("success / rejected / error")
+    private String outcome;
+
+    @Label("Reason")
+    @Description("拒绝原因（AuthRejection）或异常类型")
+    private String reason;
+
+    @Label("Mode")
+    @Description("session / stateless / access-token")
+    private String mode;
+
+    @Label("Token Length")
+    private int tokenLength;
+
+    /**
+     * 结束并提交事件
+     */
+    public void finish(String outcome, String reason, String mode, int tokenLength) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            this.reason = reason;
+            this.mode = mode;
+            this.tokenLength = tokenLength;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.kite.authenticator.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 黑名单检查事件（{@code TokenBlacklistService.isBlacklisted}）
+ *
+ * @author yourname
+ */
+@Name("com.kite.authenticator.BlacklistCheck")
+@Label("Blacklist Check")
+@Category({"Kite", "Authenticator"})
+@Description("Token 黑名单检查的耗时与结果")
+@StackTrace(false)
+public class BlacklistCheckEvent extends jdk.jfr.Event {
+
+    @Label("Outcome")
+    @Description("hit / miss / error")
+    private String outcome;
+
+    @Label("Source")
+    @Description("local（撤销登记表）/ redis")
+    private String source;
+
+    /**
+     * 结束并提交事件
+     */
+    public void finish(String outcome, String source) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            this.source = source;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.kite.authenticator.jfr;
+
+/**
+ * JFR 事件工厂
+ * 运行时不支持 JFR（jdk.jfr 不存在）时返回 null，事件类不会被加载；
+ * 调用方统一写法：
+ * <pre>
+ * AuthenticateEvent event = JfrEvents.authenticate();
+ * ...
+ * if (event != null) {
+ *     event.finish(...);
+ * }
+ * </pre>
+ * 事件是否记录由 JFR 录制配置（.jfc 或 {@code jcmd JFR.configure}）控制；
+ * 没有录制启用对应事件时直接返回 null，不创建事件对象、不调用 {@code begin()}。
+ *
+ * @author yourname
+ */
+public final class JfrEvents {
+
+    /**
+     * 当前运行时是否支持 JFR
+     */
+    public static final boolean AVAILABLE = isJfrAvailable();
+
+    private JfrEvents() {
+    }
+
+    /**
+     * 开始记录一次认证
+     */
+    public static AuthenticateEvent authenticate() {
+        if (!AVAILABLE || !EventTypes.AUTHENTICATE.isEnabled()) {
+            return null;
+        }
+        AuthenticateEvent event = new AuthenticateEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * 开始记录一次 Session 存储操作
+     */
+    public static SessionStoreEvent sessionStore() {
+        if (!AVAILABLE || !EventTypes.SESSION_STORE.isEnabled()) {
+            return null;
+        }
+        SessionStoreEvent event = new SessionStoreEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * 开始记录一次限流检查
+     */
+    public static RateLimitEvent rateLimit() {
+        if (!AVAILABLE || !EventTypes.RATE_LIMIT.isEnabled()) {
+            return null;
+        }
+        RateLimitEvent event = new RateLimitEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * 开始记录一次黑名单检查
+     */
+    public static BlacklistCheckEvent blacklistCheck() {
+        if (!AVAILABLE || !EventTypes.BLACKLIST_CHECK.isEnabled()) {
+            return null;
+        }
+        BlacklistCheckEvent event = new BlacklistCheckEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * 缓存的事件类型（只在 {@link #AVAILABLE} 为 true 时加载，避免在不支持 JFR 的运行时解析 jdk.jfr）
+     */
+    private static final class EventTypes {
+        static final jdk.jfr.EventType AUTHENTICATE = jdk.jfr.EventType.getEventType(AuthenticateEvent.class);
+        static final jdk.jfr.EventType SESSION_STORE = jdk.jfr.EventType.getEventType(SessionStoreEvent.class);
+        static final jdk.jfr.EventType RATE_LIMIT = jdk.jfr.EventType.getEventType(RateLimitEvent.class);
+        static final jdk.jfr.EventType BLACKLIST_CHECK = jdk.jfr.EventType.getEventType(BlacklistCheckEvent.class);
+    }
+
+    private static boolean isJfrAvailable() {
+        try {
+            Class.forName("jdk.jfr.Event", false, JfrEvents.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.kite.authenticator.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * 限流检查事件（{@code RateLimitService.allowRequest}）
+ * 不记录限流 Key 本身（可能包含 IP、用户ID 或 Token），只记录其长度
+ *
+ * @author yourname
+ */
+@Name("com.kite.authenticator.RateLimit")
+@Label("Rate Limit")
+@Category({"Kite", "Authenticator"})
+@Description("限流检查的耗时与结果")
+@StackTrace(false)
+public class RateLimitEvent extends jdk.jfr.Event {
+
+    @Label("Outcome")
+    @Description("allowed / limited / error")
+    private String outcome;
+
+    @Label("Algorithm")
+    private String algorithm;
+
+    @Label("Window (s)")
+    private int window;
+
+    @Label("Max Requests")
+    private int maxRequests;
+
+    @Label("Key Length")
+    private int keyLength;
+
+    /**
+     * 结束并提交事件
+     */
+    public void finish(String outcome, String algorithm, int window, int maxRequests, int keyLength) {
+        end();
+        if (shouldCommit()) {
+            this.outcome = outcome;
+            this.algorithm = algorithm;
+            this.window = window;
+            this.maxRequests = maxRequests;
+            this.keyLength = keyLength;
+            commit();
+        }
+    }
+}
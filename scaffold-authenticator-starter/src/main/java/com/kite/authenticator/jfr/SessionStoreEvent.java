@@ -0,0 +1,50 @@
+package com.kite.authenticator.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Session 存储事件（{@code RedisSessionDao} 的每次调用）
+ *
+ * @author yourname
+ */
+@Name("com.kite.authenticator.SessionStore")
+@Label("Session Store")
+@Category({"Kite", "Authenticator", "Session"})
+@Description("Session 存储操作的耗时、结果与涉及的 Key 数量")
+@StackTrace(false)
+public class SessionStoreEvent extends jdk.jfr.Event {
+
+    @Label("Operation")
+    private String operation;
+
+    @Label("Outcome")
+    @Description("success / miss / error")
+    private String outcome;
+
+    @Label("Key Count")
+    @Description("涉及的 Session 数量（批量操作的规模提示）")
+    private int keyCount;
+
+    @Label("Payload Size")
+    @DataAmount
+    private long payloadBytes;
+
+    /**
+     * 结束并提交事件
+     */
+    public void finish(String operation, String outcome, int keyCount, long payloadBytes) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.outcome = outcome;
+            this.keyCount = keyCount;
+            this.payloadBytes = payloadBytes;
+            commit();
+        }
+    }
+}
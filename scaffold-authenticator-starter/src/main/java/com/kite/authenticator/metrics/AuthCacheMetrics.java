@@ -0,0 +1,47 @@
+package com.kite.authenticator.metrics;
+
+import com.kite.authenticator.cache.LoginUserCache;
+import com.kite.authenticator.cache.SessionNearCache;
+import com.kite.authenticator.cache.VerifiedTokenCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * 认证相关本地缓存的指标（命中、未命中、淘汰、条目数）
+ * 以 {@link CaffeineCacheMetrics} 注册，标签 cache 分别为：
+ * <ul>
+ *     <li>{@code authc.verified-token}：已验证 Token 缓存</li>
+ *     <li>{@code authc.login-user}：登录用户缓存</li>
+ *     <li>{@code authc.session}：Session 本地缓存</li>
+ * </ul>
+ * 未启用的缓存不注册。
+ *
+ * @author yourname
+ */
+public class AuthCacheMetrics implements MeterBinder {
+
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final LoginUserCache loginUserCache;
+    private final SessionNearCache sessionNearCache;
+
+    public AuthCacheMetrics(VerifiedTokenCache verifiedTokenCache, LoginUserCache loginUserCache,
+                            SessionNearCache sessionNearCache) {
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.loginUserCache = loginUserCache;
+        this.sessionNearCache = sessionNearCache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (verifiedTokenCache != null) {
+            CaffeineCacheMetrics.monitor(registry, verifiedTokenCache.getNativeCache(), "authc.verified-token");
+        }
+        if (loginUserCache != null) {
+            CaffeineCacheMetrics.monitor(registry, loginUserCache.getNativeCache(), "authc.login-user");
+        }
+        if (sessionNearCache != null) {
+            CaffeineCacheMetrics.monitor(registry, sessionNearCache.getNativeCache(), "authc.session");
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.kite.authenticator.metrics;
+
+import com.kite.authenticator.exception.AuthRejection;
+
+/**
+ * 认证流水线指标
+ * 用法：{@code long start = metrics.start(); ... metrics.record(stage, outcome, start);}
+ * 未启用时使用 {@link #NOOP}，不会读取时钟。
+ *
+ * @author yourname
+ */
+public interface AuthMetrics {
+
+    /**
+     * 不记录任何指标
+     */
+    AuthMetrics NOOP = new AuthMetrics() {
+    };
+
+    /**
+     * 阶段开始时间（纳秒）
+     */
+    default long start() {
+        return 0L;
+    }
+
+    /**
+     * 记录阶段耗时
+     *
+     * @param stage 阶段
+     * @param outcome 结果
+     * @param startNanos {@link #start()} 的返回值
+     */
+    default void record(AuthStage stage, AuthOutcome outcome, long startNanos) {
+    }
+
+    /**
+     * 记录一次认证拒绝
+     */
+    default void rejected(AuthRejection reason) {
+    }
+}
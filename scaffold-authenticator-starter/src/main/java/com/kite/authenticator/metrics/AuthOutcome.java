@@ -0,0 +1,50 @@
+package com.kite.authenticator.metrics;
+
+import com.kite.common.exception.BusinessException;
+
+/**
+ * 认证阶段结果
+ *
+ * @author yourname
+ */
+public enum AuthOutcome {
+
+    SUCCESS("success"),
+
+    /**
+     * 认证被拒绝（业务异常）
+     */
+    REJECTED("rejected"),
+
+    /**
+     * 非预期异常（如 Redis 不可用）
+     */
+    ERROR("error"),
+
+    /**
+     * 路径无需认证
+     */
+    PERMITTED("permitted"),
+
+    /**
+     * 路径需要认证
+     */
+    PROTECTED("protected");
+
+    private final String tagValue;
+
+    AuthOutcome(String tagValue) {
+        this.tagValue = tagValue;
+    }
+
+    public String getTagValue() {
+        return tagValue;
+    }
+
+    /**
+     * 根据异常类型判断结果
+     */
+    public static AuthOutcome of(Throwable e) {
+        return e instanceof BusinessException ? REJECTED : ERROR;
+    }
+}
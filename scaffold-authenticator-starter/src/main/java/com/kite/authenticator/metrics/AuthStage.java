@@ -0,0 +1,68 @@
+package com.kite.authenticator.metrics;
+
+/**
+ * 认证流水线阶段
+ *
+ * @author yourname
+ */
+public enum AuthStage {
+
+    /**
+     * 排除路径 / AllowAnonymous 匹配
+     */
+    PATH_MATCH("path_match", AuthOutcome.PERMITTED, AuthOutcome.PROTECTED),
+
+    /**
+     * Token 黑名单检查
+     */
+    BLACKLIST("blacklist", AuthOutcome.SUCCESS, AuthOutcome.REJECTED, AuthOutcome.ERROR),
+
+    /**
+     * JWT 解析与验签（含用户信息反序列化）
+     */
+    TOKEN_VERIFY("token_verify", AuthOutcome.SUCCESS, AuthOutcome.REJECTED, AuthOutcome.ERROR),
+
+    /**
+     * Session 读取
+     */
+    SESSION_LOAD("session_load", AuthOutcome.SUCCESS, AuthOutcome.REJECTED, AuthOutcome.ERROR),
+
+    /**
+     * Session 校验（过期、设备、状态、超时）
+     */
+    SESSION_VALIDATE("session_validate", AuthOutcome.SUCCESS, AuthOutcome.REJECTED, AuthOutcome.ERROR),
+
+    /**
+     * Session 写回（访问时间、续期）
+     */
+    SESSION_WRITE("session_write", AuthOutcome.SUCCESS, AuthOutcome.ERROR),
+
+    /**
+     * 单次 Redis 脚本完成的黑名单检查、Session 读取、校验与写回
+     */
+    SESSION_CHECK("session_check", AuthOutcome.SUCCESS, AuthOutcome.REJECTED, AuthOutcome.ERROR),
+
+    /**
+     * LoginUserContextCustomizer 回调
+     */
+    CONTEXT_CUSTOMIZERS("context_customizers", AuthOutcome.SUCCESS);
+
+    private final String tagValue;
+    private final AuthOutcome[] outcomes;
+
+    AuthStage(String tagValue, AuthOutcome... outcomes) {
+        this.tagValue = tagValue;
+        this.outcomes = outcomes;
+    }
+
+    public String getTagValue() {
+        return tagValue;
+    }
+
+    /**
+     * 该阶段可能出现的结果（指标只为这些组合注册）
+     */
+    public AuthOutcome[] getOutcomes() {
+        return outcomes.clone();
+    }
+}
@@ -0,0 +1,69 @@
+package com.kite.authenticator.metrics;
+
+import com.kite.authenticator.exception.AuthRejection;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基于 Micrometer 的认证流水线指标
+ * 全部 Timer / Counter 在构造时按 阶段 × 结果、拒绝原因 注册并按序号存入数组，
+ * 热路径只做数组下标访问与 {@link Timer#record(long, TimeUnit)}，不创建 Tag 或查找 Meter。
+ * <ul>
+ *     <li>{@code authenticator.stage}：各阶段耗时，标签 stage、outcome</li>
+ *     <li>{@code authenticator.rejections}：认证拒绝次数，标签 reason</li>
+ * </ul>
+ *
+ * @author yourname
+ */
+public class MicrometerAuthMetrics implements AuthMetrics {
+
+    public static final String STAGE_TIMER = "authenticator.stage";
+    public static final String REJECTION_COUNTER = "authenticator.rejections";
+
+    private final Timer[][] timers;
+    private final Counter[] rejections;
+
+    public MicrometerAuthMetrics(MeterRegistry registry) {
+        AuthStage[] stages = AuthStage.values();
+        this.timers = new Timer[stages.length][AuthOutcome.values().length];
+        for (AuthStage stage : stages) {
+            for (AuthOutcome outcome : stage.getOutcomes()) {
+                timers[stage.ordinal()][outcome.ordinal()] = Timer.builder(STAGE_TIMER)
+                        .description("认证流水线各阶段耗时")
+                        .tag("stage", stage.getTagValue())
+                        .tag("outcome", outcome.getTagValue())
+                        .register(registry);
+            }
+        }
+
+        AuthRejection[] reasons = AuthRejection.values();
+        this.rejections = new Counter[reasons.length];
+        for (AuthRejection reason : reasons) {
+            rejections[reason.ordinal()] = Counter.builder(REJECTION_COUNTER)
+                    .description("认证拒绝次数")
+                    .tag("reason", reason.name().toLowerCase())
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public long start() {
+        return System.nanoTime();
+    }
+
+    @Override
+    public void record(AuthStage stage, AuthOutcome outcome, long startNanos) {
+        Timer timer = timers[stage.ordinal()][outcome.ordinal()];
+        if (timer != null) {
+            timer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void rejected(AuthRejection reason) {
+        rejections[reason.ordinal()].increment();
+    }
+}
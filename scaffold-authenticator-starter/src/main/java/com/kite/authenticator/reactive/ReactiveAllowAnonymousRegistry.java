@@ -0,0 +1,70 @@
+package com.kite.authenticator.reactive;
+
+import com.kite.authenticator.annotation.AllowAnonymous;
+import com.kite.authenticator.util.PathPatternTrie;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.reactive.result.method.RequestMappingInfo;
+import org.springframework.web.reactive.result.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.util.pattern.PathPattern;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * WebFlux 版本的匿名接口登记表
+ * 排除路径与 WebFlux 中标记了 {@link AllowAnonymous} 的接口编译为 {@link PathPatternTrie}
+ *
+ * @author yourname
+ */
+public class ReactiveAllowAnonymousRegistry implements ApplicationListener<ContextRefreshedEvent> {
+
+    private final ObjectProvider<List<RequestMappingHandlerMapping>> handlerMappingsProvider;
+    private final List<String> excludePaths;
+    private volatile PathPatternTrie permittedTrie;
+
+    public ReactiveAllowAnonymousRegistry(ObjectProvider<List<RequestMappingHandlerMapping>> handlerMappingsProvider,
+                                          List<String> excludePaths) {
+        this.handlerMappingsProvider = handlerMappingsProvider;
+        this.excludePaths = excludePaths != null ? new ArrayList<>(excludePaths) : Collections.emptyList();
+        this.permittedTrie = new PathPatternTrie().addAll(this.excludePaths);
+    }
+
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        PathPatternTrie trie = new PathPatternTrie().addAll(excludePaths);
+        List<RequestMappingHandlerMapping> handlerMappings =
+                handlerMappingsProvider.getIfAvailable(Collections::emptyList);
+        for (RequestMappingHandlerMapping handlerMapping : handlerMappings) {
+            for (Map.Entry<RequestMappingInfo, HandlerMethod> entry : handlerMapping.getHandlerMethods().entrySet()) {
+                HandlerMethod handlerMethod = entry.getValue();
+                if (!AnnotatedElementUtils.hasAnnotation(handlerMethod.getMethod(), AllowAnonymous.class)
+                        && !AnnotatedElementUtils.hasAnnotation(handlerMethod.getBeanType(), AllowAnonymous.class)) {
+                    continue;
+                }
+                Set<HttpMethod> methods = new HashSet<>();
+                entry.getKey().getMethodsCondition().getMethods()
+                        .forEach(requestMethod -> methods.add(HttpMethod.valueOf(requestMethod.name())));
+                for (PathPattern pattern : entry.getKey().getPatternsCondition().getPatterns()) {
+                    trie.add(pattern.getPatternString(), methods);
+                }
+            }
+        }
+        this.permittedTrie = trie;
+    }
+
+    /**
+     * 判断当前请求是否无需认证（命中排除路径或 AllowAnonymous）
+     */
+    public boolean isPermitted(String path, HttpMethod method) {
+        return permittedTrie.matches(path, method);
+    }
+}
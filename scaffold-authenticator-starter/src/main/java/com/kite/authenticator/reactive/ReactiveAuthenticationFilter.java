@@ -0,0 +1,167 @@
+package com.kite.authenticator.reactive;
+
+import com.kite.authenticator.config.AuthenticatorProperties;
+import com.kite.authenticator.context.LoginUser;
+import com.kite.authenticator.exception.AuthRejection;
+import com.kite.authenticator.exception.AuthenticationException;
+import com.kite.authenticator.token.HostAuthenticationToken;
+import com.kite.authenticator.util.RateLimitedLogger;
+import com.kite.common.exception.BusinessException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 响应式认证过滤器
+ * 与 {@code AuthenticationFilter} 行为一致：排除路径、Mock 模式、Token 提取、设备ID、401 响应格式；
+ * 认证通过后登录用户写入 Reactor Context（见 {@link ReactiveLoginUserContext}），全程不阻塞事件循环线程。
+ *
+ * @author yourname
+ */
+public class ReactiveAuthenticationFilter implements WebFilter, Ordered {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveAuthenticationFilter.class);
+
+    /**
+     * 认证失败日志按原因限流（每种原因每 10 秒最多一条，不记录 Token）
+     */
+    private static final RateLimitedLogger rejectionLogger =
+            new RateLimitedLogger(logger, 10, TimeUnit.SECONDS);
+
+    private final AuthenticatorProperties properties;
+    private final ReactiveSecurityManager securityManager;
+    private final ReactiveAllowAnonymousRegistry allowAnonymousRegistry;
+
+    public ReactiveAuthenticationFilter(AuthenticatorProperties properties,
+                                        ReactiveSecurityManager securityManager,
+                                        ReactiveAllowAnonymousRegistry allowAnonymousRegistry) {
+        this.properties = properties;
+        this.securityManager = securityManager;
+        this.allowAnonymousRegistry = allowAnonymousRegistry;
+    }
+
+    @Override
+    public int getOrder() {
+        return 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String requestPath = request.getPath().pathWithinApplication().value();
+
+        // 检查是否需要排除的路径
+        if (allowAnonymousRegistry.isPermitted(requestPath, request.getMethod())) {
+            return chain.filter(exchange);
+        }
+
+        // Mock 模式（开发环境）
+        if (Boolean.TRUE.equals(properties.getMockEnabled())) {
+            return chain.filter(exchange)
+                    .contextWrite(ReactiveLoginUserContext.withLoginUser(createMockUser()));
+        }
+
+        // 获取 Token
+        String token = extractToken(request);
+        if (token == null || token.isEmpty()) {
+            return reject(exchange.getResponse(), AuthRejection.TOKEN_MISSING.body());
+        }
+
+        HostAuthenticationToken authToken = new HostAuthenticationToken(token, extractDeviceId(request));
+        return securityManager.authenticate(authToken)
+                .onErrorResume(e -> handleError(exchange.getResponse(), e).then(Mono.empty()))
+                .flatMap(loginUser -> chain.filter(exchange)
+                        .contextWrite(ReactiveLoginUserContext.withLoginUser(loginUser)));
+    }
+
+    private Mono<Void> handleError(ServerHttpResponse response, Throwable e) {
+        if (e instanceof AuthenticationException) {
+            AuthRejection reason = ((AuthenticationException) e).getReason();
+            rejectionLogger.warn(reason, "Token 验证失败: {}", reason.getMessage());
+            return reject(response, reason.body());
+        }
+        if (e instanceof BusinessException) {
+            rejectionLogger.warn(BusinessException.class, "Token 验证失败: {}", e.getMessage());
+            return reject(response, AuthRejection.body(e.getMessage()));
+        }
+        logger.error("认证处理异常", e);
+        return reject(response, AuthRejection.AUTHENTICATION_FAILED.body());
+    }
+
+    /**
+     * 写出 401 响应
+     */
+    private Mono<Void> reject(ServerHttpResponse response, byte[] body) {
+        response.setStatusCode(HttpStatus.UNAUTHORIZED);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    /**
+     * 提取设备ID
+     */
+    private String extractDeviceId(ServerHttpRequest request) {
+        // 优先从 Header 中获取
+        String deviceId = request.getHeaders().getFirst("X-Device-Id");
+        if (!StringUtils.isEmpty(deviceId)) {
+            return deviceId;
+        }
+
+        // 从 User-Agent 中提取（简单实现）
+        String userAgent = request.getHeaders().getFirst("User-Agent");
+        if (!StringUtils.isEmpty(userAgent)) {
+            return userAgent.hashCode() + "";
+        }
+
+        // 使用 IP 地址作为设备ID（简单实现）
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        return remoteAddress != null && remoteAddress.getAddress() != null
+                ? remoteAddress.getAddress().getHostAddress()
+                : null;
+    }
+
+    /**
+     * 提取 Token
+     */
+    private String extractToken(ServerHttpRequest request) {
+        String headerName = properties.getTokenHeader();
+        String tokenPrefix = properties.getTokenPrefix();
+
+        // 从 Header 中获取
+        String token = request.getHeaders().getFirst(headerName);
+        if (token == null || token.isEmpty()) {
+            // 从 Cookie 中获取
+            HttpCookie cookie = request.getCookies().getFirst(headerName);
+            token = cookie != null ? cookie.getValue() : null;
+        }
+        if (token != null && token.startsWith(tokenPrefix)) {
+            return token.substring(tokenPrefix.length());
+        }
+        return token;
+    }
+
+    /**
+     * 创建 Mock 用户
+     */
+    private LoginUser createMockUser() {
+        LoginUser mockUser = new LoginUser();
+        mockUser.setUserId(properties.getMockUserId());
+        mockUser.setUsername(properties.getMockUsername());
+        mockUser.setNickname("Mock 用户");
+        mockUser.setExpireAt(System.currentTimeMillis() + properties.getExpireTime());
+        return mockUser;
+    }
+}
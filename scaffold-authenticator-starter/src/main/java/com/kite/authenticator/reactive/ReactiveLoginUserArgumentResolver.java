@@ -0,0 +1,32 @@
+package com.kite.authenticator.reactive;
+
+import com.kite.authenticator.context.LoginUser;
+import com.kite.authenticator.exception.AuthRejection;
+import org.springframework.core.MethodParameter;
+import org.springframework.web.reactive.BindingContext;
+import org.springframework.web.reactive.result.method.HandlerMethodArgumentResolver;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux 版本的 LoginUser 参数解析器
+ * 从 Reactor Context 中读取登录用户注入到 Controller 方法参数
+ *
+ * @author yourname
+ */
+public class ReactiveLoginUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return LoginUser.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Mono<Object> resolveArgument(MethodParameter parameter,
+                                        BindingContext bindingContext,
+                                        ServerWebExchange exchange) {
+        return ReactiveLoginUserContext.getLoginUser()
+                .cast(Object.class)
+                .switchIfEmpty(Mono.error(AuthRejection.NOT_LOGGED_IN.exception()));
+    }
+}
@@ -0,0 +1,45 @@
+package com.kite.authenticator.reactive;
+
+import com.kite.authenticator.context.LoginUser;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * 响应式登录用户上下文
+ * 事件循环线程在请求之间复用，不能使用 ThreadLocal；登录用户存放在 Reactor Context 中，
+ * 由 {@link ReactiveAuthenticationFilter} 写入，下游通过 {@link #getLoginUser()} 读取。
+ *
+ * @author yourname
+ */
+public class ReactiveLoginUserContext {
+
+    private static final Class<LoginUser> CONTEXT_KEY = LoginUser.class;
+
+    /**
+     * 获取当前登录用户（未登录时为空 Mono）
+     */
+    public static Mono<LoginUser> getLoginUser() {
+        return Mono.deferContextual(context -> Mono.justOrEmpty(context.getOrEmpty(CONTEXT_KEY)));
+    }
+
+    /**
+     * 获取当前用户ID
+     */
+    public static Mono<Long> getUserId() {
+        return getLoginUser().mapNotNull(LoginUser::getUserId);
+    }
+
+    /**
+     * 获取当前用户名
+     */
+    public static Mono<String> getUsername() {
+        return getLoginUser().mapNotNull(LoginUser::getUsername);
+    }
+
+    /**
+     * 写入登录用户，用于 {@code contextWrite}
+     */
+    public static Context withLoginUser(LoginUser loginUser) {
+        return Context.of(CONTEXT_KEY, loginUser);
+    }
+}
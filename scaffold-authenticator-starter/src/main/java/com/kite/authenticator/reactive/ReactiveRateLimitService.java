@@ -0,0 +1,92 @@
+package com.kite.authenticator.reactive;
+
+import com.kite.authenticator.enums.RateLimitAlgorithm;
+import com.kite.authenticator.util.IdGenerator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveZSetOperations;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * 响应式限流服务
+ * 算法与 Key 格式和 {@code RateLimitService} 一致，阻塞式与响应式节点共享限流计数
+ *
+ * @author yourname
+ */
+public class ReactiveRateLimitService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveRateLimitService.class);
+
+    private static final String RATE_LIMIT_PREFIX = "rate_limit:";
+    private static final String SLIDING_WINDOW_PREFIX = RATE_LIMIT_PREFIX + "sliding:";
+    private static final String FIXED_WINDOW_PREFIX = RATE_LIMIT_PREFIX + "fixed:";
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+
+    public ReactiveRateLimitService(ReactiveStringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * 检查是否允许请求
+     * Redis 异常时为了不影响业务，允许请求
+     *
+     * @param key 限流Key（如：IP、用户ID、Token等）
+     * @param window 时间窗口（秒）
+     * @param maxRequests 最大请求数
+     * @param algorithm 限流算法
+     * @return true 允许，false 拒绝
+     */
+    public Mono<Boolean> allowRequest(String key, int window, int maxRequests, RateLimitAlgorithm algorithm) {
+        if (key == null || key.isEmpty()) {
+            return Mono.just(true);
+        }
+        Mono<Boolean> allowed = algorithm == RateLimitAlgorithm.SLIDING_WINDOW
+                ? slidingWindowAllow(key, window, maxRequests)
+                : fixedWindowAllow(key, window, maxRequests);
+        return allowed.onErrorResume(e -> {
+            logger.error("限流检查失败，key: {}", key, e);
+            return Mono.just(true);
+        });
+    }
+
+    /**
+     * 滑动窗口算法（Sorted Set）
+     */
+    private Mono<Boolean> slidingWindowAllow(String key, int window, int maxRequests) {
+        String redisKey = SLIDING_WINDOW_PREFIX + key;
+        long currentTime = System.currentTimeMillis();
+        long windowStart = currentTime - (window * 1000L);
+        ReactiveZSetOperations<String, String> zSetOps = redisTemplate.opsForZSet();
+
+        return zSetOps.removeRangeByScore(redisKey, Range.closed(0d, (double) windowStart))
+                .then(zSetOps.count(redisKey, Range.closed((double) windowStart, (double) currentTime)))
+                .flatMap(count -> {
+                    if (count >= maxRequests) {
+                        return Mono.just(false);
+                    }
+                    return zSetOps.add(redisKey, IdGenerator.nextId(), currentTime)
+                            .then(redisTemplate.expire(redisKey, Duration.ofSeconds(window + 1L)))
+                            .thenReturn(true);
+                });
+    }
+
+    /**
+     * 固定窗口算法（计数器 + TTL）
+     */
+    private Mono<Boolean> fixedWindowAllow(String key, int window, int maxRequests) {
+        long currentTime = System.currentTimeMillis() / 1000;
+        long windowStart = (currentTime / window) * window;
+        String redisKey = FIXED_WINDOW_PREFIX + key + ":" + windowStart;
+
+        return redisTemplate.opsForValue().increment(redisKey)
+                .flatMap(count -> count == 1
+                        ? redisTemplate.expire(redisKey, Duration.ofSeconds(window)).thenReturn(count)
+                        : Mono.just(count))
+                .map(count -> count <= maxRequests);
+    }
+}
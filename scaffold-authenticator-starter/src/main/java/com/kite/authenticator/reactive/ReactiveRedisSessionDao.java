@@ -0,0 +1,207 @@
+package com.kite.authenticator.reactive;
+
+import com.kite.authenticator.session.Session;
+import com.kite.authenticator.session.dao.SessionHashMapper;
+import com.kite.authenticator.session.dao.SessionIndexKeys;
+import com.kite.authenticator.session.dao.SessionScripts;
+import com.kite.common.util.JsonUtils;
+import org.springframework.data.redis.connection.DataType;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 基于 ReactiveStringRedisTemplate 的 Session Dao
+ * Key 与存储格式和 {@code RedisSessionDao} 保持一致（每个 Session 一个 Hash，旧版本的 JSON 字符串在读取时迁移），
+ * 阻塞式与响应式节点可以共用同一个 Redis。
+ * Redis Cluster 上与 {@code RedisSessionDao} 相同，每条命令或脚本只访问一个 Key，不维护索引。
+ *
+ * @author yourname
+ */
+public class ReactiveRedisSessionDao implements ReactiveSessionDao {
+
+    private static final String SESSION_KEY_PREFIX = "authc:session:";
+    private static final String USER_SESSIONS_KEY_PREFIX = "authc:user:sessions:";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> LOAD_SCRIPT =
+            SessionScripts.loadWithMigration("META-INF/scripts/session-load.lua", List.class);
+    private static final RedisScript<Long> TOUCH_SCRIPT =
+            SessionScripts.load("META-INF/scripts/session-touch.lua", Long.class);
+    private static final RedisScript<Long> SAVE_SCRIPT =
+            SessionScripts.load("META-INF/scripts/session-save.lua", Long.class);
+    private static final RedisScript<Long> DELETE_SCRIPT =
+            SessionScripts.load("META-INF/scripts/session-delete.lua", Long.class);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+
+    /**
+     * 是否连接 Redis Cluster
+     */
+    private boolean cluster;
+
+    public ReactiveRedisSessionDao(ReactiveStringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+        // 响应式连接只由 Lettuce 提供
+        ReactiveRedisConnectionFactory connectionFactory = redisTemplate.getConnectionFactory();
+        this.cluster = connectionFactory instanceof LettuceConnectionFactory
+                && ((LettuceConnectionFactory) connectionFactory).isClusterAware();
+    }
+
+    /**
+     * 指定是否连接 Redis Cluster（为空时保持根据连接工厂判断的结果）
+     */
+    public void setCluster(Boolean cluster) {
+        if (cluster != null) {
+            this.cluster = cluster;
+        }
+    }
+
+    public boolean isCluster() {
+        return cluster;
+    }
+
+    @Override
+    public Mono<Session> get(String sessionKey) {
+        return redisTemplate.execute(LOAD_SCRIPT, Collections.singletonList(SESSION_KEY_PREFIX + sessionKey))
+                .collectList()
+                .mapNotNull(ReactiveRedisSessionDao::decode);
+    }
+
+    @Override
+    public Mono<Void> update(Session session) {
+        Map<String, String> hash = SessionHashMapper.toHash(session);
+        long ttl = 0;
+        if (session.getExpireAt() != null) {
+            ttl = Math.max(0, session.getExpireAt() - System.currentTimeMillis());
+        }
+        List<String> args = new ArrayList<>(hash.size() * 2 + 5);
+        args.add(String.valueOf(ttl));
+        args.add(JsonUtils.toJsonString(session.getSessionKey()));
+        args.add(session.getSessionKey());
+        args.add(String.valueOf(System.currentTimeMillis()));
+        args.add(SESSION_KEY_PREFIX);
+        for (Map.Entry<String, String> entry : hash.entrySet()) {
+            args.add(entry.getKey());
+            args.add(entry.getValue());
+        }
+        if (cluster) {
+            return saveOnCluster(session, hash, ttl);
+        }
+        return redisTemplate.execute(SAVE_SCRIPT, keysOf(session), args).then();
+    }
+
+    /**
+     * Cluster 上逐条命令写入 Hash、过期时间与用户 Session 集合（不维护索引）
+     */
+    private Mono<Void> saveOnCluster(Session session, Map<String, String> hash, long ttl) {
+        String key = SESSION_KEY_PREFIX + session.getSessionKey();
+        String userSessionsKey = USER_SESSIONS_KEY_PREFIX + session.getUserId();
+        Mono<Void> save = redisTemplate.type(key)
+                // 旧版本写入的 JSON 字符串直接由新的 Hash 替换
+                .flatMap(type -> type == DataType.STRING ? redisTemplate.delete(key) : Mono.just(0L))
+                .then(redisTemplate.opsForHash().putAll(key, hash))
+                .then(redisTemplate.opsForSet().add(userSessionsKey, JsonUtils.toJsonString(session.getSessionKey())))
+                .then();
+        if (ttl <= 0) {
+            return save;
+        }
+        return save.then(redisTemplate.expire(key, Duration.ofMillis(ttl)))
+                .then(extendExpire(userSessionsKey, ttl));
+    }
+
+    /**
+     * 延长 Key 的过期时间（只延长不缩短）
+     */
+    private Mono<Void> extendExpire(String key, long ttl) {
+        if (ttl <= 0) {
+            return Mono.empty();
+        }
+        return redisTemplate.getExpire(key)
+                .defaultIfEmpty(Duration.ZERO)
+                .filter(current -> current.toMillis() < ttl)
+                .flatMap(current -> redisTemplate.expire(key, Duration.ofMillis(ttl)))
+                .then();
+    }
+
+    /**
+     * 只前移访问时间与过期时间（见 META-INF/scripts/session-touch.lua），
+     * 不覆盖状态、不重建已删除的 Session，认证期间发生的踢出、禁用与登出不会被撤销
+     */
+    @Override
+    public Mono<Void> touch(Session session) {
+        long now = System.currentTimeMillis();
+        List<String> args = Arrays.asList(String.valueOf(now),
+                String.valueOf(session.getLastAccessTime() != null ? session.getLastAccessTime() : 0L),
+                String.valueOf(session.getExpireAt() != null ? session.getExpireAt() : 0L));
+        if (cluster) {
+            // 脚本只声明 Session Key，写回后再延长用户 Session 集合的过期时间
+            return redisTemplate.execute(TOUCH_SCRIPT,
+                            Collections.singletonList(SESSION_KEY_PREFIX + session.getSessionKey()), args)
+                    .next()
+                    .filter(written -> written > 0 && session.getExpireAt() != null)
+                    .flatMap(written -> extendExpire(USER_SESSIONS_KEY_PREFIX + session.getUserId(),
+                            session.getExpireAt() - now));
+        }
+        List<String> keys = Arrays.asList(SESSION_KEY_PREFIX + session.getSessionKey(),
+                USER_SESSIONS_KEY_PREFIX + session.getUserId(), SessionIndexKeys.userIndexKey(session.getUserId()));
+        return redisTemplate.execute(TOUCH_SCRIPT, keys, args).then();
+    }
+
+    @Override
+    public Mono<Void> delete(Session session) {
+        if (cluster) {
+            return deleteOnCluster(session);
+        }
+        List<String> keys = SessionIndexKeys.sharedIndexKeys();
+        String statusKeyCount = String.valueOf(keys.size() - 2);
+        keys.add(SESSION_KEY_PREFIX + session.getSessionKey());
+        keys.add(USER_SESSIONS_KEY_PREFIX + session.getUserId());
+        keys.add(SessionIndexKeys.userIndexKey(session.getUserId()));
+        return redisTemplate.execute(DELETE_SCRIPT, keys, Arrays.asList(statusKeyCount,
+                JsonUtils.toJsonString(session.getSessionKey()), session.getSessionKey())).then();
+    }
+
+    /**
+     * Cluster 上逐条命令删除 Hash 并从用户 Session 集合中移除，集合为空时一并删除
+     */
+    private Mono<Void> deleteOnCluster(Session session) {
+        String userSessionsKey = USER_SESSIONS_KEY_PREFIX + session.getUserId();
+        return redisTemplate.delete(SESSION_KEY_PREFIX + session.getSessionKey())
+                .then(redisTemplate.opsForSet().remove(userSessionsKey, JsonUtils.toJsonString(session.getSessionKey())))
+                .then(redisTemplate.opsForSet().size(userSessionsKey))
+                .filter(size -> size == 0)
+                .flatMap(size -> redisTemplate.delete(userSessionsKey))
+                .then();
+    }
+
+    /**
+     * 写入脚本的 KEYS：Session Key、用户 Session 集合 Key 与全部索引 Key
+     */
+    private static List<String> keysOf(Session session) {
+        List<String> keys = new ArrayList<>();
+        keys.add(SESSION_KEY_PREFIX + session.getSessionKey());
+        keys.add(USER_SESSIONS_KEY_PREFIX + session.getUserId());
+        keys.addAll(SessionIndexKeys.indexKeys(session.getUserId()));
+        return keys;
+    }
+
+    /**
+     * 脚本返回 HGETALL 的扁平列表；响应式执行器可能整体发出一个 List，也可能逐个发出元素
+     */
+    private static Session decode(List<?> emitted) {
+        if (emitted.size() == 1 && emitted.get(0) instanceof List) {
+            return SessionHashMapper.fromEntries((List<?>) emitted.get(0), 0);
+        }
+        return SessionHashMapper.fromEntries(emitted, 0);
+    }
+}
@@ -0,0 +1,162 @@
+package com.kite.authenticator.reactive;
+
+import com.kite.authenticator.AuthenticationInfo;
+import com.kite.authenticator.Realm;
+import com.kite.authenticator.Signature;
+import com.kite.authenticator.cache.VerifiedTokenCache;
+import com.kite.authenticator.config.AuthenticatorProperties;
+import com.kite.authenticator.context.LoginUser;
+import com.kite.authenticator.exception.AuthRejection;
+import com.kite.authenticator.revocation.RevocationRegistry;
+import com.kite.authenticator.session.Session;
+import com.kite.authenticator.session.SessionParser;
+import com.kite.authenticator.session.SessionValidator;
+import com.kite.authenticator.signature.VerifiedClaims;
+import com.kite.authenticator.token.HostAuthenticationToken;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Objects;
+
+/**
+ * 响应式安全管理器
+ * 认证流程与 {@code DefaultSecurityManager} 一致，黑名单与 Session 的读写改为非阻塞调用：
+ * 验签为纯计算，在事件循环线程上执行；紧凑格式 Token 需要加载用户信息（可能访问数据库）时切换到 boundedElastic 线程池。
+ *
+ * @author yourname
+ */
+public class ReactiveSecurityManager {
+
+    private final Signature signature;
+    private final Realm realm;
+    private final SessionParser sessionParser;
+    private final AuthenticatorProperties properties;
+    private final ReactiveSessionDao sessionDao;
+    private final ReactiveTokenBlacklistService tokenBlacklistService;
+    private VerifiedTokenCache verifiedTokenCache;
+    private RevocationRegistry revocationRegistry;
+
+    public ReactiveSecurityManager(Realm realm,
+                                   Signature signature,
+                                   SessionParser sessionParser,
+                                   AuthenticatorProperties properties,
+                                   ReactiveSessionDao sessionDao,
+                                   ReactiveTokenBlacklistService tokenBlacklistService) {
+        this.realm = realm;
+        this.signature = signature;
+        this.sessionParser = sessionParser;
+        this.properties = properties;
+        this.sessionDao = sessionDao;
+        this.tokenBlacklistService = tokenBlacklistService;
+    }
+
+    /**
+     * 设置已验证 Token 缓存（可选）
+     */
+    public void setVerifiedTokenCache(VerifiedTokenCache verifiedTokenCache) {
+        this.verifiedTokenCache = verifiedTokenCache;
+    }
+
+    /**
+     * 设置撤销登记表（设置后启用无状态验证：认证时不读写 Redis Session）
+     */
+    public void setRevocationRegistry(RevocationRegistry revocationRegistry) {
+        this.revocationRegistry = revocationRegistry;
+    }
+
+    /**
+     * 认证
+     *
+     * @param token 认证令牌
+     * @return 登录用户（认证失败时为 AuthenticationException 错误信号）
+     */
+    public Mono<LoginUser> authenticate(HostAuthenticationToken token) {
+        boolean accessTokenMode = Boolean.TRUE.equals(properties.getRefreshToken().getEnabled());
+
+        // 0. 检查 Token 黑名单（令牌对模式下仅在无状态模式时检查）
+        Mono<Boolean> blacklisted = tokenBlacklistService != null && (!accessTokenMode || revocationRegistry != null)
+                ? tokenBlacklistService.isBlacklisted(token.getCredential())
+                : Mono.just(false);
+
+        return blacklisted.flatMap(revoked -> {
+            if (revoked) {
+                return Mono.error(AuthRejection.TOKEN_REVOKED.exception());
+            }
+
+            // 1. 验证 Token
+            VerifiedClaims verifiedClaims = verify(token.getCredential());
+            if (verifiedClaims.isRefreshToken()) {
+                return Mono.error(AuthRejection.REFRESH_TOKEN_NOT_ALLOWED.exception());
+            }
+            token.setVerifiedClaims(verifiedClaims);
+
+            // 2. 从 Realm 获取认证信息
+            return loadUser(token, verifiedClaims)
+                    .flatMap(loginUser -> validate(token, verifiedClaims, loginUser, accessTokenMode));
+        });
+    }
+
+    private VerifiedClaims verify(String credential) {
+        String secret = properties.getSecret();
+        return verifiedTokenCache != null
+                ? verifiedTokenCache.get(credential, c -> signature.verifyClaims(c, secret))
+                : signature.verifyClaims(credential, secret);
+    }
+
+    private Mono<LoginUser> loadUser(HostAuthenticationToken token, VerifiedClaims verifiedClaims) {
+        Mono<LoginUser> loginUser = Mono.fromCallable(() -> {
+            AuthenticationInfo authenticationInfo = realm.getAuthenticationInfo(token);
+            if (authenticationInfo == null || authenticationInfo.getUser() == null) {
+                throw AuthRejection.AUTHENTICATION_FAILED.exception();
+            }
+            return authenticationInfo.getUser();
+        });
+        // 完整格式 Token 自带用户信息，无需切换线程
+        return verifiedClaims.isCompact() ? loginUser.subscribeOn(Schedulers.boundedElastic()) : loginUser;
+    }
+
+    private Mono<LoginUser> validate(HostAuthenticationToken token, VerifiedClaims verifiedClaims,
+                                     LoginUser loginUser, boolean accessTokenMode) {
+        boolean validateDevice = !Boolean.FALSE.equals(properties.getValidateHost());
+        String sessionKey = verifiedClaims.getSessionKey();
+
+        // 3. 无状态验证：只查询本地撤销登记表
+        if (revocationRegistry != null) {
+            revocationRegistry.check(verifiedClaims);
+            if (validateDevice && sessionKey != null
+                    && !Objects.equals(sessionParser.extractDeviceId(sessionKey), token.getHost())) {
+                return Mono.error(AuthRejection.DEVICE_MISMATCH.exception());
+            }
+            return Mono.just(loginUser);
+        }
+
+        // 3. 令牌对模式：Access Token 只做本地验签
+        if (accessTokenMode || sessionDao == null || sessionKey == null || sessionKey.isEmpty()) {
+            return Mono.just(loginUser);
+        }
+
+        // 3. Session 验证
+        return sessionDao.get(sessionKey)
+                .switchIfEmpty(Mono.error(AuthRejection.SESSION_NOT_FOUND.exception()))
+                .flatMap(session -> {
+                    SessionValidator.validate(session, token.getHost(), properties.getSessionTimeout(),
+                            validateDevice, !Boolean.FALSE.equals(properties.getValidateStatus()));
+                    return renew(session);
+                })
+                .thenReturn(loginUser);
+    }
+
+    /**
+     * 更新访问时间并续期（只写回这两个字段，不覆盖并发的踢出、禁用与登出）
+     */
+    private Mono<Void> renew(Session session) {
+        session.touch();
+        if (!Boolean.FALSE.equals(properties.getRenewal())) {
+            Long renewalInterval = properties.getRenewalInterval();
+            if (renewalInterval != null) {
+                session.renewal(renewalInterval);
+            }
+        }
+        return sessionDao.touch(session);
+    }
+}
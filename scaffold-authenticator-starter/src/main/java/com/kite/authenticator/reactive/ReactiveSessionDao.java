@@ -0,0 +1,36 @@
+package com.kite.authenticator.reactive;
+
+import com.kite.authenticator.session.Session;
+import reactor.core.publisher.Mono;
+
+/**
+ * 响应式 Session Dao
+ * 只包含认证热路径需要的操作；登录、踢出等管理操作仍使用阻塞式 {@code SessionDao}，两者读写同一份数据
+ *
+ * @author yourname
+ */
+public interface ReactiveSessionDao {
+
+    /**
+     * 获取 Session（不存在时为空 Mono）
+     */
+    Mono<Session> get(String sessionKey);
+
+    /**
+     * 更新 Session
+     */
+    Mono<Void> update(Session session);
+
+    /**
+     * 写回 Session 的访问时间与过期时间
+     * 默认整体更新；实现可以只更新这两个字段，避免覆盖其他节点对状态的修改
+     */
+    default Mono<Void> touch(Session session) {
+        return update(session);
+    }
+
+    /**
+     * 删除 Session
+     */
+    Mono<Void> delete(Session session);
+}
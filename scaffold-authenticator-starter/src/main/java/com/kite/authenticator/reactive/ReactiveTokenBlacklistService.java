@@ -0,0 +1,76 @@
+package com.kite.authenticator.reactive;
+
+import com.kite.authenticator.revocation.RevocationRegistry;
+import com.kite.authenticator.util.TokenHashUtils;
+import com.kite.common.util.JsonUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * 响应式 Token 黑名单服务
+ * Key 格式与 {@code TokenBlacklistService} 一致；配置撤销登记表（无状态模式）时只查询本地内存
+ *
+ * @author yourname
+ */
+public class ReactiveTokenBlacklistService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveTokenBlacklistService.class);
+
+    private static final String BLACKLIST_KEY_PREFIX = "authc:blacklist:";
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+
+    /**
+     * 撤销登记表（可选）
+     */
+    private RevocationRegistry revocationRegistry;
+
+    public ReactiveTokenBlacklistService(ReactiveStringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    public void setRevocationRegistry(RevocationRegistry revocationRegistry) {
+        this.revocationRegistry = revocationRegistry;
+    }
+
+    /**
+     * 检查 Token 是否在黑名单中
+     * Redis 异常时为了安全起见返回 true（拒绝访问）
+     */
+    public Mono<Boolean> isBlacklisted(String token) {
+        if (token == null || token.isEmpty()) {
+            return Mono.just(false);
+        }
+        String tokenHash = TokenHashUtils.sha256Hex(token);
+        if (revocationRegistry != null) {
+            return Mono.just(revocationRegistry.isTokenRevoked(tokenHash));
+        }
+        return redisTemplate.hasKey(BLACKLIST_KEY_PREFIX + tokenHash)
+                .map(Boolean.TRUE::equals)
+                .onErrorResume(e -> {
+                    logger.error("检查 Token 黑名单失败", e);
+                    return Mono.just(true);
+                });
+    }
+
+    /**
+     * 将 Token 加入黑名单
+     *
+     * @param token Token
+     * @param ttl 黑名单有效期（应等于 Token 剩余有效期）
+     */
+    public Mono<Boolean> blacklistToken(String token, Duration ttl) {
+        if (token == null || token.isEmpty() || ttl == null || ttl.isNegative() || ttl.isZero()) {
+            return Mono.just(false);
+        }
+        String tokenHash = TokenHashUtils.sha256Hex(token);
+        if (revocationRegistry != null) {
+            revocationRegistry.revokeToken(tokenHash, System.currentTimeMillis());
+        }
+        return redisTemplate.opsForValue().set(BLACKLIST_KEY_PREFIX + tokenHash, JsonUtils.toJsonString("1"), ttl);
+    }
+}
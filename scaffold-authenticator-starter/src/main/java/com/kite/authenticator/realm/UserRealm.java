@@ -3,8 +3,11 @@ package com.kite.authenticator.realm;
 import com.kite.authenticator.AuthenticationInfo;
 import com.kite.authenticator.AuthenticationToken;
 import com.kite.authenticator.Realm;
+import com.kite.authenticator.Signature;
+import com.kite.authenticator.cache.LoginUserCache;
 import com.kite.authenticator.context.LoginUser;
 import com.kite.authenticator.service.AuthenticationService;
+import com.kite.authenticator.signature.VerifiedClaims;
 import com.kite.authenticator.util.JwtUtils;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,6 +26,12 @@ public class UserRealm implements Realm {
     @Autowired(required = false)
     private AuthenticationService authenticationService;
     
+    @Autowired(required = false)
+    private LoginUserCache loginUserCache;
+    
+    @Autowired(required = false)
+    private Signature signature;
+    
     @Value("${kite.auth.secret:}")
     private String jwtSecret;
     
@@ -37,6 +46,14 @@ public class UserRealm implements Realm {
         this.jwtSecret = jwtSecret;
     }
     
+    public void setSignature(Signature signature) {
+        this.signature = signature;
+    }
+    
+    public void setLoginUserCache(LoginUserCache loginUserCache) {
+        this.loginUserCache = loginUserCache;
+    }
+    
     @Override
     public boolean support(AuthenticationToken token) {
         return token instanceof com.kite.authenticator.token.HostAuthenticationToken;
@@ -57,8 +74,17 @@ public class UserRealm implements Realm {
         }
         
         try {
-            // 从 Token 中解析用户信息
-            LoginUser loginUser = JwtUtils.parseToken(tokenStr, jwtSecret);
+            // 优先复用认证流程中已验证的声明，避免重复验签与反序列化
+            VerifiedClaims verifiedClaims = hostToken.getVerifiedClaims();
+            if (verifiedClaims == null) {
+                verifiedClaims = signature != null
+                        ? signature.verifyClaims(tokenStr, jwtSecret)
+                        : JwtUtils.verify(tokenStr, jwtSecret);
+            }
+            // 已验证声明可能被缓存并在请求间共享，返回副本
+            LoginUser loginUser = verifiedClaims.isCompact()
+                    ? loadUser(verifiedClaims)
+                    : copyOf(verifiedClaims.getLoginUser());
             
             return new AuthenticationInfo() {
                 @Override
@@ -76,5 +102,25 @@ public class UserRealm implements Realm {
             return null;
         }
     }
+    
+    /**
+     * 紧凑格式 Token：按用户ID从本地缓存加载 LoginUser（未配置缓存时直接查询业务层）
+     */
+    private LoginUser loadUser(VerifiedClaims verifiedClaims) {
+        if (loginUserCache != null) {
+            return loginUserCache.get(verifiedClaims);
+        }
+        if (authenticationService == null) {
+            return null;
+        }
+        LoginUser loginUser = authenticationService.getUserById(verifiedClaims.getUserId());
+        if (loginUser != null) {
+            loginUser.setExpireAt(verifiedClaims.getExpireAt());
+        }
+        return loginUser;
+    }
+    
+    private static LoginUser copyOf(LoginUser loginUser) {
+        return loginUser != null ? loginUser.copy() : null;
+    }
 }
-
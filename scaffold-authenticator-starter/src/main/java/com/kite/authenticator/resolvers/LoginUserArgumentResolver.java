@@ -2,8 +2,7 @@ package com.kite.authenticator.resolvers;
 
 import com.kite.authenticator.context.LoginUser;
 import com.kite.authenticator.context.LoginUserContext;
-import com.kite.common.exception.BusinessException;
-import com.kite.common.response.ResultCode;
+import com.kite.authenticator.exception.AuthRejection;
 import org.springframework.core.MethodParameter;
 import org.springframework.web.bind.support.WebDataBinderFactory;
 import org.springframework.web.context.request.NativeWebRequest;
@@ -30,7 +29,7 @@ public class LoginUserArgumentResolver implements HandlerMethodArgumentResolver
                                   WebDataBinderFactory binderFactory) throws Exception {
         LoginUser loginUser = LoginUserContext.getLoginUser();
         if (loginUser == null) {
-            throw new BusinessException(ResultCode.UNAUTHORIZED.getCode(), "用户未登录");
+            throw AuthRejection.NOT_LOGGED_IN.exception();
         }
         return loginUser;
     }
@@ -0,0 +1,143 @@
+package com.kite.authenticator.revocation;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基于 Redis 的撤销记录广播器
+ * 撤销记录写入带过期时间的 Key（供新节点启动与定期全量同步），同时通过 Pub/Sub 实时推送到所有节点。
+ * Pub/Sub 消息丢失（如网络抖动）时，由定期全量同步兜底，撤销生效延迟不超过同步间隔。
+ *
+ * @author yourname
+ */
+public class RedisRevocationBroadcaster implements RevocationBroadcaster, MessageListener,
+        InitializingBean, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(RedisRevocationBroadcaster.class);
+
+    private static final String CHANNEL = "authc:revocation";
+    private static final String KEY_PREFIX = "authc:revocation:";
+
+    private final RedisConnectionFactory connectionFactory;
+    private final StringRedisTemplate redisTemplate;
+    private final RevocationRegistry registry;
+    private final long retentionMillis;
+    private final long resyncIntervalMillis;
+
+    private RedisMessageListenerContainer container;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param connectionFactory Redis 连接工厂
+     * @param registry 本地撤销登记表
+     * @param retentionMillis 记录保留时长（毫秒）
+     * @param resyncIntervalMillis 全量同步间隔（毫秒），小于等于 0 时只在启动时同步
+     */
+    public RedisRevocationBroadcaster(RedisConnectionFactory connectionFactory, RevocationRegistry registry,
+                                      long retentionMillis, long resyncIntervalMillis) {
+        this.connectionFactory = connectionFactory;
+        this.redisTemplate = new StringRedisTemplate(connectionFactory);
+        this.registry = registry;
+        this.retentionMillis = retentionMillis;
+        this.resyncIntervalMillis = resyncIntervalMillis;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(this, new ChannelTopic(CHANNEL));
+        container.afterPropertiesSet();
+        container.start();
+
+        registry.setBroadcaster(this);
+        resync();
+
+        if (resyncIntervalMillis > 0) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "authc-revocation-resync");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleWithFixedDelay(this::resync, resyncIntervalMillis, resyncIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        registry.setBroadcaster(null);
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        if (container != null) {
+            container.destroy();
+        }
+    }
+
+    @Override
+    public void broadcast(Revocation revocation) {
+        String value = revocation.encode();
+        if (revocation.isLifted()) {
+            redisTemplate.delete(keyOf(revocation));
+        } else {
+            redisTemplate.opsForValue().set(keyOf(revocation), value, retentionMillis, TimeUnit.MILLISECONDS);
+        }
+        redisTemplate.convertAndSend(CHANNEL, value);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        registry.apply(Revocation.decode(new String(message.getBody(), StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * 从 Redis 全量同步撤销记录（SCAN，不阻塞 Redis）
+     */
+    public void resync() {
+        try {
+            List<String> keys = redisTemplate.execute((RedisCallback<List<String>>) connection -> {
+                List<String> result = new ArrayList<>();
+                ScanOptions options = ScanOptions.scanOptions().match(KEY_PREFIX + "*").count(500).build();
+                try (Cursor<byte[]> cursor = connection.scan(options)) {
+                    while (cursor.hasNext()) {
+                        result.add(new String(cursor.next(), StandardCharsets.UTF_8));
+                    }
+                }
+                return result;
+            });
+            if (keys == null || keys.isEmpty()) {
+                return;
+            }
+            List<String> values = redisTemplate.opsForValue().multiGet(keys);
+            if (values != null) {
+                values.forEach(value -> registry.apply(Revocation.decode(value)));
+            }
+            logger.debug("撤销记录全量同步完成: {} 条", keys.size());
+        } catch (Exception e) {
+            logger.warn("撤销记录全量同步失败: {}", e.getMessage());
+        }
+    }
+
+    private static String keyOf(Revocation revocation) {
+        return KEY_PREFIX + revocation.getScope().name().toLowerCase() + ":" + revocation.getSubject();
+    }
+}
@@ -0,0 +1,101 @@
+package com.kite.authenticator.revocation;
+
+import com.kite.authenticator.session.enums.UserStatus;
+
+/**
+ * 撤销记录
+ * 用户级记录表示该用户在 revokedAt 之前签发的 Token 全部失效（踢出、禁用）；
+ * Session 级记录表示携带该 SessionKey 的 Token 全部失效（设备踢出、退出登录）；
+ * Token 级记录对应黑名单（subject 为 Token 指纹）。状态为 NORMAL 的记录表示解除撤销。
+ *
+ * @author yourname
+ */
+public class Revocation {
+
+    /**
+     * 记录类型
+     */
+    public enum Scope {
+        USER, SESSION, TOKEN
+    }
+
+    private static final char SEPARATOR = '|';
+
+    private final Scope scope;
+    private final String subject;
+    private final UserStatus status;
+    private final long revokedAt;
+
+    public Revocation(Scope scope, String subject, UserStatus status, long revokedAt) {
+        this.scope = scope;
+        this.subject = subject;
+        this.status = status;
+        this.revokedAt = revokedAt;
+    }
+
+    public static Revocation user(Long userId, UserStatus status, long revokedAt) {
+        return new Revocation(Scope.USER, String.valueOf(userId), status, revokedAt);
+    }
+
+    public static Revocation session(String sessionKey, UserStatus status, long revokedAt) {
+        return new Revocation(Scope.SESSION, sessionKey, status, revokedAt);
+    }
+
+    public static Revocation token(String tokenHash, long revokedAt) {
+        return new Revocation(Scope.TOKEN, tokenHash, null, revokedAt);
+    }
+
+    /**
+     * 是否为解除撤销记录
+     */
+    public boolean isLifted() {
+        return status == UserStatus.NORMAL;
+    }
+
+    public Scope getScope() {
+        return scope;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    /**
+     * 撤销原因，退出登录与黑名单时为 null
+     */
+    public UserStatus getStatus() {
+        return status;
+    }
+
+    public long getRevokedAt() {
+        return revokedAt;
+    }
+
+    /**
+     * 编码为跨节点传输格式：scope|status|revokedAt|subject（subject 放最后，允许包含分隔符）
+     */
+    public String encode() {
+        return scope.name() + SEPARATOR + (status != null ? status.getCode() : "") + SEPARATOR
+                + revokedAt + SEPARATOR + subject;
+    }
+
+    /**
+     * 解析跨节点传输格式，格式错误时返回 null
+     */
+    public static Revocation decode(String value) {
+        if (value == null) {
+            return null;
+        }
+        String[] parts = value.split("\\|", 4);
+        if (parts.length != 4) {
+            return null;
+        }
+        try {
+            Scope scope = Scope.valueOf(parts[0]);
+            UserStatus status = parts[1].isEmpty() ? null : UserStatus.fromCode(Integer.valueOf(parts[1]));
+            return new Revocation(scope, parts[3], status, Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
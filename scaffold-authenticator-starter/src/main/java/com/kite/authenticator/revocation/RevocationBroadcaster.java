@@ -0,0 +1,17 @@
+package com.kite.authenticator.revocation;
+
+/**
+ * 撤销记录广播器
+ * 将本节点登记的撤销记录推送到其他节点
+ *
+ * @author yourname
+ */
+public interface RevocationBroadcaster {
+
+    /**
+     * 广播撤销记录
+     *
+     * @param revocation 撤销记录
+     */
+    void broadcast(Revocation revocation);
+}
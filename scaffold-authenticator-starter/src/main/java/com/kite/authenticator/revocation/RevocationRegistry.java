@@ -0,0 +1,209 @@
+package com.kite.authenticator.revocation;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kite.authenticator.exception.AuthRejection;
+import com.kite.authenticator.session.Session;
+import com.kite.authenticator.session.SessionListener;
+import com.kite.authenticator.session.enums.UserStatus;
+import com.kite.authenticator.signature.VerifiedClaims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 撤销登记表（无状态验证模式）
+ * 在本地内存中维护按用户的"撤销时间点"、按 Session 的撤销标记与 Token 黑名单，
+ * 认证热路径只做本地查询，不访问 Redis。
+ * <p>
+ * 本节点的踢出、禁用、退出登录通过 {@link SessionListener} 回调登记，黑名单由 TokenBlacklistService 登记，
+ * 并经 {@link RevocationBroadcaster} 推送到其他节点；记录保留时长等于 Token 有效期，超过后旧 Token 已自然过期。
+ *
+ * @author yourname
+ */
+public class RevocationRegistry implements SessionListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(RevocationRegistry.class);
+
+    private final Cache<Long, Revocation> users;
+    private final Cache<String, Revocation> sessions;
+    private final Cache<String, Revocation> tokens;
+
+    /**
+     * 跨节点广播器（可选，未设置时只在本节点生效）
+     */
+    private volatile RevocationBroadcaster broadcaster;
+
+    /**
+     * @param retentionMillis 记录保留时长（毫秒），应不小于 Token 有效期
+     */
+    public RevocationRegistry(long retentionMillis) {
+        this.users = Caffeine.newBuilder()
+                .expireAfterWrite(retentionMillis, TimeUnit.MILLISECONDS)
+                .build();
+        this.sessions = Caffeine.newBuilder()
+                .expireAfterWrite(retentionMillis, TimeUnit.MILLISECONDS)
+                .build();
+        this.tokens = Caffeine.newBuilder()
+                .expireAfterWrite(retentionMillis, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    public void setBroadcaster(RevocationBroadcaster broadcaster) {
+        this.broadcaster = broadcaster;
+    }
+
+    /**
+     * 撤销用户在 revokedAt 之前签发的全部 Token
+     */
+    public void revokeUser(Long userId, UserStatus status, long revokedAt) {
+        if (userId == null) {
+            return;
+        }
+        publish(Revocation.user(userId, status, revokedAt));
+    }
+
+    /**
+     * 撤销携带指定 SessionKey 的全部 Token
+     */
+    public void revokeSession(String sessionKey, UserStatus status, long revokedAt) {
+        if (sessionKey == null || sessionKey.isEmpty()) {
+            return;
+        }
+        publish(Revocation.session(sessionKey, status, revokedAt));
+    }
+
+    /**
+     * 撤销指定 Token（加入黑名单）
+     *
+     * @param tokenHash Token 指纹
+     */
+    public void revokeToken(String tokenHash, long revokedAt) {
+        if (tokenHash == null) {
+            return;
+        }
+        publish(Revocation.token(tokenHash, revokedAt));
+    }
+
+    /**
+     * 解除指定 Token 的撤销（移出黑名单）
+     *
+     * @param tokenHash Token 指纹
+     */
+    public void restoreToken(String tokenHash) {
+        if (tokenHash == null) {
+            return;
+        }
+        publish(new Revocation(Revocation.Scope.TOKEN, tokenHash, UserStatus.NORMAL, System.currentTimeMillis()));
+    }
+
+    /**
+     * 指定 Token 是否已被撤销（黑名单）
+     *
+     * @param tokenHash Token 指纹
+     */
+    public boolean isTokenRevoked(String tokenHash) {
+        return tokens.getIfPresent(tokenHash) != null;
+    }
+
+    /**
+     * 应用撤销记录（本地登记或接收其他节点推送）
+     */
+    public void apply(Revocation revocation) {
+        if (revocation == null) {
+            return;
+        }
+        switch (revocation.getScope()) {
+            case USER:
+                Long userId;
+                try {
+                    userId = Long.valueOf(revocation.getSubject());
+                } catch (NumberFormatException e) {
+                    return;
+                }
+                merge(users, userId, revocation);
+                break;
+            case SESSION:
+                merge(sessions, revocation.getSubject(), revocation);
+                break;
+            default:
+                merge(tokens, revocation.getSubject(), revocation);
+                break;
+        }
+    }
+
+    /**
+     * 同一对象只保留最新的记录，解除记录删除条目
+     */
+    private static <K> void merge(Cache<K, Revocation> cache, K key, Revocation incoming) {
+        cache.asMap().compute(key, (k, current) -> {
+            if (current != null && current.getRevokedAt() > incoming.getRevokedAt()) {
+                return current;
+            }
+            return incoming.isLifted() ? null : incoming;
+        });
+    }
+
+    /**
+     * 检查 Token 是否已被撤销
+     * 用户级记录按签发时间比较（JWT iat 精度为秒，同一秒内签发的 Token 视为已撤销）
+     *
+     * @param claims 已验证的声明
+     * @throws com.kite.authenticator.exception.AuthenticationException Token 已被撤销
+     */
+    public void check(VerifiedClaims claims) {
+        String sessionKey = claims.getSessionKey();
+        if (sessionKey != null) {
+            Revocation revocation = sessions.getIfPresent(sessionKey);
+            if (revocation != null) {
+                throw AuthRejection.of(revocation.getStatus()).exception();
+            }
+        }
+        Long userId = claims.getUserId();
+        if (userId != null) {
+            Revocation revocation = users.getIfPresent(userId);
+            if (revocation != null) {
+                Long issuedAt = claims.getIssuedAt();
+                if (issuedAt == null || issuedAt <= revocation.getRevokedAt()) {
+                    throw AuthRejection.of(revocation.getStatus()).exception();
+                }
+            }
+        }
+    }
+
+    /**
+     * 当前记录数
+     */
+    public long size() {
+        return users.estimatedSize() + sessions.estimatedSize() + tokens.estimatedSize();
+    }
+
+    @Override
+    public void onStatusChanged(Session session, UserStatus status) {
+        long revokedAt = session.getOperateAt() != null ? session.getOperateAt() : System.currentTimeMillis();
+        if (status == UserStatus.DEVICE_KICK_OUT) {
+            revokeSession(session.getSessionKey(), status, revokedAt);
+        } else {
+            revokeUser(session.getUserId(), status, revokedAt);
+        }
+    }
+
+    @Override
+    public void onDeleted(Session session) {
+        revokeSession(session.getSessionKey(), null, System.currentTimeMillis());
+    }
+
+    private void publish(Revocation revocation) {
+        apply(revocation);
+        RevocationBroadcaster current = broadcaster;
+        if (current != null) {
+            try {
+                current.broadcast(revocation);
+            } catch (Exception e) {
+                // 广播失败时其他节点依赖定期全量同步补齐
+                logger.warn("撤销记录广播失败: {}", e.getMessage());
+            }
+        }
+    }
+}
@@ -1,12 +1,14 @@
 package com.kite.authenticator.service;
 
 import com.kite.authenticator.enums.RateLimitAlgorithm;
+import com.kite.authenticator.jfr.JfrEvents;
+import com.kite.authenticator.jfr.RateLimitEvent;
+import com.kite.authenticator.util.IdGenerator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ZSetOperations;
 
-import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -43,14 +45,23 @@ public class RateLimitService {
             return true; // key为空，不限制
         }
         
+        RateLimitEvent event = JfrEvents.rateLimit();
         try {
+            boolean allowed;
             if (algorithm == RateLimitAlgorithm.SLIDING_WINDOW) {
-                return slidingWindowAllow(key, window, maxRequests);
+                allowed = slidingWindowAllow(key, window, maxRequests);
             } else {
-                return fixedWindowAllow(key, window, maxRequests);
+                allowed = fixedWindowAllow(key, window, maxRequests);
             }
+            if (event != null) {
+                event.finish(allowed ? "allowed" : "limited", String.valueOf(algorithm), window, maxRequests, key.length());
+            }
+            return allowed;
         } catch (Exception e) {
             logger.error("限流检查失败，key: {}", key, e);
+            if (event != null) {
+                event.finish("error", String.valueOf(algorithm), window, maxRequests, key.length());
+            }
             // 发生异常时，为了不影响业务，允许请求
             return true;
         }
@@ -78,8 +89,8 @@ public class RateLimitService {
         
         // 3. 如果未超过限制，添加新记录
         if (count < maxRequests) {
-            // 添加当前请求记录（score为当前时间戳，member为UUID）
-            zSetOps.add(redisKey, UUID.randomUUID().toString(), currentTime);
+            // 添加当前请求记录（score为当前时间戳，member为随机ID）
+            zSetOps.add(redisKey, IdGenerator.nextId(), currentTime);
             // 设置过期时间（窗口时间 + 1秒，确保数据清理）
             redisTemplate.expire(redisKey, window + 1, TimeUnit.SECONDS);
             return true;
@@ -2,6 +2,8 @@ package com.kite.authenticator.service;
 
 
 import com.kite.authenticator.session.Session;
+import com.kite.authenticator.session.SessionPage;
+import com.kite.common.util.PageResult;
 
 import java.util.List;
 import java.util.Set;
@@ -52,6 +54,26 @@ public interface SessionManagementService {
      */
     List<Session> listAllSessions();
     
+    /**
+     * 分页扫描 Session（基于 SCAN 游标，不阻塞 Redis）
+     * 
+     * @param cursor 游标，首次传 {@link SessionPage#START}
+     * @param count 每页数量（提示值，实际返回数量可能多于或少于该值）
+     * @return 本页 Session 与下一页游标，游标回到 {@link SessionPage#START} 时扫描结束
+     */
+    SessionPage scanSessions(String cursor, int count);
+    
+    /**
+     * 按最后操作时间倒序分页查询 Session（由存储端索引完成过滤、排序与分页）
+     * 
+     * @param userId 用户ID（为空时不过滤）
+     * @param status Session 状态（为空时不过滤）
+     * @param pageNum 页码（从 1 开始）
+     * @param pageSize 每页数量
+     * @return 分页结果
+     */
+    PageResult<Session> pageSessions(Long userId, Integer status, int pageNum, int pageSize);
+    
     /**
      * 禁用用户（禁用所有 Session）
      * 
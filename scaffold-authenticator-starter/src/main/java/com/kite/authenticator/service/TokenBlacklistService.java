@@ -1,6 +1,12 @@
 package com.kite.authenticator.service;
 
+import com.kite.authenticator.Signature;
+import com.kite.authenticator.cache.VerifiedTokenCache;
+import com.kite.authenticator.jfr.BlacklistCheckEvent;
+import com.kite.authenticator.jfr.JfrEvents;
+import com.kite.authenticator.revocation.RevocationRegistry;
 import com.kite.authenticator.util.JwtUtils;
+import com.kite.authenticator.util.TokenHashUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.data.redis.core.RedisTemplate;
@@ -24,11 +30,38 @@ public class TokenBlacklistService {
     private final RedisTemplate<String, Object> redisTemplate;
     private final String jwtSecret;
     
+    /**
+     * 签名实现（可选），用于解析 Token 过期时间，未设置时按 HMAC 密钥解析
+     */
+    private Signature signature;
+    
+    /**
+     * 撤销登记表（无状态模式），设置后黑名单检查只查询本地登记表
+     */
+    private RevocationRegistry revocationRegistry;
+    
+    /**
+     * 已验证 Token 缓存（可选），加入黑名单时同步清除
+     */
+    private VerifiedTokenCache verifiedTokenCache;
+    
     public TokenBlacklistService(RedisTemplate<String, Object> redisTemplate, String jwtSecret) {
         this.redisTemplate = redisTemplate;
         this.jwtSecret = jwtSecret;
     }
     
+    public void setSignature(Signature signature) {
+        this.signature = signature;
+    }
+    
+    public void setRevocationRegistry(RevocationRegistry revocationRegistry) {
+        this.revocationRegistry = revocationRegistry;
+    }
+    
+    public void setVerifiedTokenCache(VerifiedTokenCache verifiedTokenCache) {
+        this.verifiedTokenCache = verifiedTokenCache;
+    }
+    
     /**
      * 将 Token 加入黑名单（安全事件）
      * 
@@ -41,6 +74,11 @@ public class TokenBlacklistService {
             return;
         }
         
+        // 立即清除本地验签缓存，避免已撤销的 Token 继续命中缓存
+        if (verifiedTokenCache != null) {
+            verifiedTokenCache.invalidate(token);
+        }
+        
         try {
             // 使用 Token 的哈希值作为 key（避免存储完整 Token）
             String tokenHash = generateTokenHash(token);
@@ -48,9 +86,9 @@ public class TokenBlacklistService {
             
             // 如果没有指定过期时间，尝试从 Token 中获取
             if (expireTimeMillis == null) {
-                Date expirationDate = JwtUtils.getExpirationDate(token, jwtSecret);
-                if (expirationDate != null) {
-                    long remainingTime = expirationDate.getTime() - System.currentTimeMillis();
+                Long expireAt = getExpireAt(token);
+                if (expireAt != null) {
+                    long remainingTime = expireAt - System.currentTimeMillis();
                     if (remainingTime > 0) {
                         expireTimeMillis = remainingTime;
                     } else {
@@ -73,6 +111,11 @@ public class TokenBlacklistService {
                 redisTemplate.opsForValue().set(reasonKey, reason, expireTimeMillis, TimeUnit.MILLISECONDS);
             }
             
+            // 无状态模式：登记并广播到所有节点
+            if (revocationRegistry != null) {
+                revocationRegistry.revokeToken(tokenHash, System.currentTimeMillis());
+            }
+            
             logger.warn("Token 已加入黑名单，原因: {}, 过期时间: {} 毫秒", reason != null ? reason : "未指定", expireTimeMillis);
             
         } catch (Exception e) {
@@ -80,6 +123,44 @@ public class TokenBlacklistService {
         }
     }
     
+    /**
+     * 原子认领一次性 Token（如 Refresh Token）：黑名单中不存在时写入（SET NX PX），已存在时认领失败
+     * 并发重放同一 Token 时只有一个请求能认领成功。Redis 异常原样抛出，由调用方拒绝请求（失败即关闭）。
+     * 
+     * @param token Token 字符串
+     * @param reason 加入黑名单的原因
+     * @param expireTimeMillis 黑名单记录的保留时长（毫秒），应不短于 Token 的剩余有效期
+     * @return true 认领成功；false Token 已在黑名单中（已被使用或已撤销）
+     */
+    public boolean claimToken(String token, String reason, long expireTimeMillis) {
+        if (token == null || token.isEmpty()) {
+            return false;
+        }
+        String tokenHash = generateTokenHash(token);
+        long ttl = Math.max(1L, expireTimeMillis);
+        Boolean claimed = redisTemplate.opsForValue()
+                .setIfAbsent(BLACKLIST_KEY_PREFIX + tokenHash, "1", ttl, TimeUnit.MILLISECONDS);
+        if (!Boolean.TRUE.equals(claimed)) {
+            return false;
+        }
+        
+        if (verifiedTokenCache != null) {
+            verifiedTokenCache.invalidate(token);
+        }
+        if (revocationRegistry != null) {
+            revocationRegistry.revokeToken(tokenHash, System.currentTimeMillis());
+        }
+        if (reason != null && !reason.isEmpty()) {
+            try {
+                redisTemplate.opsForValue().set(BLACKLIST_REASON_PREFIX + tokenHash, reason, ttl, TimeUnit.MILLISECONDS);
+            } catch (Exception e) {
+                // 原因仅用于审计，认领已生效
+                logger.warn("记录 Token 黑名单原因失败: {}", e.getMessage());
+            }
+        }
+        return true;
+    }
+    
     /**
      * 将 Token 加入黑名单（使用 Token 本身的过期时间）
      * 
@@ -131,21 +212,59 @@ public class TokenBlacklistService {
         if (token == null || token.isEmpty()) {
             return false;
         }
+        return isFingerprintBlacklisted(generateTokenHash(token));
+    }
+    
+    /**
+     * 按 Token 指纹检查是否在黑名单中（指纹已计算时使用，避免重复哈希）
+     * 
+     * @param tokenHash Token 指纹（SHA-256 十六进制）
+     * @return true 如果在黑名单中，false 否则
+     */
+    public boolean isFingerprintBlacklisted(String tokenHash) {
+        if (tokenHash == null || tokenHash.isEmpty()) {
+            return false;
+        }
+        
+        BlacklistCheckEvent event = JfrEvents.blacklistCheck();
+        if (revocationRegistry != null) {
+            boolean revoked = revocationRegistry.isTokenRevoked(tokenHash);
+            if (event != null) {
+                event.finish(revoked ? "hit" : "miss", "local");
+            }
+            return revoked;
+        }
         
         try {
-            String tokenHash = generateTokenHash(token);
             String blacklistKey = BLACKLIST_KEY_PREFIX + tokenHash;
             
             Boolean exists = redisTemplate.hasKey(blacklistKey);
-            return Boolean.TRUE.equals(exists);
+            boolean blacklisted = Boolean.TRUE.equals(exists);
+            if (event != null) {
+                event.finish(blacklisted ? "hit" : "miss", "redis");
+            }
+            return blacklisted;
             
         } catch (Exception e) {
             logger.error("检查 Token 黑名单失败", e);
+            if (event != null) {
+                event.finish("error", "redis");
+            }
             // 发生异常时，为了安全起见，返回 true（拒绝访问）
             return true;
         }
     }
     
+    /**
+     * 获取 Token 指纹对应的黑名单 Redis Key（供认证脚本在同一次往返中检查）
+     * 
+     * @param tokenHash Token 指纹（SHA-256 十六进制）
+     * @return 黑名单 Key
+     */
+    public String getBlacklistKey(String tokenHash) {
+        return BLACKLIST_KEY_PREFIX + tokenHash;
+    }
+    
     /**
      * 从黑名单中移除 Token（提前解除黑名单）
      * 
@@ -165,6 +284,10 @@ public class TokenBlacklistService {
             redisTemplate.delete(blacklistKey);
             redisTemplate.delete(reasonKey);
             
+            if (revocationRegistry != null) {
+                revocationRegistry.restoreToken(tokenHash);
+            }
+            
             logger.info("Token 已从黑名单中移除");
             
         } catch (Exception e) {
@@ -173,31 +296,29 @@ public class TokenBlacklistService {
     }
     
     /**
-     * 生成 Token 的哈希值
-     * 使用 SHA-256 哈希，避免在 Redis 中存储完整 Token
+     * 获取 Token 过期时间（毫秒时间戳），无法解析时返回 null
      */
-    private String generateTokenHash(String token) {
+    private Long getExpireAt(String token) {
+        if (signature == null) {
+            Date expirationDate = JwtUtils.getExpirationDate(token, jwtSecret);
+            return expirationDate != null ? expirationDate.getTime() : null;
+        }
         try {
-            java.security.MessageDigest digest = java.security.MessageDigest.getInstance("SHA-256");
-            byte[] hash = digest.digest(token.getBytes(java.nio.charset.StandardCharsets.UTF_8));
-            
-            StringBuilder hexString = new StringBuilder();
-            for (byte b : hash) {
-                String hex = Integer.toHexString(0xff & b);
-                if (hex.length() == 1) {
-                    hexString.append('0');
-                }
-                hexString.append(hex);
-            }
-            return hexString.toString();
-            
+            return signature.verifyClaims(token, jwtSecret).getExpireAt();
         } catch (Exception e) {
-            logger.error("生成 Token 哈希失败", e);
-            // 如果哈希失败，使用 Token 本身（不推荐，但作为后备方案）
-            return token.substring(0, Math.min(token.length(), 64));
+            logger.debug("获取 Token 过期时间失败: {}", e.getMessage());
+            return null;
         }
     }
     
+    /**
+     * 生成 Token 的哈希值
+     * 使用 SHA-256 哈希，避免在 Redis 中存储完整 Token
+     */
+    private String generateTokenHash(String token) {
+        return TokenHashUtils.sha256Hex(token);
+    }
+    
     /**
      * 批量撤销用户的所有 Token（通过 Session 实现）
      * 这个方法主要用于强制用户下线，实际撤销通过 Session 状态管理
@@ -3,7 +3,8 @@ package com.kite.authenticator.service.impl;
 import com.kite.authenticator.service.SessionManagementService;
 import com.kite.authenticator.session.Session;
 import com.kite.authenticator.session.SessionManager;
-import com.kite.authenticator.session.enums.UserStatus;
+import com.kite.authenticator.session.SessionPage;
+import com.kite.common.util.PageResult;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -61,18 +62,28 @@ public class SessionManagementServiceImpl implements SessionManagementService {
         return sessionManager.getAllSessions();
     }
     
+    @Override
+    public SessionPage scanSessions(String cursor, int count) {
+        if (sessionManager == null) {
+            return new SessionPage(new java.util.ArrayList<>(), SessionPage.START);
+        }
+        return sessionManager.scanSessions(cursor, count);
+    }
+    
+    @Override
+    public PageResult<Session> pageSessions(Long userId, Integer status, int pageNum, int pageSize) {
+        if (sessionManager == null) {
+            return PageResult.of(new java.util.ArrayList<>(), 0L, pageNum, pageSize);
+        }
+        return sessionManager.pageSessions(userId, status, pageNum, pageSize);
+    }
+    
     @Override
     public void disableUser(Long userId) {
         if (sessionManager == null) {
             return;
         }
-        List<Session> sessions = getUserSessions(userId);
-        long now = System.currentTimeMillis();
-        for (Session session : sessions) {
-            session.modifyStatus(UserStatus.DISABLED);
-            session.setOperateAt(now);
-            sessionManager.updateSession(session);
-        }
+        sessionManager.disableUser(userId);
     }
     
     @Override
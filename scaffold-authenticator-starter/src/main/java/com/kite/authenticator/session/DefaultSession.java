@@ -68,4 +68,20 @@ public class DefaultSession implements Session {
             this.status = status.getCode();
         }
     }
+    
+    /**
+     * 复制一份 Session
+     */
+    public static DefaultSession copyOf(Session source) {
+        DefaultSession target = new DefaultSession();
+        target.setSessionKey(source.getSessionKey());
+        target.setUserId(source.getUserId());
+        target.setDeviceId(source.getDeviceId());
+        target.setExpireAt(source.getExpireAt());
+        target.setLastAccessTime(source.getLastAccessTime());
+        target.setStatus(source.getStatus());
+        target.setStartTime(source.getStartTime());
+        target.setOperateAt(source.getOperateAt());
+        return target;
+    }
 }
@@ -0,0 +1,29 @@
+package com.kite.authenticator.session;
+
+import com.kite.authenticator.session.enums.UserStatus;
+
+/**
+ * Session 变更监听器
+ * 在 Session 被踢出、禁用或删除后回调，用于清理本地缓存等
+ * 
+ * @author yourname
+ */
+public interface SessionListener {
+    
+    /**
+     * Session 状态变更后回调（踢出、设备踢出、禁用）
+     * 
+     * @param session 已变更的 Session
+     * @param status 新状态
+     */
+    default void onStatusChanged(Session session, UserStatus status) {
+    }
+    
+    /**
+     * Session 删除后回调（正常退出）
+     * 
+     * @param session 已删除的 Session
+     */
+    default void onDeleted(Session session) {
+    }
+}
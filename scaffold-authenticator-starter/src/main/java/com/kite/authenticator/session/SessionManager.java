@@ -3,6 +3,12 @@ package com.kite.authenticator.session;
 import com.kite.authenticator.context.LoginUser;
 import com.kite.authenticator.session.dao.SessionDao;
 import com.kite.authenticator.session.enums.UserStatus;
+import com.kite.common.util.PageResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Session 管理器
@@ -11,14 +17,26 @@ import com.kite.authenticator.session.enums.UserStatus;
  */
 public class SessionManager {
     
+    private static final Logger logger = LoggerFactory.getLogger(SessionManager.class);
+    
     private final SessionDao sessionDao;
     private final SessionParser sessionParser;
+    private final List<SessionListener> listeners = new CopyOnWriteArrayList<>();
     
     public SessionManager(SessionDao sessionDao, SessionParser sessionParser) {
         this.sessionDao = sessionDao;
         this.sessionParser = sessionParser;
     }
     
+    /**
+     * 注册 Session 变更监听器
+     */
+    public void addListener(SessionListener listener) {
+        if (listener != null) {
+            listeners.add(listener);
+        }
+    }
+    
     /**
      * 创建 Session
      */
@@ -60,6 +78,7 @@ public class SessionManager {
      */
     public void deleteSession(Session session) {
         sessionDao.delete(session);
+        fireDeleted(session);
     }
     
     /**
@@ -74,14 +93,10 @@ public class SessionManager {
      */
     public java.util.List<Session> getUserSessions(Long userId) {
         java.util.Set<String> sessionKeys = getUserSessionKeys(userId);
-        java.util.List<Session> sessions = new java.util.ArrayList<>();
-        for (String sessionKey : sessionKeys) {
-            Session session = getSession(sessionKey);
-            if (session != null) {
-                sessions.add(session);
-            }
+        if (sessionKeys.isEmpty()) {
+            return new java.util.ArrayList<>();
         }
-        return sessions;
+        return sessionDao.getAll(sessionKeys);
     }
     
     /**
@@ -91,30 +106,89 @@ public class SessionManager {
         return sessionDao.listAllSessions();
     }
     
+    /**
+     * 分页扫描 Session
+     * 
+     * @param cursor 游标，首次为 {@link SessionPage#START}
+     * @param count 每页数量（提示值）
+     */
+    public SessionPage scanSessions(String cursor, int count) {
+        return sessionDao.scanSessions(cursor, count);
+    }
+    
+    /**
+     * 按最后操作时间倒序分页查询 Session
+     * 
+     * @param userId 用户ID（为空时不过滤）
+     * @param status Session 状态（为空时不过滤）
+     * @param pageNum 页码（从 1 开始）
+     * @param pageSize 每页数量
+     */
+    public PageResult<Session> pageSessions(Long userId, Integer status, int pageNum, int pageSize) {
+        return sessionDao.pageSessions(userId, status, pageNum, pageSize);
+    }
+    
     /**
      * 删除用户的所有 Session（强制下线）
      */
     public void kickOutUser(Long userId) {
-        java.util.List<Session> sessions = getUserSessions(userId);
-        long now = System.currentTimeMillis();
-        for (Session session : sessions) {
-            session.modifyStatus(UserStatus.KICK_OUT);
-            session.setOperateAt(now);
-            sessionDao.update(session);
-        }
+        modifyStatus(getUserSessions(userId), UserStatus.KICK_OUT);
     }
     
     /**
      * 删除指定设备的 Session
      */
     public void kickOutDevice(Long userId, String deviceId) {
-        java.util.List<Session> sessions = getUserSessions(userId);
+        java.util.List<Session> sessions = new java.util.ArrayList<>();
+        for (Session session : getUserSessions(userId)) {
+            if (session.matchDevice(deviceId)) {
+                sessions.add(session);
+            }
+        }
+        modifyStatus(sessions, UserStatus.DEVICE_KICK_OUT);
+    }
+    
+    /**
+     * 禁用用户的所有 Session
+     */
+    public void disableUser(Long userId) {
+        modifyStatus(getUserSessions(userId), UserStatus.DISABLED);
+    }
+    
+    /**
+     * 批量修改 Session 状态：一次写回全部 Session，写回成功后逐个通知监听器
+     */
+    private void modifyStatus(java.util.List<Session> sessions, UserStatus status) {
+        if (sessions.isEmpty()) {
+            return;
+        }
         long now = System.currentTimeMillis();
         for (Session session : sessions) {
-            if (session.matchDevice(deviceId)) {
-                session.modifyStatus(UserStatus.DEVICE_KICK_OUT);
-                session.setOperateAt(now);
-                sessionDao.update(session);
+            session.modifyStatus(status);
+            session.setOperateAt(now);
+        }
+        sessionDao.updateStatusAll(sessions);
+        for (Session session : sessions) {
+            fireStatusChanged(session, status);
+        }
+    }
+    
+    private void fireStatusChanged(Session session, UserStatus status) {
+        for (SessionListener listener : listeners) {
+            try {
+                listener.onStatusChanged(session, status);
+            } catch (Exception e) {
+                logger.warn("SessionListener 执行失败: {}", e.getMessage());
+            }
+        }
+    }
+    
+    private void fireDeleted(Session session) {
+        for (SessionListener listener : listeners) {
+            try {
+                listener.onDeleted(session);
+            } catch (Exception e) {
+                logger.warn("SessionListener 执行失败: {}", e.getMessage());
             }
         }
     }
@@ -0,0 +1,47 @@
+package com.kite.authenticator.session;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Session 分页扫描结果
+ * 以 {@link #START} 作为游标开始扫描，将返回的游标传入下一次调用继续扫描，返回的游标为 {@link #START} 时扫描结束。
+ * 扫描期间新增或删除的 Session 可能出现也可能不出现，同一 Session 可能在不同页中重复出现。
+ * 
+ * @author yourname
+ */
+@Data
+public class SessionPage {
+    
+    /**
+     * 起始（与结束）游标
+     */
+    public static final String START = "0";
+    
+    /**
+     * 本页 Session（可能少于请求的数量，也可能为空，但扫描未必结束）
+     */
+    private List<Session> sessions = new ArrayList<>();
+    
+    /**
+     * 下一页游标
+     */
+    private String cursor = START;
+    
+    public SessionPage() {
+    }
+    
+    public SessionPage(List<Session> sessions, String cursor) {
+        this.sessions = sessions;
+        this.cursor = cursor;
+    }
+    
+    /**
+     * 扫描是否已结束
+     */
+    public boolean isFinished() {
+        return START.equals(cursor);
+    }
+}
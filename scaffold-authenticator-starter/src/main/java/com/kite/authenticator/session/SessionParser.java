@@ -1,8 +1,7 @@
 package com.kite.authenticator.session;
 
 import com.kite.authenticator.context.LoginUser;
-
-import java.util.UUID;
+import com.kite.authenticator.util.IdGenerator;
 
 /**
  * Session 解析器
@@ -21,8 +20,7 @@ public class SessionParser {
             throw new IllegalArgumentException("LoginUser 和 UserId 不能为空");
         }
         
-        String uuid = UUID.randomUUID().toString().replace("-", "");
-        return loginUser.getUserId() + ":" + (deviceId != null ? deviceId : "default") + ":" + uuid;
+        return loginUser.getUserId() + ":" + (deviceId != null ? deviceId : "default") + ":" + IdGenerator.nextId();
     }
     
     /**
@@ -0,0 +1,51 @@
+package com.kite.authenticator.session;
+
+import com.kite.authenticator.exception.AuthRejection;
+import com.kite.authenticator.session.enums.UserStatus;
+
+/**
+ * Session 校验
+ * 阻塞式与响应式认证共用的校验规则：过期、设备、状态、超时
+ *
+ * @author yourname
+ */
+public final class SessionValidator {
+
+    private SessionValidator() {
+    }
+
+    /**
+     * 校验 Session，不通过时抛出认证异常
+     *
+     * @param session Session
+     * @param host 设备ID
+     * @param sessionTimeout 会话超时时间（毫秒，为空时不检查）
+     * @param validateDevice 是否校验设备
+     * @param validateStatus 是否校验用户状态
+     */
+    public static void validate(Session session, String host, Long sessionTimeout,
+                                boolean validateDevice, boolean validateStatus) {
+        // 检查 Session 是否过期
+        if (session.isExpired()) {
+            throw AuthRejection.SESSION_EXPIRED.exception();
+        }
+        
+        // 检查设备是否匹配
+        if (validateDevice && !session.matchDevice(host)) {
+            throw AuthRejection.DEVICE_MISMATCH.exception();
+        }
+        
+        // 检查用户状态
+        if (validateStatus) {
+            UserStatus status = UserStatus.fromCode(session.getStatus());
+            if (status != null && status != UserStatus.NORMAL) {
+                throw AuthRejection.of(status).exception();
+            }
+        }
+        
+        // 检查会话超时
+        if (sessionTimeout != null && session.exceedSessionTimeout(sessionTimeout)) {
+            throw AuthRejection.SESSION_TIMEOUT.exception();
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.kite.authenticator.session;
+
+import com.kite.authenticator.session.dao.SessionDao;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Session 访问时间与续期的延迟合并写回
+ * 认证通过后 Session 的访问时间与过期时间每次请求都会变化，逐次写回时 Session 写入量与请求量相同。
+ * 这里只在存储中的访问时间已落后超过写回粒度、或 Session 临近过期时立即写回，
+ * 其余变更按 Session 合并（保留最新一次），由后台线程定期批量写回，
+ * 写入量降为每个活跃 Session 每个刷新间隔一次。关闭时写回全部待写变更。
+ *
+ * @author yourname
+ */
+public class SessionWriteBehind implements InitializingBean, DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionWriteBehind.class);
+
+    private final SessionDao sessionDao;
+    private final long granularity;
+    private final long flushInterval;
+    private final int batchSize;
+
+    private final Map<String, Session> pending = new ConcurrentHashMap<>();
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * @param sessionDao Session 存储
+     * @param granularity 写回粒度（毫秒）：存储中的访问时间落后超过该值，或距过期不足该值时立即写回
+     * @param flushInterval 后台批量写回间隔（毫秒），应小于写回粒度
+     * @param batchSize 每批写回的 Session 数量
+     */
+    public SessionWriteBehind(SessionDao sessionDao, long granularity, long flushInterval, int batchSize) {
+        this.sessionDao = sessionDao;
+        this.granularity = granularity;
+        this.flushInterval = flushInterval;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "authc-session-write-behind");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushQuietly, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler.awaitTermination(flushInterval, TimeUnit.MILLISECONDS);
+        }
+        flushQuietly();
+    }
+
+    /**
+     * 写回粒度（毫秒）
+     */
+    public long getGranularity() {
+        return granularity;
+    }
+
+    /**
+     * 待写回的 Session 数量
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * 写回已更新访问时间（及续期）的 Session
+     *
+     * @param session 已执行 touch/renewal 的 Session
+     * @param persistedLastAccessTime 存储中的访问时间
+     * @param persistedExpireAt 存储中的过期时间
+     */
+    public void write(Session session, Long persistedLastAccessTime, Long persistedExpireAt) {
+        if (isDue(persistedLastAccessTime, persistedExpireAt, System.currentTimeMillis())) {
+            pending.remove(session.getSessionKey());
+            sessionDao.touch(session);
+        } else {
+            defer(session);
+        }
+    }
+
+    /**
+     * 延迟写回：同一 Session 只保留访问时间最新的一次变更
+     */
+    public void defer(Session session) {
+        pending.merge(session.getSessionKey(), session, (current, candidate) ->
+                compare(candidate.getLastAccessTime(), current.getLastAccessTime()) >= 0 ? candidate : current);
+    }
+
+    /**
+     * 立即批量写回全部待写变更
+     */
+    public void flush() {
+        List<Session> batch = new ArrayList<>(batchSize);
+        Iterator<Map.Entry<String, Session>> iterator = pending.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Session> entry = iterator.next();
+            // 条件删除：取出后到删除前又有新的变更时保留新变更，留到下一次写回
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                batch.add(entry.getValue());
+            }
+            if (batch.size() >= batchSize) {
+                sessionDao.touchAll(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+        if (!batch.isEmpty()) {
+            sessionDao.touchAll(batch);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // 写回失败的变更丢弃，Session 下一次被访问时会重新提交
+            logger.warn("Session 延迟写回失败: {}", e.getMessage());
+        }
+    }
+
+    private boolean isDue(Long persistedLastAccessTime, Long persistedExpireAt, long now) {
+        if (persistedLastAccessTime == null || now - persistedLastAccessTime >= granularity) {
+            return true;
+        }
+        return persistedExpireAt != null && persistedExpireAt - now <= granularity;
+    }
+
+    private static int compare(Long a, Long b) {
+        return Long.compare(a != null ? a : 0L, b != null ? b : 0L);
+    }
+}
@@ -0,0 +1,133 @@
+package com.kite.authenticator.session.dao;
+
+import com.kite.authenticator.cache.SessionNearCache;
+import com.kite.authenticator.session.Session;
+import com.kite.authenticator.session.SessionPage;
+import com.kite.common.util.PageResult;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 带本地缓存的 Session Dao
+ * {@link #get(String)} 优先读取 {@link SessionNearCache}；状态变更与删除后失效所有节点的缓存，
+ * 访问时间与续期的写回只刷新本节点的缓存（其他节点的缓存在有效期内保留旧的访问时间，不影响校验结果）。
+ *
+ * @author yourname
+ */
+public class CachingSessionDao implements SessionDao {
+
+    private final SessionDao delegate;
+    private final SessionNearCache cache;
+
+    public CachingSessionDao(SessionDao delegate, SessionNearCache cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    /**
+     * 被装饰的 Session Dao
+     */
+    public SessionDao getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void create(Session session) {
+        delegate.create(session);
+    }
+
+    @Override
+    public void update(Session session) {
+        delegate.update(session);
+        cache.refresh(session);
+    }
+
+    @Override
+    public void updateStatus(Session session) {
+        delegate.updateStatus(session);
+        cache.invalidate(session.getSessionKey());
+    }
+
+    @Override
+    public void updateStatusAll(Collection<Session> sessions) {
+        delegate.updateStatusAll(sessions);
+        cache.invalidate(sessionKeysOf(sessions));
+    }
+
+    @Override
+    public void touch(Session session) {
+        delegate.touch(session);
+        cache.touch(session);
+    }
+
+    @Override
+    public void touchAll(Collection<Session> sessions) {
+        delegate.touchAll(sessions);
+        for (Session session : sessions) {
+            cache.touch(session);
+        }
+    }
+
+    @Override
+    public void delete(Session session) {
+        delegate.delete(session);
+        cache.invalidate(session.getSessionKey());
+    }
+
+    @Override
+    public void deleteAll(Collection<Session> sessions) {
+        delegate.deleteAll(sessions);
+        cache.invalidate(sessionKeysOf(sessions));
+    }
+
+    @Override
+    public Session get(String sessionKey) {
+        return cache.get(sessionKey, delegate::get);
+    }
+
+    /**
+     * 批量读取用于管理操作，直接读取存储，不经过也不填充本地缓存
+     */
+    @Override
+    public List<Session> getAll(Collection<String> sessionKeys) {
+        return delegate.getAll(sessionKeys);
+    }
+
+    @Override
+    public Set<String> getUserSessionKeys(Long userId) {
+        return delegate.getUserSessionKeys(userId);
+    }
+
+    @Override
+    public void deleteUserSessions(Long userId) {
+        List<String> sessionKeys = new ArrayList<>(delegate.getUserSessionKeys(userId));
+        delegate.deleteUserSessions(userId);
+        cache.invalidate(sessionKeys);
+    }
+
+    @Override
+    public List<Session> listAllSessions() {
+        return delegate.listAllSessions();
+    }
+
+    @Override
+    public SessionPage scanSessions(String cursor, int count) {
+        return delegate.scanSessions(cursor, count);
+    }
+
+    @Override
+    public PageResult<Session> pageSessions(Long userId, Integer status, int pageNum, int pageSize) {
+        return delegate.pageSessions(userId, status, pageNum, pageSize);
+    }
+
+    private static List<String> sessionKeysOf(Collection<Session> sessions) {
+        List<String> sessionKeys = new ArrayList<>(sessions.size());
+        for (Session session : sessions) {
+            sessionKeys.add(session.getSessionKey());
+        }
+        return sessionKeys;
+    }
+}
@@ -1,18 +1,44 @@
 package com.kite.authenticator.session.dao;
 
+import com.kite.authenticator.exception.AuthRejection;
+import com.kite.authenticator.jfr.JfrEvents;
+import com.kite.authenticator.jfr.SessionStoreEvent;
 import com.kite.authenticator.session.DefaultSession;
 import com.kite.authenticator.session.Session;
+import com.kite.authenticator.session.SessionPage;
+import com.kite.authenticator.session.SessionWriteBehind;
+import com.kite.authenticator.session.SessionValidator;
 import com.kite.common.util.JsonUtils;
+import com.kite.common.util.PageResult;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.DataType;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisConnection;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Redis Session Dao 实现
+ * 每个 Session 存为一个 Hash（字段见 {@link SessionHashMapper}），值为原始字符串，不经 Jackson 二次编码；
+ * 更新状态或访问时间时只写变化的字段。旧版本写入的 JSON 字符串在首次读取时原地迁移为 Hash，升级后无需重新登录。
+ * 所有写操作都由 Lua 脚本完成，每次调用一次往返且原子执行；脚本通过 EVALSHA 按摘要调用，
+ * Redis 中尚未缓存时（NOSCRIPT）自动以 EVAL 发送一次脚本正文，之后均按摘要调用。
+ * Redis Cluster 上（见 {@link #isCluster()}）不使用跨槽位的脚本：每条命令或脚本只访问一个 Key，
+ * 不维护二级索引，分页与扫描改为读取全部 Session 后在内存中处理。
  * 
  * @author yourname
  */
@@ -23,10 +49,129 @@ public class RedisSessionDao implements SessionDao {
     private static final String SESSION_KEY_PREFIX = "authc:session:";
     private static final String USER_SESSIONS_KEY_PREFIX = "authc:user:sessions:";
     
+    /**
+     * 认证脚本：黑名单检查、读取、校验、访问时间与续期写回（见 META-INF/scripts/session-authenticate.lua）
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> AUTHENTICATE_SCRIPT =
+            SessionScripts.loadWithMigration("META-INF/scripts/session-authenticate.lua", List.class);
+    
+    /**
+     * 访问时间与过期时间批量写回脚本（见 META-INF/scripts/session-touch.lua）
+     */
+    private static final RedisScript<Long> TOUCH_SCRIPT =
+            SessionScripts.load("META-INF/scripts/session-touch.lua", Long.class);
+    
+    /**
+     * 创建与整体更新脚本：写入 Hash、过期时间与用户 Session 集合（见 META-INF/scripts/session-save.lua）
+     */
+    private static final RedisScript<Long> SAVE_SCRIPT =
+            SessionScripts.load("META-INF/scripts/session-save.lua", Long.class);
+    
+    /**
+     * 批量删除脚本：删除 Hash 并维护用户 Session 集合与索引（见 META-INF/scripts/session-delete.lua）
+     */
+    private static final RedisScript<Long> DELETE_SCRIPT =
+            SessionScripts.load("META-INF/scripts/session-delete.lua", Long.class);
+    
+    /**
+     * Session 存在时才写入字段的单 Key 脚本，Redis Cluster 上替代批量状态更新脚本（见 META-INF/scripts/session-update-fields.lua）
+     */
+    private static final RedisScript<Long> UPDATE_FIELDS_SCRIPT =
+            SessionScripts.load("META-INF/scripts/session-update-fields.lua", Long.class);
+    
+    /**
+     * 分页扫描脚本：一次 SCAN 并读取本批 Session（见 META-INF/scripts/session-scan.lua）
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> SCAN_SCRIPT =
+            SessionScripts.load("META-INF/scripts/session-scan.lua", List.class);
+    
+    /**
+     * listAllSessions 每次 SCAN 的数量提示
+     */
+    private static final int LIST_SCAN_COUNT = 500;
+    
+    /**
+     * 读取脚本：读取 Hash，旧格式原地迁移（见 META-INF/scripts/session-load.lua）
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> LOAD_SCRIPT =
+            SessionScripts.loadWithMigration("META-INF/scripts/session-load.lua", List.class);
+    
+    /**
+     * 批量读取脚本：读取多个 Hash，旧格式原地迁移（见 META-INF/scripts/session-load-all.lua）
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> LOAD_ALL_SCRIPT =
+            SessionScripts.loadWithMigration("META-INF/scripts/session-load-all.lua", List.class);
+    
+    /**
+     * 批量状态更新脚本：Session 存在时才写入状态与操作时间并维护索引（见 META-INF/scripts/session-update-status.lua）
+     */
+    private static final RedisScript<Long> UPDATE_STATUS_SCRIPT =
+            SessionScripts.load("META-INF/scripts/session-update-status.lua", Long.class);
+    
+    /**
+     * 分页查询脚本：按索引读取一页 Session（见 META-INF/scripts/session-page.lua）
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> PAGE_SCRIPT =
+            SessionScripts.load("META-INF/scripts/session-page.lua", List.class);
+    
+    /**
+     * 补建索引脚本：为升级前已有的 Session 建立索引（见 META-INF/scripts/session-index.lua）
+     */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> INDEX_SCRIPT =
+            SessionScripts.load("META-INF/scripts/session-index.lua", List.class);
+    
+    /**
+     * 用户 Session 集合仍使用 Jackson 序列化的成员（与旧版本及响应式版本兼容）
+     */
     private final RedisTemplate<String, Object> redisTemplate;
     
+    /**
+     * Session Hash 的字段与值均为原始字符串
+     */
+    private final StringRedisTemplate stringRedisTemplate;
+    
+    /**
+     * 本节点是否已确认索引建立完成
+     */
+    private volatile boolean indexReady;
+    
+    /**
+     * 是否连接 Redis Cluster（为空时在首次使用时根据连接判断）
+     */
+    private volatile Boolean cluster;
+    
     public RedisSessionDao(RedisTemplate<String, Object> redisTemplate) {
         this.redisTemplate = redisTemplate;
+        this.stringRedisTemplate = new StringRedisTemplate(redisTemplate.getRequiredConnectionFactory());
+    }
+    
+    /**
+     * 指定是否连接 Redis Cluster（为空时根据连接自动判断）
+     */
+    public void setCluster(Boolean cluster) {
+        this.cluster = cluster;
+    }
+    
+    /**
+     * 是否连接 Redis Cluster
+     * 多个 Key 的脚本声明的 Key 分布在不同槽位，在 Cluster 上会被拒绝（CROSSSLOT）。
+     * 读写、删除与查询在 Cluster 上自动改为每次只访问一个 Key；{@link #authenticate} 没有替代实现，调用方应改用逐条命令的流程
+     */
+    public boolean isCluster() {
+        Boolean cluster = this.cluster;
+        if (cluster == null) {
+            try (RedisConnection connection = stringRedisTemplate.getRequiredConnectionFactory().getConnection()) {
+                cluster = connection instanceof RedisClusterConnection;
+            }
+            this.cluster = cluster;
+        }
+        return cluster;
     }
     
     private String getSessionKey(String sessionKey) {
@@ -39,78 +184,465 @@ public class RedisSessionDao implements SessionDao {
     
     @Override
     public void create(Session session) {
-        String key = getSessionKey(session.getSessionKey());
-        String sessionJson = JsonUtils.toJsonString(session);
-        
-        // 存储 Session
-        redisTemplate.opsForValue().set(key, sessionJson);
-        
-        // 设置过期时间
-        if (session.getExpireAt() != null) {
-            long ttl = session.getExpireAt() - System.currentTimeMillis();
-            if (ttl > 0) {
-                redisTemplate.expire(key, ttl, TimeUnit.MILLISECONDS);
-            }
+        save(session, "create");
+    }
+    
+    @Override
+    public void update(Session session) {
+        save(session, "update"); // 整体写入全部字段，所以与 create 相同
+    }
+    
+    /**
+     * 只写回访问时间与过期时间（只前移），不覆盖其他节点对状态的修改，Session 已删除时不会重新创建
+     */
+    @Override
+    public void touch(Session session) {
+        touchAll(Collections.singletonList(session));
+    }
+    
+    /**
+     * 一次往返批量写回访问时间与过期时间
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void touchAll(Collection<Session> sessions) {
+        if (sessions.isEmpty()) {
+            return;
         }
-        
-        // 将 Session Key 添加到用户的 Session 集合中
-        String userSessionsKey = getUserSessionsKey(session.getUserId());
-        redisTemplate.opsForSet().add(userSessionsKey, session.getSessionKey());
-        
-        // 设置用户 Session 集合的过期时间（取最长的过期时间）
-        Long expireAt = session.getExpireAt();
-        if (expireAt != null) {
-            long ttl = expireAt - System.currentTimeMillis();
-            if (ttl > 0) {
-                redisTemplate.expire(userSessionsKey, ttl, TimeUnit.MILLISECONDS);
+        SessionStoreEvent event = JfrEvents.sessionStore();
+        if (isCluster()) {
+            try {
+                for (Session session : sessions) {
+                    touchOnCluster(session);
+                }
+            } catch (RuntimeException e) {
+                finish(event, "touch", "error", sessions.size(), 0);
+                throw e;
             }
+            finish(event, "touch", "success", sessions.size(), 0);
+            return;
+        }
+        List<String> keys = new ArrayList<>(sessions.size() * 3);
+        List<String> args = new ArrayList<>(sessions.size() * 2 + 1);
+        args.add(String.valueOf(System.currentTimeMillis()));
+        for (Session session : sessions) {
+            keys.add(getSessionKey(session.getSessionKey()));
+            keys.add(getUserSessionsKey(session.getUserId()));
+            keys.add(SessionIndexKeys.userIndexKey(session.getUserId()));
+            args.add(String.valueOf(session.getLastAccessTime() != null ? session.getLastAccessTime() : 0L));
+            args.add(String.valueOf(session.getExpireAt() != null ? session.getExpireAt() : 0L));
+        }
+        try {
+            stringRedisTemplate.execute(TOUCH_SCRIPT, keys, args.toArray());
+        } catch (RuntimeException e) {
+            finish(event, "touch", "error", sessions.size(), 0);
+            throw e;
         }
+        finish(event, "touch", "success", sessions.size(), 0);
     }
     
+    /**
+     * Cluster 上逐个 Session 写回：脚本只声明 Session Key，写回后再延长用户 Session 集合的过期时间
+     */
+    private void touchOnCluster(Session session) {
+        long now = System.currentTimeMillis();
+        Long written = stringRedisTemplate.execute(TOUCH_SCRIPT,
+                Collections.singletonList(getSessionKey(session.getSessionKey())), String.valueOf(now),
+                String.valueOf(session.getLastAccessTime() != null ? session.getLastAccessTime() : 0L),
+                String.valueOf(session.getExpireAt() != null ? session.getExpireAt() : 0L));
+        if (written != null && written > 0 && session.getExpireAt() != null) {
+            extendExpire(getUserSessionsKey(session.getUserId()), session.getExpireAt() - now);
+        }
+    }
+    
+    /**
+     * 延长 Key 的过期时间（只延长不缩短）
+     */
+    private void extendExpire(String key, long ttl) {
+        if (ttl <= 0) {
+            return;
+        }
+        Long current = stringRedisTemplate.getExpire(key, TimeUnit.MILLISECONDS);
+        if (current == null || current < ttl) {
+            stringRedisTemplate.expire(key, ttl, TimeUnit.MILLISECONDS);
+        }
+    }
+    
+    /**
+     * 只更新状态与操作时间字段并调整索引，Session 已删除时不会重新创建
+     */
     @Override
-    public void update(Session session) {
-        create(session); // Redis 的 set 操作会覆盖，所以直接调用 create
+    public void updateStatus(Session session) {
+        updateStatusAll(Collections.singletonList(session));
     }
     
+    /**
+     * 一次往返批量更新状态与操作时间（见 META-INF/scripts/session-update-status.lua）
+     */
     @Override
-    public void delete(Session session) {
-        String key = getSessionKey(session.getSessionKey());
-        redisTemplate.delete(key);
+    public void updateStatusAll(Collection<Session> sessions) {
+        if (sessions.isEmpty()) {
+            return;
+        }
+        SessionStoreEvent event = JfrEvents.sessionStore();
+        if (isCluster()) {
+            try {
+                for (Session session : sessions) {
+                    stringRedisTemplate.execute(UPDATE_FIELDS_SCRIPT,
+                            Collections.singletonList(getSessionKey(session.getSessionKey())),
+                            SessionHashMapper.STATUS, String.valueOf(session.getStatus()),
+                            SessionHashMapper.OPERATE_AT, String.valueOf(session.getOperateAt()));
+                }
+            } catch (RuntimeException e) {
+                finish(event, "updateStatus", "error", sessions.size(), 0);
+                throw e;
+            }
+            finish(event, "updateStatus", "success", sessions.size(), 0);
+            return;
+        }
+        List<String> keys = SessionIndexKeys.sharedIndexKeys();
+        List<String> args = new ArrayList<>(sessions.size() * 3 + 1);
+        args.add(String.valueOf(keys.size() - 2));
+        for (Session session : sessions) {
+            keys.add(getSessionKey(session.getSessionKey()));
+            keys.add(SessionIndexKeys.userIndexKey(session.getUserId()));
+            args.add(session.getSessionKey());
+            args.add(String.valueOf(session.getStatus()));
+            args.add(String.valueOf(session.getOperateAt()));
+        }
+        try {
+            stringRedisTemplate.execute(UPDATE_STATUS_SCRIPT, keys, args.toArray());
+        } catch (RuntimeException e) {
+            finish(event, "updateStatus", "error", sessions.size(), 0);
+            throw e;
+        }
+        finish(event, "updateStatus", "success", sessions.size(), 0);
+    }
+    
+    private void save(Session session, String operation) {
+        SessionStoreEvent event = JfrEvents.sessionStore();
+        long payloadBytes;
+        try {
+            payloadBytes = doSave(session);
+        } catch (RuntimeException e) {
+            finish(event, operation, "error", 1, 0);
+            throw e;
+        }
+        finish(event, operation, "success", 1, payloadBytes);
+    }
+    
+    private long doSave(Session session) {
+        Map<String, String> hash = SessionHashMapper.toHash(session);
+        long ttl = 0;
+        if (session.getExpireAt() != null) {
+            ttl = Math.max(0, session.getExpireAt() - System.currentTimeMillis());
+        }
         
-        // 从用户的 Session 集合中移除
-        String userSessionsKey = getUserSessionsKey(session.getUserId());
-        redisTemplate.opsForSet().remove(userSessionsKey, session.getSessionKey());
+        if (isCluster()) {
+            saveOnCluster(session, hash, ttl);
+            return payloadSize(hash.values());
+        }
         
-        // 如果用户没有其他 Session，删除集合
-        Long size = redisTemplate.opsForSet().size(userSessionsKey);
-        if (size == null || size == 0) {
-            redisTemplate.delete(userSessionsKey);
+        // Hash、过期时间、用户 Session 集合与索引在脚本中一次写入
+        List<String> args = new ArrayList<>(hash.size() * 2 + 5);
+        args.add(String.valueOf(ttl));
+        args.add(userSessionsMember(session.getSessionKey()));
+        args.add(session.getSessionKey());
+        args.add(String.valueOf(System.currentTimeMillis()));
+        args.add(SESSION_KEY_PREFIX);
+        for (Map.Entry<String, String> entry : hash.entrySet()) {
+            args.add(entry.getKey());
+            args.add(entry.getValue());
+        }
+        stringRedisTemplate.execute(SAVE_SCRIPT, sessionKeys(session), args.toArray());
+        return payloadSize(hash.values());
+    }
+    
+    /**
+     * Cluster 上逐条命令写入 Hash、过期时间与用户 Session 集合（不维护索引）
+     */
+    private void saveOnCluster(Session session, Map<String, String> hash, long ttl) {
+        String key = getSessionKey(session.getSessionKey());
+        // 旧版本写入的 JSON 字符串直接由新的 Hash 替换
+        if (stringRedisTemplate.type(key) == DataType.STRING) {
+            stringRedisTemplate.delete(key);
         }
+        stringRedisTemplate.opsForHash().putAll(key, hash);
+        String userSessionsKey = getUserSessionsKey(session.getUserId());
+        stringRedisTemplate.opsForSet().add(userSessionsKey, userSessionsMember(session.getSessionKey()));
+        if (ttl > 0) {
+            stringRedisTemplate.expire(key, ttl, TimeUnit.MILLISECONDS);
+            extendExpire(userSessionsKey, ttl);
+        }
+    }
+    
+    @Override
+    public void delete(Session session) {
+        deleteAll(Collections.singletonList(session));
+    }
+    
+    /**
+     * 一次往返批量删除 Session，同时维护用户 Session 集合与索引（见 META-INF/scripts/session-delete.lua）
+     * 只使用 Session 的 sessionKey 与 userId
+     */
+    @Override
+    public void deleteAll(Collection<Session> sessions) {
+        if (sessions.isEmpty()) {
+            return;
+        }
+        SessionStoreEvent event = JfrEvents.sessionStore();
+        try {
+            doDeleteAll(sessions);
+        } catch (RuntimeException e) {
+            finish(event, "delete", "error", sessions.size(), 0);
+            throw e;
+        }
+        finish(event, "delete", "success", sessions.size(), 0);
+    }
+    
+    private long doDeleteAll(Collection<Session> sessions) {
+        if (isCluster()) {
+            return deleteOnCluster(sessions);
+        }
+        List<String> keys = SessionIndexKeys.sharedIndexKeys();
+        List<String> args = new ArrayList<>(sessions.size() * 2 + 1);
+        args.add(String.valueOf(keys.size() - 2));
+        for (Session session : sessions) {
+            keys.add(getSessionKey(session.getSessionKey()));
+            keys.add(getUserSessionsKey(session.getUserId()));
+            keys.add(SessionIndexKeys.userIndexKey(session.getUserId()));
+            args.add(userSessionsMember(session.getSessionKey()));
+            args.add(session.getSessionKey());
+        }
+        Long deleted = stringRedisTemplate.execute(DELETE_SCRIPT, keys, args.toArray());
+        return deleted != null ? deleted : 0L;
+    }
+    
+    /**
+     * Cluster 上逐条命令删除 Hash 并从用户 Session 集合中移除，集合为空时一并删除
+     */
+    private long deleteOnCluster(Collection<Session> sessions) {
+        long deleted = 0;
+        for (Session session : sessions) {
+            if (Boolean.TRUE.equals(stringRedisTemplate.delete(getSessionKey(session.getSessionKey())))) {
+                deleted++;
+            }
+            String userSessionsKey = getUserSessionsKey(session.getUserId());
+            stringRedisTemplate.opsForSet().remove(userSessionsKey, userSessionsMember(session.getSessionKey()));
+            Long size = stringRedisTemplate.opsForSet().size(userSessionsKey);
+            if (size == null || size == 0) {
+                stringRedisTemplate.delete(userSessionsKey);
+            }
+        }
+        return deleted;
+    }
+    
+    /**
+     * 写入脚本的 KEYS：Session Key、用户 Session 集合 Key 与全部索引 Key
+     */
+    private List<String> sessionKeys(Session session) {
+        List<String> keys = new ArrayList<>();
+        keys.add(getSessionKey(session.getSessionKey()));
+        keys.add(getUserSessionsKey(session.getUserId()));
+        keys.addAll(SessionIndexKeys.indexKeys(session.getUserId()));
+        return keys;
+    }
+    
+    /**
+     * 用户 Session 集合成员（与 RedisTemplate 的值序列化结果一致）
+     */
+    @SuppressWarnings("unchecked")
+    private String userSessionsMember(String sessionKey) {
+        byte[] bytes = ((RedisSerializer<Object>) redisTemplate.getValueSerializer()).serialize(sessionKey);
+        return new String(bytes, StandardCharsets.UTF_8);
     }
     
     @Override
     public Session get(String sessionKey) {
-        String key = getSessionKey(sessionKey);
-        Object value = redisTemplate.opsForValue().get(key);
+        SessionStoreEvent event = JfrEvents.sessionStore();
+        List<Object> entries;
+        try {
+            entries = load(getSessionKey(sessionKey));
+        } catch (RuntimeException e) {
+            finish(event, "get", "error", 1, 0);
+            throw e;
+        }
         
-        if (value == null) {
+        Session session = SessionHashMapper.fromEntries(entries, 0);
+        if (session == null) {
+            finish(event, "get", "miss", 1, 0);
             return null;
         }
+        finish(event, "get", "success", 1, payloadSize(entries));
+        return session;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private List<Object> load(String key) {
+        return (List<Object>) stringRedisTemplate.execute(LOAD_SCRIPT, Collections.singletonList(key));
+    }
+    
+    /**
+     * 一次往返批量读取 Session，不存在的 Session 不出现在结果中
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Session> getAll(Collection<String> sessionKeys) {
+        if (sessionKeys.isEmpty()) {
+            return new ArrayList<>();
+        }
+        SessionStoreEvent event = JfrEvents.sessionStore();
+        List<String> keys = new ArrayList<>(sessionKeys.size());
+        for (String sessionKey : sessionKeys) {
+            keys.add(getSessionKey(sessionKey));
+        }
+        List<Object> result;
+        try {
+            result = isCluster() ? loadEach(keys) : (List<Object>) stringRedisTemplate.execute(LOAD_ALL_SCRIPT, keys);
+        } catch (RuntimeException e) {
+            finish(event, "getAll", "error", keys.size(), 0);
+            throw e;
+        }
         
-        if (value instanceof String) {
-            return JsonUtils.parseObject((String) value, DefaultSession.class);
+        List<Session> sessions = new ArrayList<>(keys.size());
+        long payloadBytes = 0;
+        if (result != null) {
+            for (Object entries : result) {
+                Session session = SessionHashMapper.fromEntries((List<?>) entries, 0);
+                if (session != null) {
+                    sessions.add(session);
+                    payloadBytes += payloadSize((List<?>) entries);
+                }
+            }
+        }
+        finish(event, "getAll", sessions.isEmpty() ? "miss" : "success", keys.size(), payloadBytes);
+        return sessions;
+    }
+    
+    /**
+     * 认证时的 Session 检查：一次 Redis 往返内原子完成黑名单检查、读取、校验、更新访问时间与续期
+     * 校验规则与 {@link SessionValidator} 一致，不通过时抛出对应原因的认证异常
+     * 脚本的 KEYS 位于不同槽位，不适用于 Redis Cluster（见 {@link #isCluster()}）
+     * 
+     * @param sessionKey Session Key
+     * @param userId 用户ID（用于续期用户 Session 集合）
+     * @param blacklistKey Token 黑名单 Key（为空时不检查黑名单）
+     * @param host 设备ID
+     * @param sessionTimeout 会话超时时间（毫秒，为空时不检查）
+     * @param validateDevice 是否校验设备
+     * @param validateStatus 是否校验用户状态
+     * @param renewalInterval 续期间隔（毫秒，为空时不续期）
+     * @param writeBehind 延迟写回（为空时每次都写回）
+     * @return 已更新访问时间的 Session
+     */
+    @SuppressWarnings("unchecked")
+    public Session authenticate(String sessionKey, Long userId, String blacklistKey, String host,
+                                Long sessionTimeout, boolean validateDevice, boolean validateStatus,
+                                Long renewalInterval, SessionWriteBehind writeBehind) {
+        SessionStoreEvent event = JfrEvents.sessionStore();
+        List<String> keys = new ArrayList<>(4);
+        keys.add(getSessionKey(sessionKey));
+        keys.add(getUserSessionsKey(userId));
+        keys.add(SessionIndexKeys.userIndexKey(userId));
+        if (blacklistKey != null) {
+            keys.add(blacklistKey);
+        }
+        List<Object> result;
+        try {
+            result = (List<Object>) stringRedisTemplate.execute(AUTHENTICATE_SCRIPT, keys,
+                    String.valueOf(System.currentTimeMillis()),
+                    host != null ? host : "",
+                    validateDevice ? "1" : "0",
+                    validateStatus ? "1" : "0",
+                    String.valueOf(sessionTimeout != null && sessionTimeout > 0 ? sessionTimeout : 0),
+                    String.valueOf(renewalInterval != null && renewalInterval > 0 ? renewalInterval : 0),
+                    String.valueOf(writeBehind != null ? writeBehind.getGranularity() : 0));
+        } catch (RuntimeException e) {
+            finish(event, "authenticate", "error", keys.size(), 0);
+            throw e;
+        }
+        if (result == null || result.isEmpty()) {
+            finish(event, "authenticate", "error", keys.size(), 0);
+            throw AuthRejection.AUTHENTICATION_FAILED.exception();
         }
         
-        // 如果 Redis 返回的是对象，直接转换
-        return JsonUtils.parseObject(JsonUtils.toJsonString(value), DefaultSession.class);
+        long code = ((Number) result.get(0)).longValue();
+        if (code == 1) {
+            finish(event, "authenticate", "rejected", keys.size(), 0);
+            throw AuthRejection.TOKEN_REVOKED.exception();
+        }
+        if (code == 2) {
+            finish(event, "authenticate", "miss", keys.size(), 0);
+            throw AuthRejection.SESSION_NOT_FOUND.exception();
+        }
+        
+        Session session = SessionHashMapper.fromEntries(result, 1);
+        long payloadBytes = payloadSize(result.subList(1, result.size()));
+        if (code == 3) {
+            try {
+                SessionValidator.validate(session, host, sessionTimeout, validateDevice, validateStatus);
+            } catch (RuntimeException e) {
+                finish(event, "authenticate", "rejected", keys.size(), payloadBytes);
+                throw e;
+            }
+            finish(event, "authenticate", "fallback", keys.size(), payloadBytes);
+            // 脚本只识别标准状态码与格式，Java 端校验通过时按常规方式写回
+            session.touch();
+            if (renewalInterval != null) {
+                session.renewal(renewalInterval);
+            }
+            update(session);
+            return session;
+        }
+        if (code == 4) {
+            // 访问时间变化未超过写回粒度，交给延迟写回
+            finish(event, "authenticate", "deferred", keys.size(), payloadBytes);
+            session.touch();
+            if (renewalInterval != null) {
+                session.renewal(renewalInterval);
+            }
+            writeBehind.defer(session);
+            return session;
+        }
+        finish(event, "authenticate", "success", keys.size(), payloadBytes);
+        return session;
+    }
+    
+    /**
+     * Cluster 上逐个读取（每次调用只声明一个 Key），结果格式与批量读取脚本一致
+     */
+    private List<Object> loadEach(List<String> keys) {
+        List<Object> result = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            result.add(load(key));
+        }
+        return result;
+    }
+    
+    private static long payloadSize(Collection<?> values) {
+        long size = 0;
+        for (Object value : values) {
+            if (value instanceof String) {
+                size += ((String) value).length();
+            }
+        }
+        return size;
     }
     
     @Override
     public Set<String> getUserSessionKeys(Long userId) {
+        SessionStoreEvent event = JfrEvents.sessionStore();
         String userSessionsKey = getUserSessionsKey(userId);
-        Set<Object> sessionKeys = redisTemplate.opsForSet().members(userSessionsKey);
+        Set<Object> sessionKeys;
+        try {
+            sessionKeys = redisTemplate.opsForSet().members(userSessionsKey);
+        } catch (RuntimeException e) {
+            finish(event, "getUserSessionKeys", "error", 0, 0);
+            throw e;
+        }
         
         if (sessionKeys == null || sessionKeys.isEmpty()) {
+            finish(event, "getUserSessionKeys", "miss", 0, 0);
             return new java.util.HashSet<>();
         }
         
@@ -120,38 +652,250 @@ public class RedisSessionDao implements SessionDao {
                 result.add(sessionKey.toString());
             }
         }
+        finish(event, "getUserSessionKeys", "success", result.size(), 0);
         return result;
     }
     
+    /**
+     * 读取用户 Session 集合后一次往返批量删除（删除只需要 sessionKey 与 userId，不再逐个读取 Session）
+     */
     @Override
     public void deleteUserSessions(Long userId) {
-        Set<String> sessionKeys = getUserSessionKeys(userId);
-        for (String sessionKey : sessionKeys) {
-            Session session = get(sessionKey);
-            if (session != null) {
-                delete(session);
+        SessionStoreEvent event = JfrEvents.sessionStore();
+        long count = 0;
+        try {
+            Set<String> sessionKeys = getUserSessionKeys(userId);
+            List<Session> sessions = new ArrayList<>(sessionKeys.size());
+            for (String sessionKey : sessionKeys) {
+                DefaultSession session = new DefaultSession();
+                session.setSessionKey(sessionKey);
+                session.setUserId(userId);
+                sessions.add(session);
+            }
+            if (!sessions.isEmpty()) {
+                count = doDeleteAll(sessions);
             }
+        } catch (RuntimeException e) {
+            finish(event, "deleteUserSessions", "error", (int) count, 0);
+            throw e;
         }
+        finish(event, "deleteUserSessions", "success", (int) count, 0);
     }
     
     @Override
     public java.util.List<Session> listAllSessions() {
-        java.util.List<Session> sessions = new java.util.ArrayList<>();
-        Set<String> keys = redisTemplate.keys(SESSION_KEY_PREFIX + "*");
-        if (keys == null || keys.isEmpty()) {
+        SessionStoreEvent event = JfrEvents.sessionStore();
+        try {
+            java.util.List<Session> sessions = doListAllSessions();
+            finish(event, "listAllSessions", "success", sessions.size(), 0);
+            return sessions;
+        } catch (RuntimeException e) {
+            finish(event, "listAllSessions", "error", 0, 0);
+            throw e;
+        }
+    }
+    
+    /**
+     * 逐页 SCAN 读取全部 Session（按 Session Key 去重）
+     */
+    private java.util.List<Session> doListAllSessions() {
+        if (isCluster()) {
+            return listOnCluster();
+        }
+        Map<String, Session> sessions = new LinkedHashMap<>();
+        String cursor = SessionPage.START;
+        do {
+            SessionPage page = doScanSessions(cursor, LIST_SCAN_COUNT);
+            for (Session session : page.getSessions()) {
+                sessions.put(session.getSessionKey(), session);
+            }
+            cursor = page.getCursor();
+        } while (!SessionPage.START.equals(cursor));
+        return new ArrayList<>(sessions.values());
+    }
+    
+    /**
+     * Cluster 上脚本内的 SCAN 只能遍历一个节点，改为由客户端在每个主节点执行 KEYS 后逐个读取
+     */
+    private java.util.List<Session> listOnCluster() {
+        Set<String> keys = stringRedisTemplate.keys(SESSION_KEY_PREFIX + "*");
+        java.util.List<Session> sessions = new ArrayList<>();
+        if (keys == null) {
             return sessions;
         }
         for (String key : keys) {
-            Object value = redisTemplate.opsForValue().get(key);
-            if (value == null) {
-                continue;
+            Session session = SessionHashMapper.fromEntries(load(key), 0);
+            if (session != null) {
+                sessions.add(session);
             }
-            if (value instanceof String) {
-                sessions.add(JsonUtils.parseObject((String) value, DefaultSession.class));
-            } else {
-                sessions.add(JsonUtils.parseObject(JsonUtils.toJsonString(value), DefaultSession.class));
+        }
+        return sessions;
+    }
+    
+    /**
+     * 分页扫描：一次往返内执行一次 SCAN 并读取本批 Session（见 META-INF/scripts/session-scan.lua）
+     */
+    @Override
+    public SessionPage scanSessions(String cursor, int count) {
+        SessionStoreEvent event = JfrEvents.sessionStore();
+        try {
+            SessionPage page = isCluster() ? SessionDao.super.scanSessions(cursor, count) : doScanSessions(cursor, count);
+            finish(event, "scanSessions", "success", page.getSessions().size(), 0);
+            return page;
+        } catch (RuntimeException e) {
+            finish(event, "scanSessions", "error", 0, 0);
+            throw e;
+        }
+    }
+    
+    @SuppressWarnings("unchecked")
+    private SessionPage doScanSessions(String cursor, int count) {
+        List<Object> result = (List<Object>) stringRedisTemplate.execute(SCAN_SCRIPT, Collections.emptyList(),
+                cursor != null ? cursor : SessionPage.START, SESSION_KEY_PREFIX + "*", String.valueOf(Math.max(1, count)));
+        if (result == null || result.isEmpty()) {
+            return new SessionPage(new ArrayList<>(), SessionPage.START);
+        }
+        return new SessionPage(decodeSessions(result), String.valueOf(result.get(0)));
+    }
+    
+    /**
+     * 解析脚本返回的 {头部, Session...}：Hash 的 HGETALL 结果或旧版本的 JSON 字符串
+     */
+    private static List<Session> decodeSessions(List<Object> result) {
+        List<Session> sessions = new ArrayList<>(result.size());
+        for (int i = 1; i < result.size(); i++) {
+            Object value = result.get(i);
+            Session session = value instanceof List
+                    ? SessionHashMapper.fromEntries((List<?>) value, 0)
+                    : parseLegacy((String) value);
+            if (session != null) {
+                sessions.add(session);
             }
         }
         return sessions;
     }
+    
+    /**
+     * 按索引分页查询：每页只读取本页的 Session（见 META-INF/scripts/session-page.lua）
+     * 指定用户时读取用户索引（同时过滤状态），只指定状态时读取状态索引，否则读取时间索引
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public PageResult<Session> pageSessions(Long userId, Integer status, int pageNum, int pageSize) {
+        SessionStoreEvent event = JfrEvents.sessionStore();
+        try {
+            if (isCluster()) {
+                // Cluster 上不维护索引
+                PageResult<Session> page = SessionDao.super.pageSessions(userId, status, pageNum, pageSize);
+                finish(event, "pageSessions", "success", page.getList().size(), 0);
+                return page;
+            }
+            ensureIndexed();
+            String indexKey;
+            String statusFilter = "";
+            if (userId != null) {
+                indexKey = SessionIndexKeys.userIndexKey(userId);
+                statusFilter = status != null ? String.valueOf(status) : "";
+            } else if (status != null) {
+                indexKey = SessionIndexKeys.statusIndexKey(status);
+            } else {
+                indexKey = SessionIndexKeys.TIME_INDEX_KEY;
+            }
+            List<Object> result = (List<Object>) stringRedisTemplate.execute(PAGE_SCRIPT,
+                    Collections.singletonList(indexKey), SESSION_KEY_PREFIX,
+                    String.valueOf((long) (pageNum - 1) * pageSize), String.valueOf(pageSize), statusFilter);
+            if (result == null || result.isEmpty()) {
+                finish(event, "pageSessions", "miss", 0, 0);
+                return PageResult.of(new ArrayList<>(), 0L, pageNum, pageSize);
+            }
+            List<Session> sessions = decodeSessions(result);
+            finish(event, "pageSessions", "success", sessions.size(), 0);
+            return PageResult.of(sessions, ((Number) result.get(0)).longValue(), pageNum, pageSize);
+        } catch (RuntimeException e) {
+            finish(event, "pageSessions", "error", 0, 0);
+            throw e;
+        }
+    }
+    
+    /**
+     * 升级后首次查询时为已有 Session 补建索引（多个节点同时补建时结果相同），完成后写入标记
+     */
+    private void ensureIndexed() {
+        if (indexReady) {
+            return;
+        }
+        if (!Boolean.TRUE.equals(stringRedisTemplate.hasKey(SessionIndexKeys.READY_KEY))) {
+            int count = rebuildIndexes();
+            stringRedisTemplate.opsForValue().set(SessionIndexKeys.READY_KEY, String.valueOf(System.currentTimeMillis()));
+            logger.info("Session 索引补建完成，共 {} 个 Session", count);
+        }
+        indexReady = true;
+    }
+    
+    /**
+     * 按 SCAN 批次为全部 Session 建立索引，尚未迁移的旧版本 Session 先迁移为 Hash
+     * 
+     * @return 处理的 Session 数量
+     */
+    public int rebuildIndexes() {
+        if (isCluster()) {
+            // Cluster 上不维护索引
+            return 0;
+        }
+        int count = 0;
+        String cursor = SessionPage.START;
+        do {
+            SessionPage page = doScanSessions(cursor, LIST_SCAN_COUNT);
+            List<Object> skipped = index(page.getSessions());
+            if (!skipped.isEmpty()) {
+                List<Session> migrated = new ArrayList<>(skipped.size());
+                for (Object member : skipped) {
+                    Session session = SessionHashMapper.fromEntries(load(getSessionKey(String.valueOf(member))), 0);
+                    if (session != null) {
+                        migrated.add(session);
+                    }
+                }
+                index(migrated);
+            }
+            count += page.getSessions().size();
+            cursor = page.getCursor();
+        } while (!SessionPage.START.equals(cursor));
+        return count;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private List<Object> index(List<Session> sessions) {
+        if (sessions.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> keys = SessionIndexKeys.sharedIndexKeys();
+        List<String> args = new ArrayList<>(sessions.size() + 1);
+        args.add(String.valueOf(keys.size() - 2));
+        for (Session session : sessions) {
+            keys.add(getSessionKey(session.getSessionKey()));
+            keys.add(SessionIndexKeys.userIndexKey(session.getUserId()));
+            args.add(session.getSessionKey());
+        }
+        List<Object> skipped = (List<Object>) stringRedisTemplate.execute(INDEX_SCRIPT, keys, args.toArray());
+        return skipped != null ? skipped : Collections.emptyList();
+    }
+    
+    /**
+     * 解析尚未迁移的旧版本 Session（Jackson2JsonRedisSerializer 写入的 JSON 字符串）
+     */
+    private static Session parseLegacy(String value) {
+        try {
+            String sessionJson = value.startsWith("\"") ? JsonUtils.parseObject(value, String.class) : value;
+            return JsonUtils.parseObject(sessionJson, DefaultSession.class);
+        } catch (RuntimeException e) {
+            logger.warn("无法解析的 Session: {}", e.getMessage());
+            return null;
+        }
+    }
+    
+    private static void finish(SessionStoreEvent event, String operation, String outcome, int keyCount, long payloadBytes) {
+        if (event != null) {
+            event.finish(operation, outcome, keyCount, payloadBytes);
+        }
+    }
 }
@@ -1,6 +1,9 @@
 package com.kite.authenticator.session.dao;
 
 import com.kite.authenticator.session.Session;
+import com.kite.authenticator.session.SessionPage;
+import com.kite.authenticator.session.enums.UserStatus;
+import com.kite.common.util.PageResult;
 
 /**
  * Session 数据访问接口
@@ -19,16 +22,76 @@ public interface SessionDao {
      */
     void update(Session session);
     
+    /**
+     * 写回 Session 的状态与操作时间
+     * 默认整体更新；实现可以只更新这两个字段
+     */
+    default void updateStatus(Session session) {
+        update(session);
+    }
+    
+    /**
+     * 批量写回 Session 的状态与操作时间
+     * 默认逐个写回；实现应在一次往返内完成
+     */
+    default void updateStatusAll(java.util.Collection<Session> sessions) {
+        for (Session session : sessions) {
+            updateStatus(session);
+        }
+    }
+    
+    /**
+     * 写回 Session 的访问时间与过期时间
+     * 默认整体更新；实现可以只更新这两个字段，避免覆盖其他节点对状态的修改
+     */
+    default void touch(Session session) {
+        update(session);
+    }
+    
+    /**
+     * 批量写回 Session 的访问时间与过期时间
+     */
+    default void touchAll(java.util.Collection<Session> sessions) {
+        for (Session session : sessions) {
+            touch(session);
+        }
+    }
+    
     /**
      * 删除 Session
      */
     void delete(Session session);
     
+    /**
+     * 批量删除 Session
+     * 默认逐个删除；实现应在一次往返内完成
+     */
+    default void deleteAll(java.util.Collection<Session> sessions) {
+        for (Session session : sessions) {
+            delete(session);
+        }
+    }
+    
     /**
      * 根据 SessionKey 获取 Session
      */
     Session get(String sessionKey);
     
+    /**
+     * 批量获取 Session，不存在的 Session 不出现在结果中
+     * 默认逐个获取；实现应在一次往返内完成
+     */
+    default java.util.List<Session> getAll(java.util.Collection<String> sessionKeys) {
+        java.util.List<Session> sessions = new java.util.ArrayList<>(sessionKeys.size());
+        for (String sessionKey : sessionKeys) {
+            Session session = get(sessionKey);
+            if (session != null) {
+                sessions.add(session);
+            }
+        }
+        return sessions;
+    }
+    
     /**
      * 根据用户ID获取所有 Session Key
      */
@@ -43,4 +106,58 @@ public interface SessionDao {
      * 获取所有 Session 列表
      */
     java.util.List<Session> listAllSessions();
+    
+    /**
+     * 分页扫描 Session（游标可恢复，扫描过程不阻塞存储）
+     * 默认基于 {@link #listAllSessions()} 按偏移量分页，实现应改为存储端游标
+     * 
+     * @param cursor 游标，首次为 {@link SessionPage#START}
+     * @param count 每页数量（提示值）
+     */
+    default SessionPage scanSessions(String cursor, int count) {
+        java.util.List<Session> all = listAllSessions();
+        int from = cursor == null || SessionPage.START.equals(cursor) ? 0 : Integer.parseInt(cursor);
+        int to = Math.min(from + count, all.size());
+        if (from >= to) {
+            return new SessionPage(new java.util.ArrayList<>(), SessionPage.START);
+        }
+        return new SessionPage(new java.util.ArrayList<>(all.subList(from, to)),
+                to < all.size() ? String.valueOf(to) : SessionPage.START);
+    }
+    
+    /**
+     * 按最后操作时间倒序分页查询 Session（operateAt，缺失时依次取 lastAccessTime、startTime）
+     * 默认基于 {@link #listAllSessions()} 在内存中过滤、排序与分页，实现应改为存储端索引
+     * 
+     * @param userId 用户ID（为空时不过滤）
+     * @param status Session 状态（为空时不过滤）
+     * @param pageNum 页码（从 1 开始）
+     * @param pageSize 每页数量
+     */
+    default PageResult<Session> pageSessions(Long userId, Integer status, int pageNum, int pageSize) {
+        java.util.List<Session> sessions = new java.util.ArrayList<>();
+        for (Session session : listAllSessions()) {
+            if ((userId == null || userId.equals(session.getUserId()))
+                    && (status == null || status.equals(UserStatus.fromCode(session.getStatus()).getCode()))) {
+                sessions.add(session);
+            }
+        }
+        sessions.sort(java.util.Comparator.comparingLong(SessionDao::sortTime).reversed());
+        int from = Math.min((pageNum - 1) * pageSize, sessions.size());
+        int to = Math.min(from + pageSize, sessions.size());
+        return PageResult.of(new java.util.ArrayList<>(sessions.subList(from, to)), (long) sessions.size(), pageNum, pageSize);
+    }
+    
+    /**
+     * 分页排序使用的最后操作时间
+     */
+    static long sortTime(Session session) {
+        if (session.getOperateAt() != null) {
+            return session.getOperateAt();
+        }
+        if (session.getLastAccessTime() != null) {
+            return session.getLastAccessTime();
+        }
+        return session.getStartTime() != null ? session.getStartTime() : 0L;
+    }
 }
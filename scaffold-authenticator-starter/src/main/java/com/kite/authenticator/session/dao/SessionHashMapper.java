@@ -0,0 +1,102 @@
+package com.kite.authenticator.session.dao;
+
+import com.kite.authenticator.session.DefaultSession;
+import com.kite.authenticator.session.Session;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Session 与 Redis Hash 字段的相互转换
+ * 每个 Session 存为一个 Hash，字段名与 {@link DefaultSession} 的属性名一致，值为十进制数字或原始字符串（不经 JSON 编码），
+ * 修改状态或访问时间时只需 HSET 变化的字段。
+ *
+ * @author yourname
+ */
+public final class SessionHashMapper {
+
+    public static final String SESSION_KEY = "sessionKey";
+    public static final String USER_ID = "userId";
+    public static final String DEVICE_ID = "deviceId";
+    public static final String EXPIRE_AT = "expireAt";
+    public static final String LAST_ACCESS_TIME = "lastAccessTime";
+    public static final String STATUS = "status";
+    public static final String START_TIME = "startTime";
+    public static final String OPERATE_AT = "operateAt";
+
+    private SessionHashMapper() {
+    }
+
+    /**
+     * Session 转为 Hash 字段（值为 null 的属性不写入）
+     */
+    public static Map<String, String> toHash(Session session) {
+        Map<String, String> hash = new LinkedHashMap<>();
+        put(hash, SESSION_KEY, session.getSessionKey());
+        put(hash, USER_ID, session.getUserId());
+        put(hash, DEVICE_ID, session.getDeviceId());
+        put(hash, EXPIRE_AT, session.getExpireAt());
+        put(hash, LAST_ACCESS_TIME, session.getLastAccessTime());
+        put(hash, STATUS, session.getStatus());
+        put(hash, START_TIME, session.getStartTime());
+        put(hash, OPERATE_AT, session.getOperateAt());
+        return hash;
+    }
+
+    /**
+     * 由 HGETALL 的结果还原 Session，结果为空时返回 null
+     */
+    public static Session fromHash(Map<?, ?> hash) {
+        if (hash == null || hash.isEmpty()) {
+            return null;
+        }
+        DefaultSession session = new DefaultSession();
+        session.setSessionKey(string(hash.get(SESSION_KEY)));
+        session.setUserId(toLong(hash.get(USER_ID)));
+        session.setDeviceId(string(hash.get(DEVICE_ID)));
+        session.setExpireAt(toLong(hash.get(EXPIRE_AT)));
+        session.setLastAccessTime(toLong(hash.get(LAST_ACCESS_TIME)));
+        Long status = toLong(hash.get(STATUS));
+        session.setStatus(status != null ? status.intValue() : null);
+        session.setStartTime(toLong(hash.get(START_TIME)));
+        session.setOperateAt(toLong(hash.get(OPERATE_AT)));
+        return session;
+    }
+
+    /**
+     * 由脚本返回的扁平字段列表（field1, value1, field2, value2...）还原 Session
+     *
+     * @param entries 脚本返回值
+     * @param offset 字段列表在返回值中的起始下标
+     */
+    public static Session fromEntries(List<?> entries, int offset) {
+        if (entries == null || entries.size() <= offset) {
+            return null;
+        }
+        Map<Object, Object> hash = new HashMap<>();
+        for (int i = offset; i + 1 < entries.size(); i += 2) {
+            hash.put(string(entries.get(i)), entries.get(i + 1));
+        }
+        return fromHash(hash);
+    }
+
+    private static void put(Map<String, String> hash, String field, Object value) {
+        if (value != null) {
+            hash.put(field, value.toString());
+        }
+    }
+
+    private static String string(Object value) {
+        return value != null ? value.toString() : null;
+    }
+
+    private static Long toLong(Object value) {
+        if (value == null) {
+            return null;
+        }
+        String text = value.toString();
+        return text.isEmpty() ? null : Long.valueOf(text);
+    }
+}
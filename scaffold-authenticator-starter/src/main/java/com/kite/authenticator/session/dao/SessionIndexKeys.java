@@ -0,0 +1,78 @@
+package com.kite.authenticator.session.dao;
+
+import com.kite.authenticator.session.enums.UserStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Session 二级索引的 Key
+ * 索引均为 Sorted Set，成员为 Session Key，分值为最后操作时间（operateAt，缺失时依次取 lastAccessTime、startTime）：
+ * <ul>
+ *     <li>{@code authc:session-index:time}：全部 Session</li>
+ *     <li>{@code authc:session-index:user:{userId}}：指定用户的 Session（过期时间与用户 Session 集合一致）</li>
+ *     <li>{@code authc:session-index:status:{status}}：指定状态的 Session</li>
+ * </ul>
+ * 另有 {@code authc:session-index:expire}（分值为过期时间），用于清理已过期 Session 留下的索引成员。
+ * 索引 Key 不使用 {@code authc:session:} 前缀，避免被 Session 的 SCAN 匹配。
+ *
+ * @author yourname
+ */
+public final class SessionIndexKeys {
+
+    public static final String INDEX_KEY_PREFIX = "authc:session-index:";
+    public static final String TIME_INDEX_KEY = INDEX_KEY_PREFIX + "time";
+    public static final String EXPIRE_INDEX_KEY = INDEX_KEY_PREFIX + "expire";
+    public static final String USER_INDEX_KEY_PREFIX = INDEX_KEY_PREFIX + "user:";
+    public static final String STATUS_INDEX_KEY_PREFIX = INDEX_KEY_PREFIX + "status:";
+
+    /**
+     * 索引已建立的标记（升级后首次分页查询时为已有 Session 补建索引）
+     */
+    public static final String READY_KEY = INDEX_KEY_PREFIX + "ready";
+
+    private SessionIndexKeys() {
+    }
+
+    public static String userIndexKey(Long userId) {
+        return USER_INDEX_KEY_PREFIX + userId;
+    }
+
+    public static String statusIndexKey(Integer status) {
+        return STATUS_INDEX_KEY_PREFIX + status;
+    }
+
+    /**
+     * 全部状态的索引 Key（按 {@link UserStatus} 声明顺序）
+     */
+    public static List<String> statusIndexKeys() {
+        List<String> keys = new ArrayList<>(UserStatus.values().length);
+        for (UserStatus status : UserStatus.values()) {
+            keys.add(statusIndexKey(status.getCode()));
+        }
+        return keys;
+    }
+
+    /**
+     * 批量脚本 KEYS 头部的公共索引 Key：时间索引、过期索引、全部状态索引（其后为各 Session 自己的 Key）
+     */
+    public static List<String> sharedIndexKeys() {
+        List<String> keys = new ArrayList<>(UserStatus.values().length + 2);
+        keys.add(TIME_INDEX_KEY);
+        keys.add(EXPIRE_INDEX_KEY);
+        keys.addAll(statusIndexKeys());
+        return keys;
+    }
+
+    /**
+     * 写入单个 Session 时脚本所需的索引 Key：时间索引、过期索引、用户索引、全部状态索引
+     */
+    public static List<String> indexKeys(Long userId) {
+        List<String> keys = new ArrayList<>(UserStatus.values().length + 3);
+        keys.add(TIME_INDEX_KEY);
+        keys.add(EXPIRE_INDEX_KEY);
+        keys.add(userIndexKey(userId));
+        keys.addAll(statusIndexKeys());
+        return keys;
+    }
+}
@@ -0,0 +1,63 @@
+package com.kite.authenticator.session.dao;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scripting.support.ResourceScriptSource;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Session Lua 脚本加载（阻塞式与响应式 Dao 共用）
+ * 读取 Session 的脚本需要把旧版本的 JSON 字符串迁移为 Hash，迁移逻辑只在
+ * {@code META-INF/scripts/session-migrate.lua} 中维护，由 {@link #loadWithMigration} 拼接在脚本正文之前。
+ *
+ * @author yourname
+ */
+public final class SessionScripts {
+
+    /**
+     * 旧格式迁移的公共前导（定义 FIELDS 与 migrate(key)）
+     */
+    public static final String MIGRATE_PRELUDE = "META-INF/scripts/session-migrate.lua";
+
+    private SessionScripts() {
+    }
+
+    /**
+     * 加载脚本
+     *
+     * @param path 类路径下的脚本路径
+     * @param resultType 返回值类型
+     */
+    public static <T> RedisScript<T> load(String path, Class<T> resultType) {
+        DefaultRedisScript<T> script = new DefaultRedisScript<>();
+        script.setScriptSource(new ResourceScriptSource(new ClassPathResource(path)));
+        script.setResultType(resultType);
+        return script;
+    }
+
+    /**
+     * 加载脚本，并在正文之前拼接旧格式迁移前导
+     *
+     * @param path 类路径下的脚本路径
+     * @param resultType 返回值类型
+     */
+    public static <T> RedisScript<T> loadWithMigration(String path, Class<T> resultType) {
+        DefaultRedisScript<T> script = new DefaultRedisScript<>();
+        script.setScriptText(read(MIGRATE_PRELUDE) + "\n" + read(path));
+        script.setResultType(resultType);
+        return script;
+    }
+
+    private static String read(String path) {
+        try (InputStream in = new ClassPathResource(path).getInputStream()) {
+            return StreamUtils.copyToString(in, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new IllegalStateException("读取 Lua 脚本失败: " + path, e);
+        }
+    }
+}
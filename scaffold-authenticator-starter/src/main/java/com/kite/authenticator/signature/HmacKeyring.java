@@ -0,0 +1,191 @@
+package com.kite.authenticator.signature;
+
+import com.kite.authenticator.util.TokenHashUtils;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * HMAC 密钥环
+ * 启动时预先派生全部密钥并构建线程安全的解析器，按 JWT Header 中的 kid 索引，
+ * 请求期间不再重复派生密钥或创建解析器。
+ * <p>
+ * 签名始终使用主密钥（kite.auth.secret），验证时同时接受 accepted-secrets 中的密钥，
+ * 用于不中断在线 Token 的密钥轮换。
+ *
+ * @author yourname
+ */
+public class HmacKeyring {
+
+    /**
+     * 按主密钥索引的密钥环注册表，供基于密钥字符串的静态工具方法复用
+     */
+    private static final Map<String, HmacKeyring> REGISTRY = new ConcurrentHashMap<>();
+
+    private final String primarySecret;
+    private final KeyEntry primary;
+    private final Map<String, KeyEntry> entries;
+    private final JwtParser resolvingParser;
+
+    public HmacKeyring(String primarySecret) {
+        this(primarySecret, Collections.emptyList());
+    }
+
+    /**
+     * @param primarySecret 主密钥（用于签名和验证）
+     * @param acceptedSecrets 仅用于验证的密钥（密钥轮换期间使用）
+     */
+    public HmacKeyring(String primarySecret, List<String> acceptedSecrets) {
+        if (primarySecret == null || primarySecret.isEmpty()) {
+            throw new IllegalArgumentException("JWT 密钥不能为空");
+        }
+        this.primarySecret = primarySecret;
+        Map<String, KeyEntry> map = new LinkedHashMap<>();
+        this.primary = new KeyEntry(primarySecret);
+        map.put(primary.kid, primary);
+        if (acceptedSecrets != null) {
+            for (String secret : acceptedSecrets) {
+                if (secret != null && !secret.isEmpty() && !map.containsKey(kidOf(secret))) {
+                    KeyEntry entry = new KeyEntry(secret);
+                    map.put(entry.kid, entry);
+                }
+            }
+        }
+        this.entries = Collections.unmodifiableMap(map);
+        this.resolvingParser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new KidResolver())
+                .build();
+    }
+
+    /**
+     * 获取指定密钥对应的密钥环
+     * 优先返回已注册的密钥环（包含轮换密钥），否则创建并缓存单密钥的密钥环
+     */
+    public static HmacKeyring of(String secret) {
+        if (secret == null || secret.isEmpty()) {
+            throw new IllegalArgumentException("JWT 密钥不能为空");
+        }
+        return REGISTRY.computeIfAbsent(secret, HmacKeyring::new);
+    }
+
+    /**
+     * 注册密钥环，使基于主密钥字符串的静态调用也能识别轮换密钥
+     */
+    public static void register(HmacKeyring keyring) {
+        REGISTRY.put(keyring.primarySecret, keyring);
+    }
+
+    /**
+     * 计算密钥的 kid（SHA-256 前 16 位十六进制，不泄露密钥本身）
+     */
+    public static String kidOf(String secret) {
+        return TokenHashUtils.sha256Hex(secret).substring(0, 16);
+    }
+
+    /**
+     * 主密钥的 kid
+     */
+    public String getPrimaryKid() {
+        return primary.kid;
+    }
+
+    /**
+     * 主密钥（用于签名）
+     */
+    public SecretKey getSigningKey() {
+        return primary.key;
+    }
+
+    /**
+     * 可用于验证的 kid 列表
+     */
+    public List<String> getKids() {
+        return new ArrayList<>(entries.keySet());
+    }
+
+    /**
+     * 解析并验证 Token
+     * 带 kid 的 Token 直接定位密钥；不带 kid 的旧 Token 先用主密钥验证，失败后依次尝试轮换密钥
+     */
+    public Jws<Claims> parse(String token) {
+        try {
+            return resolvingParser.parseClaimsJws(token);
+        } catch (SignatureException e) {
+            if (entries.size() == 1 || hasKid(token)) {
+                throw e;
+            }
+            for (KeyEntry entry : entries.values()) {
+                if (entry == primary) {
+                    continue;
+                }
+                try {
+                    return entry.parser.parseClaimsJws(token);
+                } catch (SignatureException ignored) {
+                    // 尝试下一个密钥
+                }
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 仅在验签失败的兜底路径调用，判断 Header 中是否声明了 kid
+     */
+    private static boolean hasKid(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0) {
+            return false;
+        }
+        try {
+            byte[] header = Base64.getUrlDecoder().decode(token.substring(0, dot));
+            return new String(header, StandardCharsets.UTF_8).contains("\"kid\"");
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private class KidResolver extends SigningKeyResolverAdapter {
+
+        @Override
+        public Key resolveSigningKey(JwsHeader header, Claims claims) {
+            String kid = header.getKeyId();
+            if (kid == null) {
+                return primary.key;
+            }
+            KeyEntry entry = entries.get(kid);
+            if (entry == null) {
+                throw new SignatureException("未知的密钥 kid: " + kid);
+            }
+            return entry.key;
+        }
+    }
+
+    private static class KeyEntry {
+
+        private final String kid;
+        private final SecretKey key;
+        private final JwtParser parser;
+
+        KeyEntry(String secret) {
+            this.kid = kidOf(secret);
+            this.key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+            this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        }
+    }
+}
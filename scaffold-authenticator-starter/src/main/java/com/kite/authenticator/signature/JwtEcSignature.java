@@ -0,0 +1,147 @@
+package com.kite.authenticator.signature;
+
+import com.kite.authenticator.Signature;
+import com.kite.authenticator.cache.LoginUserCache;
+import com.kite.authenticator.context.LoginUser;
+import com.kite.authenticator.enums.TokenProfile;
+import com.kite.authenticator.exception.AuthRejection;
+import com.kite.authenticator.util.JwtUtils;
+import com.kite.authenticator.util.TokenHashUtils;
+import com.kite.common.exception.BusinessException;
+import com.kite.common.response.ResultCode;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.springframework.util.StringUtils;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+
+/**
+ * JWT ECDSA 签名实现
+ * 使用 ES256（P-256 + SHA-256）算法，私钥签名、公钥验签。
+ * <p>
+ * 只配置公钥时为仅验证模式：网关或下游服务无需持有签名密钥、也无需回调认证服务即可本地验证 Token，
+ * 此时调用签发方法会抛出异常。非对称算法下 {@code key} 参数不参与签名与验证。
+ *
+ * @author yourname
+ */
+public class JwtEcSignature implements Signature {
+
+    private static final SignatureAlgorithm ALGORITHM = SignatureAlgorithm.ES256;
+
+    private final PrivateKey privateKey;
+    private final String kid;
+    private final JwtParser parser;
+    private final long expireTime;
+
+    /**
+     * Token 格式（默认：完整格式）
+     */
+    private TokenProfile tokenProfile = TokenProfile.FULL;
+
+    /**
+     * @param privateKey 私钥（为 null 时为仅验证模式）
+     * @param publicKey 公钥
+     * @param expireTime 默认过期时间（毫秒）
+     */
+    public JwtEcSignature(PrivateKey privateKey, PublicKey publicKey, long expireTime) {
+        if (publicKey == null) {
+            throw new IllegalArgumentException("ES256 公钥不能为空");
+        }
+        this.privateKey = privateKey;
+        this.kid = kidOf(publicKey);
+        this.parser = Jwts.parserBuilder().setSigningKey(publicKey).build();
+        this.expireTime = expireTime;
+    }
+
+    /**
+     * 创建仅验证模式的签名实现
+     */
+    public static JwtEcSignature verifyOnly(PublicKey publicKey) {
+        return new JwtEcSignature(null, publicKey, 0L);
+    }
+
+    /**
+     * 计算公钥的 kid（编码后 SHA-256 前 16 位十六进制）
+     */
+    public static String kidOf(PublicKey publicKey) {
+        return TokenHashUtils.toHex(sha256(publicKey.getEncoded())).substring(0, 16);
+    }
+
+    public void setTokenProfile(TokenProfile tokenProfile) {
+        this.tokenProfile = tokenProfile != null ? tokenProfile : TokenProfile.FULL;
+    }
+
+    /**
+     * 是否仅验证模式（未持有私钥）
+     */
+    public boolean isVerifyOnly() {
+        return privateKey == null;
+    }
+
+    public String getKid() {
+        return kid;
+    }
+
+    @Override
+    public String sign(LoginUser loginUser, String key) {
+        if (loginUser == null) {
+            throw new BusinessException(ResultCode.PARAM_ERROR.getCode(), "登录用户信息不能为空");
+        }
+
+        // 设置过期时间
+        if (loginUser.getExpireAt() == null) {
+            loginUser.setExpireAt(System.currentTimeMillis() + expireTime);
+        }
+
+        return sign(loginUser, key, null, expireTime);
+    }
+
+    @Override
+    public String sign(LoginUser loginUser, String key, String sessionKey, long expireTime) {
+        if (loginUser == null) {
+            throw new BusinessException(ResultCode.PARAM_ERROR.getCode(), "登录用户信息不能为空");
+        }
+        if (privateKey == null) {
+            throw new BusinessException(ResultCode.INTERNAL_SERVER_ERROR.getCode(), "当前节点为仅验证模式，不能签发 Token");
+        }
+
+        if (tokenProfile == TokenProfile.COMPACT) {
+            return JwtUtils.generateCompactToken(loginUser.getUserId(), sessionKey,
+                    LoginUserCache.authorizationVersion(loginUser), privateKey, kid, ALGORITHM, expireTime);
+        }
+        return JwtUtils.generateToken(loginUser, privateKey, kid, ALGORITHM, expireTime, sessionKey);
+    }
+
+    @Override
+    public String signRefresh(Long userId, String key, String sessionKey, long expireTime) {
+        if (privateKey == null) {
+            throw new BusinessException(ResultCode.INTERNAL_SERVER_ERROR.getCode(), "当前节点为仅验证模式，不能签发 Token");
+        }
+        return JwtUtils.generateRefreshToken(userId, sessionKey, privateKey, kid, ALGORITHM, expireTime);
+    }
+
+    @Override
+    public LoginUser verify(String token, String key) {
+        return verifyClaims(token, key).getLoginUser();
+    }
+
+    @Override
+    public VerifiedClaims verifyClaims(String token, String key) {
+        if (StringUtils.isEmpty(token)) {
+            throw AuthRejection.TOKEN_EMPTY.exception();
+        }
+        return JwtUtils.verify(token, parser);
+    }
+
+    private static byte[] sha256(byte[] data) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(data);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 算法不可用", e);
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package com.kite.authenticator.signature;
 
 import com.kite.authenticator.Signature;
+import com.kite.authenticator.cache.LoginUserCache;
 import com.kite.authenticator.context.LoginUser;
+import com.kite.authenticator.enums.TokenProfile;
+import com.kite.authenticator.exception.AuthRejection;
 import com.kite.authenticator.util.JwtUtils;
 import com.kite.common.exception.BusinessException;
 import com.kite.common.response.ResultCode;
+import io.jsonwebtoken.SignatureAlgorithm;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.util.StringUtils;
@@ -24,6 +28,16 @@ public class JwtHmacSignature implements Signature {
     @Value("${kite.auth.expire-time:604800000}")
     private Long expireTime;
     
+    /**
+     * 默认密钥对应的密钥环（预构建的密钥与解析器）
+     */
+    private HmacKeyring keyring;
+    
+    /**
+     * Token 格式（默认：完整格式）
+     */
+    private TokenProfile tokenProfile = TokenProfile.FULL;
+    
     public JwtHmacSignature() {
     }
     
@@ -31,6 +45,11 @@ public class JwtHmacSignature implements Signature {
         this.defaultSecret = defaultSecret;
     }
     
+    public JwtHmacSignature(HmacKeyring keyring, String defaultSecret) {
+        this.keyring = keyring;
+        this.defaultSecret = defaultSecret;
+    }
+    
     @Override
     public String sign(LoginUser loginUser, String key) {
         if (loginUser == null) {
@@ -47,13 +66,53 @@ public class JwtHmacSignature implements Signature {
             loginUser.setExpireAt(System.currentTimeMillis() + expireTime);
         }
         
-        return JwtUtils.generateToken(loginUser, secret, expireTime, null);
+        // 与带 SessionKey 的签发走同一套声明构建（含 COMPACT 格式）
+        return sign(loginUser, secret, null, expireTime);
+    }
+    
+    public void setTokenProfile(TokenProfile tokenProfile) {
+        this.tokenProfile = tokenProfile != null ? tokenProfile : TokenProfile.FULL;
+    }
+    
+    @Override
+    public String sign(LoginUser loginUser, String key, String sessionKey, long expireTime) {
+        if (loginUser == null) {
+            throw new BusinessException(ResultCode.PARAM_ERROR.getCode(), "登录用户信息不能为空");
+        }
+        
+        String secret = StringUtils.isEmpty(key) ? defaultSecret : key;
+        if (StringUtils.isEmpty(secret)) {
+            throw new BusinessException(ResultCode.PARAM_ERROR.getCode(), "JWT 密钥不能为空");
+        }
+        
+        if (tokenProfile == TokenProfile.COMPACT) {
+            return JwtUtils.generateCompactToken(loginUser.getUserId(), sessionKey,
+                    LoginUserCache.authorizationVersion(loginUser), resolveKeyring(secret), expireTime);
+        }
+        return JwtUtils.generateToken(loginUser, resolveKeyring(secret), expireTime, sessionKey);
+    }
+    
+    @Override
+    public String signRefresh(Long userId, String key, String sessionKey, long expireTime) {
+        String secret = StringUtils.isEmpty(key) ? defaultSecret : key;
+        if (StringUtils.isEmpty(secret)) {
+            throw new BusinessException(ResultCode.PARAM_ERROR.getCode(), "JWT 密钥不能为空");
+        }
+        
+        HmacKeyring keyring = resolveKeyring(secret);
+        return JwtUtils.generateRefreshToken(userId, sessionKey, keyring.getSigningKey(), keyring.getPrimaryKid(),
+                SignatureAlgorithm.HS256, expireTime);
     }
     
     @Override
     public LoginUser verify(String token, String key) {
+        return verifyClaims(token, key).getLoginUser();
+    }
+    
+    @Override
+    public VerifiedClaims verifyClaims(String token, String key) {
         if (StringUtils.isEmpty(token)) {
-            throw new BusinessException(ResultCode.UNAUTHORIZED.getCode(), "Token 不能为空");
+            throw AuthRejection.TOKEN_EMPTY.exception();
         }
         
         String secret = StringUtils.isEmpty(key) ? defaultSecret : key;
@@ -61,7 +120,17 @@ public class JwtHmacSignature implements Signature {
             throw new BusinessException(ResultCode.PARAM_ERROR.getCode(), "JWT 密钥不能为空");
         }
         
-        return JwtUtils.parseToken(token, secret);
+        return JwtUtils.verify(token, resolveKeyring(secret));
+    }
+    
+    /**
+     * 默认密钥直接使用预构建的密钥环，其他密钥从注册表获取（同样只构建一次）
+     */
+    private HmacKeyring resolveKeyring(String secret) {
+        if (keyring != null && secret.equals(defaultSecret)) {
+            return keyring;
+        }
+        return HmacKeyring.of(secret);
     }
 }
 
@@ -0,0 +1,134 @@
+package com.kite.authenticator.signature;
+
+import com.kite.authenticator.context.LoginUser;
+import com.kite.authenticator.util.JwtUtils;
+
+import java.io.Serializable;
+
+/**
+ * 已验证的 Token 声明
+ * Token 只解析、验签一次，Realm、Signature 与 Session 校验共同复用此结果
+ * 
+ * @author yourname
+ */
+public class VerifiedClaims implements Serializable {
+    
+    private static final long serialVersionUID = 1L;
+    
+    /**
+     * Token ID（jti）
+     */
+    private final String tokenId;
+    
+    /**
+     * 用户ID（sub）
+     */
+    private final Long userId;
+    
+    /**
+     * Session Key（可能为空）
+     */
+    private final String sessionKey;
+    
+    /**
+     * 登录用户信息（紧凑格式 Token 中为空）
+     */
+    private final LoginUser loginUser;
+    
+    /**
+     * 签发时间（时间戳，可能为空）
+     */
+    private final Long issuedAt;
+    
+    /**
+     * 过期时间（时间戳，可能为空）
+     */
+    private final Long expireAt;
+    
+    /**
+     * 授权版本号（仅紧凑格式 Token 携带）
+     */
+    private final Long authorizationVersion;
+    
+    /**
+     * Token 类型（typ，Access Token 为空）
+     */
+    private final String tokenType;
+    
+    public VerifiedClaims(String tokenId, Long userId, String sessionKey,
+                          LoginUser loginUser, Long issuedAt, Long expireAt) {
+        this(tokenId, userId, sessionKey, loginUser, issuedAt, expireAt, null);
+    }
+    
+    public VerifiedClaims(String tokenId, Long userId, String sessionKey,
+                          LoginUser loginUser, Long issuedAt, Long expireAt,
+                          Long authorizationVersion) {
+        this(tokenId, userId, sessionKey, loginUser, issuedAt, expireAt, authorizationVersion, null);
+    }
+    
+    public VerifiedClaims(String tokenId, Long userId, String sessionKey,
+                          LoginUser loginUser, Long issuedAt, Long expireAt,
+                          Long authorizationVersion, String tokenType) {
+        this.tokenId = tokenId;
+        this.userId = userId;
+        this.sessionKey = sessionKey;
+        this.loginUser = loginUser;
+        this.issuedAt = issuedAt;
+        this.expireAt = expireAt;
+        this.authorizationVersion = authorizationVersion;
+        this.tokenType = tokenType;
+    }
+    
+    public String getTokenId() {
+        return tokenId;
+    }
+    
+    public Long getUserId() {
+        return userId;
+    }
+    
+    public String getSessionKey() {
+        return sessionKey;
+    }
+    
+    public LoginUser getLoginUser() {
+        return loginUser;
+    }
+    
+    public Long getIssuedAt() {
+        return issuedAt;
+    }
+    
+    public Long getExpireAt() {
+        return expireAt;
+    }
+    
+    public Long getAuthorizationVersion() {
+        return authorizationVersion;
+    }
+    
+    public String getTokenType() {
+        return tokenType;
+    }
+    
+    /**
+     * 是否为 Refresh Token（只能用于刷新，不能访问业务接口）
+     */
+    public boolean isRefreshToken() {
+        return JwtUtils.TOKEN_TYPE_REFRESH.equals(tokenType);
+    }
+    
+    /**
+     * 是否为紧凑格式（不携带 LoginUser，需要由 Realm 按用户ID加载）
+     */
+    public boolean isCompact() {
+        return loginUser == null;
+    }
+    
+    /**
+     * 是否携带 SessionKey
+     */
+    public boolean hasSessionKey() {
+        return sessionKey != null && !sessionKey.isEmpty();
+    }
+}
@@ -1,6 +1,9 @@
 package com.kite.authenticator.token;
 
 import com.kite.authenticator.AuthenticationToken;
+import com.kite.authenticator.session.Session;
+import com.kite.authenticator.signature.VerifiedClaims;
+import com.kite.authenticator.util.TokenHashUtils;
 import lombok.Data;
 
 /**
@@ -23,6 +26,21 @@ public class HostAuthenticationToken implements AuthenticationToken {
      */
     private String host;
     
+    /**
+     * 已验证的 Token 声明（认证流程中由 Signature 填充，供 Realm 复用，避免重复解析）
+     */
+    private transient VerifiedClaims verifiedClaims;
+    
+    /**
+     * Token 指纹（SHA-256 十六进制，首次使用时计算，黑名单、验签缓存等共用）
+     */
+    private transient String fingerprint;
+    
+    /**
+     * 认证时加载并校验通过的 Session（未启用 Session 校验时为空）
+     */
+    private transient Session session;
+    
     public HostAuthenticationToken() {
     }
     
@@ -40,5 +58,12 @@ public class HostAuthenticationToken implements AuthenticationToken {
     public String getCredential() {
         return credential;
     }
+    
+    public String getFingerprint() {
+        if (fingerprint == null && credential != null) {
+            fingerprint = TokenHashUtils.sha256Hex(credential);
+        }
+        return fingerprint;
+    }
 }
 
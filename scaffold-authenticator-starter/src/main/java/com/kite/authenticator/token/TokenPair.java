@@ -0,0 +1,41 @@
+package com.kite.authenticator.token;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * Access Token 与 Refresh Token 令牌对
+ * 未启用 Refresh Token 时只包含 Access Token
+ * 
+ * @author yourname
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenPair implements Serializable {
+    
+    private static final long serialVersionUID = 1L;
+    
+    /**
+     * Access Token（访问业务接口）
+     */
+    private String accessToken;
+    
+    /**
+     * Access Token 过期时间（时间戳）
+     */
+    private Long accessExpireAt;
+    
+    /**
+     * Refresh Token（只用于刷新，未启用时为空）
+     */
+    private String refreshToken;
+    
+    /**
+     * Refresh Token 过期时间（时间戳，未启用时为空）
+     */
+    private Long refreshExpireAt;
+}
@@ -0,0 +1,60 @@
+package com.kite.authenticator.util;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 随机ID生成器
+ * 生成 128 位随机ID（32 位十六进制），用于 Session Key、JWT jti 与限流记录。
+ * UUID.randomUUID 共用一个 SecureRandom，高并发登录时在其内部锁上排队；
+ * 这里预先创建一组 SecureRandom（分段数为 CPU 核数的两倍，向上取 2 的幂），每次随机选取一个，竞争分散到各分段。
+ * 不按线程持有实例：虚拟线程每个请求一个，ThreadLocal 会为每次登录重新创建并播种 SecureRandom。
+ *
+ * @author yourname
+ */
+public final class IdGenerator {
+
+    private static final SecureRandom SEED_SOURCE = new SecureRandom();
+
+    private static final SecureRandom[] STRIPES = newStripes();
+
+    private static final int MASK = STRIPES.length - 1;
+
+    private IdGenerator() {
+    }
+
+    /**
+     * 生成 32 位十六进制随机ID
+     */
+    public static String nextId() {
+        byte[] bytes = new byte[16];
+        // SHA1PRNG 的 nextBytes 自带同步，只在同一分段上互斥
+        STRIPES[ThreadLocalRandom.current().nextInt() & MASK].nextBytes(bytes);
+        return TokenHashUtils.toHex(bytes);
+    }
+
+    private static SecureRandom[] newStripes() {
+        int stripes = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 2 - 1)) << 1;
+        SecureRandom[] randoms = new SecureRandom[Math.min(stripes, 64)];
+        for (int i = 0; i < randoms.length; i++) {
+            randoms[i] = newRandom();
+        }
+        return randoms;
+    }
+
+    private static SecureRandom newRandom() {
+        SecureRandom random;
+        try {
+            // 纯 Java 实现，不读取 /dev/urandom，各分段之间不共享状态
+            random = SecureRandom.getInstance("SHA1PRNG");
+        } catch (NoSuchAlgorithmException e) {
+            return new SecureRandom();
+        }
+        // nextBytes 不会像 generateSeed 那样可能等待 /dev/random
+        byte[] seed = new byte[32];
+        SEED_SOURCE.nextBytes(seed);
+        random.setSeed(seed);
+        return random;
+    }
+}
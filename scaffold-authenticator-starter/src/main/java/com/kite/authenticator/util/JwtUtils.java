@@ -1,22 +1,25 @@
 package com.kite.authenticator.util;
 
 import com.kite.authenticator.context.LoginUser;
+import com.kite.authenticator.exception.AuthRejection;
+import com.kite.authenticator.signature.HmacKeyring;
+import com.kite.authenticator.signature.VerifiedClaims;
 import com.kite.common.exception.BusinessException;
 import com.kite.common.response.ResultCode;
 import com.kite.common.util.JsonUtils;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import javax.crypto.SecretKey;
-import java.nio.charset.StandardCharsets;
+import java.security.Key;
 import java.util.Date;
-import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 /**
  * JWT 工具类
- * 使用 HMAC-SHA256 算法
+ * 默认使用 HMAC-SHA256 算法，密钥与解析器由 {@link HmacKeyring} 预先构建并复用；
+ * 非对称算法（ES256）通过指定密钥与解析器的重载方法使用
  * 
  * @author yourname
  */
@@ -24,6 +27,48 @@ public class JwtUtils {
     
     private static final Logger logger = LoggerFactory.getLogger(JwtUtils.class);
     
+    /**
+     * 非预期解析异常的限流日志（畸形 Token 可能大量出现）
+     */
+    private static final RateLimitedLogger PARSE_ERROR_LOGGER = new RateLimitedLogger(logger, 10, TimeUnit.SECONDS);
+    
+    /**
+     * 是否包含且仅包含两个分隔点（三段非空）
+     */
+    private static boolean hasJwsStructure(String token) {
+        int first = token.indexOf('.');
+        if (first <= 0) {
+            return false;
+        }
+        int second = token.indexOf('.', first + 1);
+        return second > first + 1 && second < token.length() - 1 && token.indexOf('.', second + 1) < 0;
+    }
+    
+    /**
+     * 紧凑格式声明：用户ID
+     */
+    public static final String CLAIM_USER_ID = "uid";
+    
+    /**
+     * 紧凑格式声明：Session Key
+     */
+    public static final String CLAIM_SESSION_ID = "sid";
+    
+    /**
+     * 紧凑格式声明：授权版本号
+     */
+    public static final String CLAIM_AUTHORIZATION_VERSION = "ver";
+    
+    /**
+     * Token 类型声明
+     */
+    public static final String CLAIM_TOKEN_TYPE = "typ";
+    
+    /**
+     * Token 类型：Refresh Token
+     */
+    public static final String TOKEN_TYPE_REFRESH = "refresh";
+    
     /**
      * 生成 Token
      * 
@@ -34,12 +79,40 @@ public class JwtUtils {
      * @return Token
      */
     public static String generateToken(LoginUser loginUser, String secret, long expireTime, String sessionKey) {
+        return generateToken(loginUser, HmacKeyring.of(secret), expireTime, sessionKey);
+    }
+    
+    /**
+     * 使用密钥环生成 Token（主密钥签名，Header 携带 kid）
+     * 
+     * @param loginUser 登录用户信息
+     * @param keyring 密钥环
+     * @param expireTime 过期时间（毫秒）
+     * @param sessionKey Session Key（可选）
+     * @return Token
+     */
+    public static String generateToken(LoginUser loginUser, HmacKeyring keyring, long expireTime, String sessionKey) {
+        return generateToken(loginUser, keyring.getSigningKey(), keyring.getPrimaryKid(),
+                SignatureAlgorithm.HS256, expireTime, sessionKey);
+    }
+    
+    /**
+     * 使用指定密钥与算法生成 Token
+     * 
+     * @param loginUser 登录用户信息
+     * @param signingKey 签名密钥（HMAC 密钥或私钥）
+     * @param kid 密钥标识（写入 Header）
+     * @param algorithm 签名算法
+     * @param expireTime 过期时间（毫秒）
+     * @param sessionKey Session Key（可选）
+     * @return Token
+     */
+    public static String generateToken(LoginUser loginUser, Key signingKey, String kid, SignatureAlgorithm algorithm,
+                                       long expireTime, String sessionKey) {
         if (loginUser == null) {
             throw new BusinessException(ResultCode.PARAM_ERROR.getCode(), "登录用户信息不能为空");
         }
         
-        SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
-        
         Date now = new Date();
         Date expireDate = new Date(now.getTime() + expireTime);
         
@@ -47,7 +120,8 @@ public class JwtUtils {
         String userJson = JsonUtils.toJsonString(loginUser);
         
         io.jsonwebtoken.JwtBuilder builder = Jwts.builder()
-                .setId(UUID.randomUUID().toString())
+                .setHeaderParam(JwsHeader.KEY_ID, kid)
+                .setId(IdGenerator.nextId())
                 .setSubject(String.valueOf(loginUser.getUserId()))
                 .setIssuedAt(now)
                 .setExpiration(expireDate)
@@ -58,7 +132,85 @@ public class JwtUtils {
             builder.claim("sessionKey", sessionKey);
         }
         
-        return builder.signWith(key, SignatureAlgorithm.HS256)
+        return builder.signWith(signingKey, algorithm)
+                .compact();
+    }
+    
+    /**
+     * 生成紧凑格式 Token
+     * 只携带 uid、sid、授权版本号、iat 与 exp，LoginUser 在认证时由本地缓存加载
+     * 
+     * @param userId 用户ID
+     * @param sessionKey Session Key（可选）
+     * @param authorizationVersion 授权版本号
+     * @param keyring 密钥环
+     * @param expireTime 过期时间（毫秒）
+     * @return Token
+     */
+    public static String generateCompactToken(Long userId, String sessionKey, long authorizationVersion,
+                                              HmacKeyring keyring, long expireTime) {
+        return generateCompactToken(userId, sessionKey, authorizationVersion, keyring.getSigningKey(),
+                keyring.getPrimaryKid(), SignatureAlgorithm.HS256, expireTime);
+    }
+    
+    /**
+     * 使用指定密钥与算法生成紧凑格式 Token
+     */
+    public static String generateCompactToken(Long userId, String sessionKey, long authorizationVersion,
+                                              Key signingKey, String kid, SignatureAlgorithm algorithm,
+                                              long expireTime) {
+        if (userId == null) {
+            throw new BusinessException(ResultCode.PARAM_ERROR.getCode(), "用户ID不能为空");
+        }
+        
+        Date now = new Date();
+        io.jsonwebtoken.JwtBuilder builder = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, kid)
+                .claim(CLAIM_USER_ID, userId)
+                .claim(CLAIM_AUTHORIZATION_VERSION, authorizationVersion)
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + expireTime));
+        
+        if (sessionKey != null && !sessionKey.isEmpty()) {
+            builder.claim(CLAIM_SESSION_ID, sessionKey);
+        }
+        
+        return builder.signWith(signingKey, algorithm)
+                .compact();
+    }
+    
+    /**
+     * 生成 Refresh Token
+     * 只携带 uid、sid、jti 与类型声明，jti 保证轮换后的新旧 Token 不同
+     * 
+     * @param userId 用户ID
+     * @param sessionKey Session Key（可选）
+     * @param signingKey 签名密钥（HMAC 密钥或私钥）
+     * @param kid 密钥标识
+     * @param algorithm 签名算法
+     * @param expireTime 过期时间（毫秒）
+     * @return Refresh Token
+     */
+    public static String generateRefreshToken(Long userId, String sessionKey, Key signingKey, String kid,
+                                              SignatureAlgorithm algorithm, long expireTime) {
+        if (userId == null) {
+            throw new BusinessException(ResultCode.PARAM_ERROR.getCode(), "用户ID不能为空");
+        }
+        
+        Date now = new Date();
+        io.jsonwebtoken.JwtBuilder builder = Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, kid)
+                .setId(IdGenerator.nextId())
+                .claim(CLAIM_USER_ID, userId)
+                .claim(CLAIM_TOKEN_TYPE, TOKEN_TYPE_REFRESH)
+                .setIssuedAt(now)
+                .setExpiration(new Date(now.getTime() + expireTime));
+        
+        if (sessionKey != null && !sessionKey.isEmpty()) {
+            builder.claim(CLAIM_SESSION_ID, sessionKey);
+        }
+        
+        return builder.signWith(signingKey, algorithm)
                 .compact();
     }
     
@@ -74,13 +226,9 @@ public class JwtUtils {
      */
     public static String extractSessionKey(String token, String secret) {
         try {
-            SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-            return claims.get("sessionKey", String.class);
+            Claims claims = HmacKeyring.of(secret).parse(token).getBody();
+            String sessionKey = claims.get("sessionKey", String.class);
+            return sessionKey != null ? sessionKey : claims.get(CLAIM_SESSION_ID, String.class);
         } catch (Exception e) {
             logger.warn("提取 SessionKey 失败", e);
             return null;
@@ -95,44 +243,113 @@ public class JwtUtils {
      * @return 登录用户信息
      */
     public static LoginUser parseToken(String token, String secret) {
+        return verify(token, secret).getLoginUser();
+    }
+    
+    /**
+     * 解析并验证 Token，一次性提取全部声明
+     * 验签与用户信息反序列化只执行一次，调用方应复用返回结果
+     * 
+     * @param token Token
+     * @param secret JWT 密钥
+     * @return 已验证的声明
+     */
+    public static VerifiedClaims verify(String token, String secret) {
+        if (token == null || token.isEmpty()) {
+            throw AuthRejection.TOKEN_EMPTY.exception();
+        }
+        if (secret == null || secret.isEmpty()) {
+            throw new BusinessException(ResultCode.PARAM_ERROR.getCode(), "JWT 密钥不能为空");
+        }
+        return verify(token, HmacKeyring.of(secret));
+    }
+    
+    /**
+     * 使用密钥环解析并验证 Token
+     * 
+     * @param token Token
+     * @param keyring 密钥环
+     * @return 已验证的声明
+     */
+    public static VerifiedClaims verify(String token, HmacKeyring keyring) {
+        return verify(token, keyring::parse);
+    }
+    
+    /**
+     * 使用预构建的解析器（如公钥解析器）解析并验证 Token
+     * 
+     * @param token Token
+     * @param parser JWT 解析器（线程安全，应复用）
+     * @return 已验证的声明
+     */
+    public static VerifiedClaims verify(String token, JwtParser parser) {
+        return verify(token, parser::parseClaimsJws);
+    }
+    
+    private static VerifiedClaims verify(String token, Function<String, Jws<Claims>> parser) {
         if (token == null || token.isEmpty()) {
-            throw new BusinessException(ResultCode.UNAUTHORIZED.getCode(), "Token 不能为空");
+            throw AuthRejection.TOKEN_EMPTY.exception();
+        }
+        // 结构不是 header.payload.signature 的直接拒绝，不进入 JWT 解析（解析器异常会采集堆栈）
+        if (!hasJwsStructure(token)) {
+            throw AuthRejection.TOKEN_INVALID.exception();
         }
         
         try {
-            SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
-            
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            Claims claims = parser.apply(token).getBody();
             
             // 从 claims 中获取用户信息
             String userJson = claims.get("user", String.class);
             if (userJson == null) {
-                throw new BusinessException(ResultCode.UNAUTHORIZED.getCode(), "Token 格式错误");
+                return toCompactClaims(claims);
             }
             
             LoginUser loginUser = JsonUtils.parseObject(userJson, LoginUser.class);
             if (loginUser == null) {
-                throw new BusinessException(ResultCode.UNAUTHORIZED.getCode(), "Token 解析失败");
+                throw AuthRejection.TOKEN_UNREADABLE.exception();
             }
             
-            return loginUser;
+            return new VerifiedClaims(
+                    claims.getId(),
+                    loginUser.getUserId(),
+                    claims.get("sessionKey", String.class),
+                    loginUser,
+                    claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() : null,
+                    claims.getExpiration() != null ? claims.getExpiration().getTime() : null);
             
+        } catch (BusinessException e) {
+            throw e;
         } catch (ExpiredJwtException e) {
-            logger.warn("Token 已过期: {}", token);
-            throw new BusinessException(ResultCode.UNAUTHORIZED.getCode(), "Token 已过期");
+            throw AuthRejection.TOKEN_EXPIRED.exception();
         } catch (JwtException e) {
-            logger.warn("Token 解析失败: {}", e.getMessage());
-            throw new BusinessException(ResultCode.UNAUTHORIZED.getCode(), "Token 无效");
+            // 异常消息可能包含 Token 片段，只记录异常类型
+            logger.debug("Token 解析失败: {}", e.getClass().getSimpleName());
+            throw AuthRejection.TOKEN_INVALID.exception();
         } catch (Exception e) {
-            logger.error("Token 解析异常", e);
-            throw new BusinessException(ResultCode.UNAUTHORIZED.getCode(), "Token 解析异常");
+            PARSE_ERROR_LOGGER.warn(e.getClass(), "Token 解析异常: {}", e.getClass().getName());
+            throw AuthRejection.TOKEN_PARSE_ERROR.exception();
         }
     }
     
+    /**
+     * 紧凑格式声明（不携带用户 JSON，包括 Refresh Token）
+     */
+    private static VerifiedClaims toCompactClaims(Claims claims) {
+        Long userId = claims.get(CLAIM_USER_ID, Long.class);
+        if (userId == null) {
+            throw AuthRejection.TOKEN_MALFORMED.exception();
+        }
+        return new VerifiedClaims(
+                claims.getId(),
+                userId,
+                claims.get(CLAIM_SESSION_ID, String.class),
+                null,
+                claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() : null,
+                claims.getExpiration() != null ? claims.getExpiration().getTime() : null,
+                claims.get(CLAIM_AUTHORIZATION_VERSION, Long.class),
+                claims.get(CLAIM_TOKEN_TYPE, String.class));
+    }
+    
     /**
      * 验证 Token 是否有效
      * 
@@ -158,12 +375,7 @@ public class JwtUtils {
      */
     public static Date getExpirationDate(String token, String secret) {
         try {
-            SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            Claims claims = HmacKeyring.of(secret).parse(token).getBody();
             return claims.getExpiration();
         } catch (Exception e) {
             logger.error("获取 Token 过期时间失败", e);
@@ -171,4 +383,3 @@ public class JwtUtils {
         }
     }
 }
-
@@ -0,0 +1,235 @@
+package com.kite.authenticator.util;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ant 风格路径模式的分段前缀树
+ * 按 HTTP 方法分组，构建后只读（线程安全）。查找时按路径分段逐级定位候选模式，
+ * 开销取决于路径深度而不是模式数量；命中的候选模式再用 {@link AntPathMatcher} 确认，
+ * 匹配语义与逐个调用 {@code AntPathMatcher.match} 完全一致。
+ *
+ * @author yourname
+ */
+public final class PathPatternTrie {
+
+    private static final String SEPARATOR = "/";
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    /**
+     * 不限制方法的模式
+     */
+    private final Node anyMethodRoot = new Node();
+
+    /**
+     * 限定方法的模式
+     */
+    private final Map<HttpMethod, Node> methodRoots = new EnumMap<>(HttpMethod.class);
+
+    private int size;
+
+    /**
+     * 添加模式
+     *
+     * @param pattern Ant 风格路径模式
+     * @param methods 允许的 HTTP 方法，为空表示不限制
+     */
+    public PathPatternTrie add(String pattern, Collection<HttpMethod> methods) {
+        if (!StringUtils.hasText(pattern)) {
+            return this;
+        }
+        if (methods == null || methods.isEmpty()) {
+            insert(anyMethodRoot, pattern);
+        } else {
+            for (HttpMethod method : methods) {
+                insert(methodRoots.computeIfAbsent(method, m -> new Node()), pattern);
+            }
+        }
+        size++;
+        return this;
+    }
+
+    /**
+     * 添加不限制方法的模式
+     */
+    public PathPatternTrie addAll(Collection<String> patterns) {
+        if (patterns != null) {
+            for (String pattern : patterns) {
+                add(pattern, null);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * 判断路径是否命中任一模式
+     *
+     * @param path 请求路径
+     * @param method HTTP 方法，为 null（未知方法）时匹配所有方法的模式
+     */
+    public boolean matches(String path, HttpMethod method) {
+        if (size == 0 || path == null) {
+            return false;
+        }
+        Lookup lookup = new Lookup(path);
+        if (lookup.match(anyMethodRoot, 0)) {
+            return true;
+        }
+        if (method != null) {
+            Node root = methodRoots.get(method);
+            return root != null && lookup.match(root, 0);
+        }
+        for (Node root : methodRoots.values()) {
+            if (lookup.match(root, 0)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 模式数量
+     */
+    public int size() {
+        return size;
+    }
+
+    private static void insert(Node root, String pattern) {
+        Node node = root;
+        for (String segment : tokenize(pattern)) {
+            node = node.child(segment);
+        }
+        node.patterns.add(pattern);
+    }
+
+    /**
+     * 与 AntPathMatcher 相同的分段规则（不去除空白，忽略空段）
+     */
+    private static String[] tokenize(String path) {
+        return StringUtils.tokenizeToStringArray(path, SEPARATOR, false, true);
+    }
+
+    private static boolean isVariable(String segment) {
+        return segment.length() > 2 && segment.charAt(0) == '{'
+                && segment.indexOf('}') == segment.length() - 1 && segment.indexOf(':') < 0;
+    }
+
+    private static boolean hasWildcard(String segment) {
+        return segment.indexOf('*') >= 0 || segment.indexOf('?') >= 0 || segment.indexOf('{') >= 0;
+    }
+
+    private static final class Node {
+
+        private final Map<String, Node> literals = new HashMap<>();
+        private final List<SegmentPattern> segmentPatterns = new ArrayList<>();
+        private final List<String> patterns = new ArrayList<>();
+
+        /**
+         * 匹配单个任意分段（* 或 {var}）
+         */
+        private Node anySegment;
+
+        /**
+         * 匹配零个或多个分段（**）
+         */
+        private Node anySegments;
+
+        Node child(String segment) {
+            if ("**".equals(segment)) {
+                if (anySegments == null) {
+                    anySegments = new Node();
+                }
+                return anySegments;
+            }
+            if ("*".equals(segment) || isVariable(segment)) {
+                if (anySegment == null) {
+                    anySegment = new Node();
+                }
+                return anySegment;
+            }
+            if (hasWildcard(segment)) {
+                for (SegmentPattern segmentPattern : segmentPatterns) {
+                    if (segmentPattern.pattern.equals(segment)) {
+                        return segmentPattern.node;
+                    }
+                }
+                SegmentPattern segmentPattern = new SegmentPattern(segment);
+                segmentPatterns.add(segmentPattern);
+                return segmentPattern.node;
+            }
+            return literals.computeIfAbsent(segment, s -> new Node());
+        }
+    }
+
+    private static final class SegmentPattern {
+
+        private final String pattern;
+        private final Node node = new Node();
+
+        SegmentPattern(String pattern) {
+            this.pattern = pattern;
+        }
+    }
+
+    /**
+     * 单次查找的状态（路径只分段一次）
+     */
+    private final class Lookup {
+
+        private final String path;
+        private final String[] segments;
+
+        Lookup(String path) {
+            this.path = path;
+            this.segments = tokenize(path);
+        }
+
+        boolean match(Node node, int index) {
+            // ** 可以匹配零个或多个分段
+            if (node.anySegments != null) {
+                for (int next = index; next <= segments.length; next++) {
+                    if (match(node.anySegments, next)) {
+                        return true;
+                    }
+                }
+            }
+            if (index == segments.length) {
+                // AntPathMatcher 中 "/a/*" 可以匹配 "/a/"
+                return confirm(node.patterns)
+                        || (node.anySegment != null && path.endsWith(SEPARATOR) && confirm(node.anySegment.patterns));
+            }
+            String segment = segments[index];
+            Node literal = node.literals.get(segment);
+            if (literal != null && match(literal, index + 1)) {
+                return true;
+            }
+            if (node.anySegment != null && match(node.anySegment, index + 1)) {
+                return true;
+            }
+            for (SegmentPattern segmentPattern : node.segmentPatterns) {
+                if (pathMatcher.match(segmentPattern.pattern, segment) && match(segmentPattern.node, index + 1)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean confirm(List<String> patterns) {
+            for (String pattern : patterns) {
+                if (pathMatcher.match(pattern, path)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
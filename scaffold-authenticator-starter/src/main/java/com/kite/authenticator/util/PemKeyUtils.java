@@ -0,0 +1,59 @@
+package com.kite.authenticator.util;
+
+import java.security.KeyFactory;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.Base64;
+
+/**
+ * 密钥解析工具类
+ * 支持 PEM 格式（带 BEGIN/END 标记）或纯 Base64 格式的 PKCS#8 私钥与 X.509 公钥
+ *
+ * @author yourname
+ */
+public class PemKeyUtils {
+
+    /**
+     * 解析私钥（PKCS#8）
+     *
+     * @param pem PEM 或 Base64 文本
+     * @param algorithm 密钥算法（如 EC）
+     * @return 私钥
+     */
+    public static PrivateKey parsePrivateKey(String pem, String algorithm) {
+        try {
+            return KeyFactory.getInstance(algorithm).generatePrivate(new PKCS8EncodedKeySpec(decode(pem)));
+        } catch (Exception e) {
+            throw new IllegalArgumentException("私钥格式错误（需要 PKCS#8 格式的 " + algorithm + " 私钥）", e);
+        }
+    }
+
+    /**
+     * 解析公钥（X.509）
+     *
+     * @param pem PEM 或 Base64 文本
+     * @param algorithm 密钥算法（如 EC）
+     * @return 公钥
+     */
+    public static PublicKey parsePublicKey(String pem, String algorithm) {
+        try {
+            return KeyFactory.getInstance(algorithm).generatePublic(new X509EncodedKeySpec(decode(pem)));
+        } catch (Exception e) {
+            throw new IllegalArgumentException("公钥格式错误（需要 X.509 格式的 " + algorithm + " 公钥）", e);
+        }
+    }
+
+    /**
+     * 去除 PEM 标记与空白后 Base64 解码
+     */
+    private static byte[] decode(String pem) {
+        if (pem == null || pem.trim().isEmpty()) {
+            throw new IllegalArgumentException("密钥内容不能为空");
+        }
+        String base64 = pem.replaceAll("-----(BEGIN|END)[A-Z ]*-----", "")
+                .replaceAll("\\s", "");
+        return Base64.getDecoder().decode(base64);
+    }
+}
@@ -0,0 +1,68 @@
+package com.kite.authenticator.util;
+
+import org.slf4j.Logger;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 限流日志
+ * 同一个 key（如拒绝原因）在一个时间窗口内最多输出一条日志，并附带窗口内被抑制的次数；
+ * 被抑制时不做任何格式化，避免攻击流量下日志本身成为瓶颈。key 的取值应是有限集合。
+ *
+ * @author yourname
+ */
+public final class RateLimitedLogger {
+
+    private final Logger logger;
+    private final long intervalNanos;
+    private final ConcurrentMap<Object, Window> windows = new ConcurrentHashMap<>();
+
+    public RateLimitedLogger(Logger logger, long interval, TimeUnit unit) {
+        this.logger = logger;
+        this.intervalNanos = unit.toNanos(interval);
+    }
+
+    /**
+     * 输出 WARN 日志（窗口内只输出第一条）
+     *
+     * @param key 限流 key
+     * @param format 日志格式（包含一个占位符）
+     * @param arg 参数
+     */
+    public void warn(Object key, String format, Object arg) {
+        if (!logger.isWarnEnabled()) {
+            return;
+        }
+        long suppressed = acquire(key);
+        if (suppressed < 0) {
+            return;
+        }
+        if (suppressed > 0) {
+            logger.warn(format + "（最近窗口内另有 {} 次已省略）", arg, suppressed);
+        } else {
+            logger.warn(format, arg);
+        }
+    }
+
+    /**
+     * @return 可以输出时返回上一窗口被抑制的次数，否则返回 -1
+     */
+    private long acquire(Object key) {
+        Window window = windows.computeIfAbsent(key, k -> new Window());
+        long now = System.nanoTime();
+        long next = window.nextAt.get();
+        if (now - next >= 0 && window.nextAt.compareAndSet(next, now + intervalNanos)) {
+            return window.suppressed.getAndSet(0);
+        }
+        window.suppressed.incrementAndGet();
+        return -1;
+    }
+
+    private static final class Window {
+        private final AtomicLong nextAt = new AtomicLong(System.nanoTime());
+        private final AtomicLong suppressed = new AtomicLong();
+    }
+}
@@ -0,0 +1,84 @@
+package com.kite.authenticator.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * 请求合并（single-flight）
+ * 同一个 key 同一时刻只执行一次计算，期间到达的并发调用等待并共享这次计算的结果或异常；
+ * 计算结束后立即移除，不做任何缓存，之后的调用会重新计算。
+ * 等待有上限：超过等待时间（或等待被中断）时，等待方自行执行一次计算，不受发起方慢调用拖累。
+ * 结果对象在发起方与所有等待方之间共享，可变对象需由调用方自行复制。
+ *
+ * @author yourname
+ */
+public final class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * 等待方的最长等待时间（毫秒）
+     */
+    private final long waitTimeoutMillis;
+
+    public SingleFlight(long waitTimeoutMillis) {
+        this.waitTimeoutMillis = waitTimeoutMillis;
+    }
+
+    /**
+     * 执行计算，同 key 已有计算在进行时等待其结果（超时后自行计算）
+     *
+     * @param key 合并 key
+     * @param supplier 计算逻辑（只在发起方线程上执行）
+     * @return 计算结果
+     */
+    public V execute(K key, Supplier<V> supplier) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            return await(existing, supplier);
+        }
+        try {
+            V value = supplier.get();
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * 当前进行中的计算数
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private V await(CompletableFuture<V> future, Supplier<V> supplier) {
+        try {
+            return future.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return supplier.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return supplier.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.kite.authenticator.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Token 哈希工具类
+ * 生成 Token 指纹（SHA-256 十六进制），避免在缓存或 Redis 中保存完整 Token
+ * 
+ * @author yourname
+ */
+public class TokenHashUtils {
+    
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    
+    /**
+     * MessageDigest 非线程安全，按线程复用，避免每次调用 getInstance
+     */
+    private static final ThreadLocal<MessageDigest> SHA256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("当前 JVM 不支持 SHA-256", e);
+        }
+    });
+    
+    private TokenHashUtils() {
+    }
+    
+    /**
+     * 计算 Token 的 SHA-256 指纹
+     * 
+     * @param token Token 字符串
+     * @return 64 位十六进制字符串
+     */
+    public static String sha256Hex(String token) {
+        MessageDigest digest = SHA256.get();
+        digest.reset();
+        return toHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+    
+    /**
+     * 字节数组转十六进制字符串
+     */
+    public static String toHex(byte[] bytes) {
+        char[] chars = new char[bytes.length * 2];
+        for (int i = 0; i < bytes.length; i++) {
+            int v = bytes[i] & 0xff;
+            chars[i * 2] = HEX_DIGITS[v >>> 4];
+            chars[i * 2 + 1] = HEX_DIGITS[v & 0x0f];
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,77 @@
+-- 认证时的 Session 检查：黑名单、读取、校验、访问时间与续期写回在一次往返中原子完成
+--
+-- KEYS[1] Session Key，KEYS[2] 用户 Session 集合 Key，KEYS[3] 用户索引 Key，KEYS[4] 黑名单 Key（可选）
+-- ARGV[1] 当前时间（毫秒），ARGV[2] 设备ID，ARGV[3] 是否校验设备（1/0），ARGV[4] 是否校验状态（1/0），
+-- ARGV[5] 会话超时时间（毫秒，0 表示不检查），ARGV[6] 续期间隔（毫秒，0 表示不续期），
+-- ARGV[7] 写回粒度（毫秒，0 表示每次都写回）
+--
+-- 返回 {0, 字段...} 校验通过并已写回；{1} Token 在黑名单中；{2} Session 不存在；
+--     {3, 字段...} 校验未通过（未写回，由调用方给出具体原因）；
+--     {4, 字段...} 校验通过，访问时间变化未超过写回粒度且未临近过期（未写回，由调用方延迟写回）
+-- 字段为 Session Hash 的 HGETALL 结果（字段、值交替）
+--
+-- FIELDS 与 migrate() 定义在 session-migrate.lua 中，加载时拼接在本脚本之前
+
+if #KEYS > 3 and redis.call('EXISTS', KEYS[4]) == 1 then
+    return {1}
+end
+
+local function reply(code)
+    local result = redis.call('HGETALL', KEYS[1])
+    table.insert(result, 1, code)
+    return result
+end
+
+local keyType = redis.call('TYPE', KEYS[1]).ok
+if keyType == 'string' then
+    if not migrate(KEYS[1]) then
+        return {2}
+    end
+elseif keyType ~= 'hash' then
+    return {2}
+end
+
+local current = redis.call('HMGET', KEYS[1], 'deviceId', 'expireAt', 'lastAccessTime', 'status')
+local deviceId = current[1]
+local expireAt = tonumber(current[2])
+local lastAccessTime = tonumber(current[3])
+local status = tonumber(current[4])
+
+local now = tonumber(ARGV[1])
+local timeout = tonumber(ARGV[5])
+local renewal = tonumber(ARGV[6])
+
+if (expireAt and now > expireAt)
+        or (ARGV[3] == '1' and (ARGV[2] == '' or deviceId ~= ARGV[2]))
+        or (ARGV[4] == '1' and status and status ~= 1)
+        or (timeout > 0 and lastAccessTime and now - lastAccessTime > timeout) then
+    return reply(3)
+end
+
+local granularity = tonumber(ARGV[7]) or 0
+if granularity > 0 and lastAccessTime and now - lastAccessTime < granularity
+        and not (expireAt and expireAt - now <= granularity) then
+    return reply(4)
+end
+
+local ttl
+if renewal > 0 then
+    ttl = renewal
+    redis.call('HSET', KEYS[1], 'lastAccessTime', ARGV[1], 'expireAt', string.format('%d', now + renewal))
+else
+    redis.call('HSET', KEYS[1], 'lastAccessTime', ARGV[1])
+    if expireAt then
+        ttl = expireAt - now
+    end
+end
+
+if ttl and ttl > 0 then
+    redis.call('PEXPIRE', KEYS[1], string.format('%d', ttl))
+    -- 用户 Session 集合与用户索引的过期时间只延长不缩短
+    for i = 2, 3 do
+        if redis.call('PTTL', KEYS[i]) < ttl then
+            redis.call('PEXPIRE', KEYS[i], string.format('%d', ttl))
+        end
+    end
+end
+return reply(0)
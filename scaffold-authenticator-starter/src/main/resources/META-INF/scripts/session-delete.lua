@@ -0,0 +1,30 @@
+-- 批量删除 Session：删除 Hash，从用户 Session 集合与全部索引中移除，集合为空时一并删除，一次往返原子完成
+--
+-- KEYS[1] 时间索引 Key，KEYS[2] 过期索引 Key，KEYS[3...2+N] 全部状态索引 Key，
+-- 其后每个 Session 三个 Key：Session Key、用户 Session 集合 Key、用户索引 Key
+-- ARGV[1] 状态索引 Key 数量 N，其后每个 Session 两个参数：用户 Session 集合成员、索引成员（Session Key）
+--
+-- 返回删除的 Session 数量
+
+local statusTo = 2 + tonumber(ARGV[1])
+local deleted = 0
+
+for n = 1, (#KEYS - statusTo) / 3 do
+    local key = KEYS[statusTo + n * 3 - 2]
+    local userSessions = KEYS[statusTo + n * 3 - 1]
+    local userIndex = KEYS[statusTo + n * 3]
+    local member = ARGV[n * 2 + 1]
+    deleted = deleted + redis.call('DEL', key)
+    redis.call('SREM', userSessions, ARGV[n * 2])
+    if redis.call('SCARD', userSessions) == 0 then
+        redis.call('DEL', userSessions)
+    end
+    redis.call('ZREM', userIndex, member)
+    if redis.call('ZCARD', userIndex) == 0 then
+        redis.call('DEL', userIndex)
+    end
+    for i = 1, statusTo do
+        redis.call('ZREM', KEYS[i], member)
+    end
+end
+return deleted
@@ -0,0 +1,41 @@
+-- 为已有的 Session 补建索引（升级后首次分页查询时按 SCAN 批次执行，可重复执行）
+--
+-- KEYS[1] 时间索引 Key，KEYS[2] 过期索引 Key，KEYS[3...2+N] 全部状态索引 Key，
+-- 其后每个 Session 两个 Key：Session Key、用户索引 Key
+-- ARGV[1] 状态索引 Key 数量 N，ARGV[2i] 第 i 个 Session 的索引成员（Session Key）
+--
+-- 返回尚未迁移为 Hash 的 Session 的索引成员（由调用方迁移后再次补建）
+
+local statusTo = 2 + tonumber(ARGV[1])
+local skipped = {}
+
+for n = 1, (#KEYS - statusTo) / 2 do
+    local key = KEYS[statusTo + n * 2 - 1]
+    local userIndex = KEYS[statusTo + n * 2]
+    local member = ARGV[n + 1]
+    if redis.call('TYPE', key).ok == 'hash' then
+        local fields = redis.call('HMGET', key, 'operateAt', 'lastAccessTime', 'startTime', 'status', 'expireAt')
+        local score = tonumber(fields[1]) or tonumber(fields[2]) or tonumber(fields[3]) or 0
+        redis.call('ZADD', KEYS[1], score, member)
+        redis.call('ZADD', userIndex, score, member)
+        local suffix = ':' .. (fields[4] or '1')
+        for i = 3, statusTo do
+            if string.sub(KEYS[i], -#suffix) == suffix then
+                redis.call('ZADD', KEYS[i], score, member)
+            else
+                redis.call('ZREM', KEYS[i], member)
+            end
+        end
+        if tonumber(fields[5]) then
+            redis.call('ZADD', KEYS[2], fields[5], member)
+        end
+        -- 用户索引的过期时间与 Session 一致（只延长不缩短）
+        local ttl = redis.call('PTTL', key)
+        if ttl > 0 and redis.call('PTTL', userIndex) < ttl then
+            redis.call('PEXPIRE', userIndex, ttl)
+        end
+    else
+        skipped[#skipped + 1] = member
+    end
+end
+return skipped
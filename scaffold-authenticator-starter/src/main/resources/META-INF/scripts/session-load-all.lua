@@ -0,0 +1,19 @@
+-- 批量读取 Session Hash；旧版本写入的 JSON 字符串在读取时原地迁移为 Hash（保留剩余过期时间）
+--
+-- KEYS Session Key
+--
+-- 返回与 KEYS 一一对应的列表，每项为 HGETALL 的结果（字段、值交替），
+-- Session 不存在或旧格式无法解析时为空列表
+--
+-- FIELDS 与 migrate() 定义在 session-migrate.lua 中，加载时拼接在本脚本之前
+
+local result = {}
+for i, key in ipairs(KEYS) do
+    local keyType = redis.call('TYPE', key).ok
+    if keyType == 'hash' or (keyType == 'string' and migrate(key)) then
+        result[i] = redis.call('HGETALL', key)
+    else
+        result[i] = {}
+    end
+end
+return result
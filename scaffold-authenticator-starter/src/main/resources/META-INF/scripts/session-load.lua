@@ -0,0 +1,16 @@
+-- 读取 Session Hash；旧版本写入的 JSON 字符串在读取时原地迁移为 Hash（保留剩余过期时间）
+--
+-- KEYS[1] Session Key
+--
+-- 返回 HGETALL 的结果（字段、值交替），Session 不存在或旧格式无法解析时返回空列表
+--
+-- FIELDS 与 migrate() 定义在 session-migrate.lua 中，加载时拼接在本脚本之前
+
+local keyType = redis.call('TYPE', KEYS[1]).ok
+if keyType == 'string' and not migrate(KEYS[1]) then
+    return {}
+end
+if keyType ~= 'hash' and keyType ~= 'string' then
+    return {}
+end
+return redis.call('HGETALL', KEYS[1])
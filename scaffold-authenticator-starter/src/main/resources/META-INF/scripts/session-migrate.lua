@@ -0,0 +1,38 @@
+-- Session 脚本公共前导：旧版本写入的 JSON 字符串原地迁移为 Hash（保留剩余过期时间）
+-- 由 SessionScripts 在加载 session-load.lua、session-load-all.lua、session-authenticate.lua 时拼接在脚本之前，
+-- 旧格式的解析只在这里维护
+
+local FIELDS = {'sessionKey', 'userId', 'deviceId', 'expireAt', 'lastAccessTime', 'status', 'startTime', 'operateAt'}
+
+-- 旧格式由 Jackson2JsonRedisSerializer 写入：外层为 JSON 字符串，内层为 Session JSON
+-- 返回 true 表示已迁移为 Hash，false 表示无法解析（保持原值）
+local function migrate(key)
+    local ok, json = pcall(cjson.decode, redis.call('GET', key))
+    if ok and type(json) == 'string' then
+        ok, json = pcall(cjson.decode, json)
+    end
+    if not ok or type(json) ~= 'table' then
+        return false
+    end
+    local args = {}
+    for _, field in ipairs(FIELDS) do
+        local value = json[field]
+        if type(value) == 'number' then
+            args[#args + 1] = field
+            args[#args + 1] = string.format('%d', value)
+        elseif type(value) == 'string' then
+            args[#args + 1] = field
+            args[#args + 1] = value
+        end
+    end
+    if #args == 0 then
+        return false
+    end
+    local ttl = redis.call('PTTL', key)
+    redis.call('DEL', key)
+    redis.call('HSET', key, unpack(args))
+    if ttl > 0 then
+        redis.call('PEXPIRE', key, ttl)
+    end
+    return true
+end
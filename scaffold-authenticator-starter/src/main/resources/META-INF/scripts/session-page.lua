@@ -0,0 +1,65 @@
+-- 按索引分页读取 Session（最后操作时间倒序），只读取本页的 Session
+-- 索引中已不存在的 Session（已过期或被其他途径删除）在读取时顺带移除，不计入本页
+--
+-- KEYS[1] 索引 Key（时间、用户或状态索引）
+-- ARGV[1] Session Key 前缀，ARGV[2] 偏移量，ARGV[3] 每页数量，
+-- ARGV[4] 状态过滤（空字符串表示不过滤；仅用于用户索引，成员较少，逐个检查状态）
+--
+-- 返回 {总数, Session...}，Session 为 Hash 的 HGETALL 结果（字段、值交替），
+-- 尚未迁移的旧版本 Session 为原始 JSON 字符串；不过滤状态时总数为索引大小（可能包含尚未清理的过期成员）
+--
+-- 读取的 Session Key 由前缀与索引成员拼接得到，未在 KEYS 中声明，不适用于 Redis Cluster
+
+local prefix = ARGV[1]
+local offset = tonumber(ARGV[2])
+local limit = tonumber(ARGV[3])
+local status = ARGV[4]
+local reply = {0}
+
+local function read(key, keyType)
+    if keyType == 'hash' then
+        return redis.call('HGETALL', key)
+    end
+    return redis.call('GET', key)
+end
+
+if status == '' then
+    local start = offset
+    while #reply - 1 < limit do
+        local remaining = limit - (#reply - 1)
+        local members = redis.call('ZREVRANGE', KEYS[1], start, start + remaining - 1)
+        if #members == 0 then
+            break
+        end
+        for _, member in ipairs(members) do
+            local key = prefix .. member
+            local keyType = redis.call('TYPE', key).ok
+            if keyType == 'hash' or keyType == 'string' then
+                reply[#reply + 1] = read(key, keyType)
+                start = start + 1
+            else
+                -- 移除后后续成员的排名前移，起始位置不变
+                redis.call('ZREM', KEYS[1], member)
+            end
+        end
+    end
+    reply[1] = redis.call('ZCARD', KEYS[1])
+else
+    local matched = 0
+    for _, member in ipairs(redis.call('ZREVRANGE', KEYS[1], 0, -1)) do
+        local key = prefix .. member
+        local keyType = redis.call('TYPE', key).ok
+        if keyType == 'hash' then
+            if (redis.call('HGET', key, 'status') or '1') == status then
+                matched = matched + 1
+                if matched > offset and #reply - 1 < limit then
+                    reply[#reply + 1] = read(key, keyType)
+                end
+            end
+        elseif keyType ~= 'string' then
+            redis.call('ZREM', KEYS[1], member)
+        end
+    end
+    reply[1] = matched
+end
+return reply
@@ -0,0 +1,73 @@
+-- 创建或整体更新 Session：写入 Hash、设置过期时间、加入用户 Session 集合并维护索引，一次往返原子完成
+--
+-- KEYS[1] Session Key，KEYS[2] 用户 Session 集合 Key，
+-- KEYS[3] 时间索引 Key，KEYS[4] 过期索引 Key，KEYS[5] 用户索引 Key，KEYS[6...] 全部状态索引 Key
+-- ARGV[1] 剩余有效期（毫秒，0 表示不设置），ARGV[2] 用户 Session 集合成员，ARGV[3] 索引成员（Session Key），
+-- ARGV[4] 当前时间（毫秒），ARGV[5] Session Key 前缀，ARGV[6...] 字段、值交替
+--
+-- 返回 1
+--
+-- 清理过期索引成员时访问的 Session Key 由 ARGV[5] 与索引成员拼接得到，未在 KEYS 中声明，不适用于 Redis Cluster
+
+-- 每次写入顺带清理的过期索引成员数量上限
+local PRUNE_LIMIT = 20
+
+-- 旧版本写入的 JSON 字符串直接由新的 Hash 替换
+if redis.call('TYPE', KEYS[1]).ok == 'string' then
+    redis.call('DEL', KEYS[1])
+end
+
+redis.call('HSET', KEYS[1], unpack(ARGV, 6))
+redis.call('SADD', KEYS[2], ARGV[2])
+
+local ttl = tonumber(ARGV[1])
+if ttl > 0 then
+    redis.call('PEXPIRE', KEYS[1], ARGV[1])
+    -- 用户 Session 集合与用户索引的过期时间只延长不缩短
+    for _, key in ipairs({KEYS[2], KEYS[5]}) do
+        if redis.call('PTTL', key) < ttl then
+            redis.call('PEXPIRE', key, ARGV[1])
+        end
+    end
+end
+
+-- 按 Hash 中的当前字段写入索引：分值为最后操作时间，状态索引只保留当前状态
+local fields = redis.call('HMGET', KEYS[1], 'operateAt', 'lastAccessTime', 'startTime', 'status', 'expireAt')
+local score = tonumber(fields[1]) or tonumber(fields[2]) or tonumber(fields[3]) or 0
+local member = ARGV[3]
+redis.call('ZADD', KEYS[3], score, member)
+redis.call('ZADD', KEYS[5], score, member)
+local suffix = ':' .. (fields[4] or '1')
+for i = 6, #KEYS do
+    if string.sub(KEYS[i], -#suffix) == suffix then
+        redis.call('ZADD', KEYS[i], score, member)
+    else
+        redis.call('ZREM', KEYS[i], member)
+    end
+end
+if tonumber(fields[5]) then
+    redis.call('ZADD', KEYS[4], fields[5], member)
+else
+    redis.call('ZREM', KEYS[4], member)
+end
+
+-- 清理已过期 Session 留下的索引成员（用户索引随过期时间整体删除，读取时也会清理）
+local now = tonumber(ARGV[4])
+for _, expired in ipairs(redis.call('ZRANGEBYSCORE', KEYS[4], '-inf', now, 'LIMIT', 0, PRUNE_LIMIT)) do
+    local key = ARGV[5] .. expired
+    local keyType = redis.call('TYPE', key).ok
+    local expireAt = keyType == 'hash' and tonumber(redis.call('HGET', key, 'expireAt'))
+    if expireAt and expireAt > now then
+        -- 已续期：按新的过期时间重新排队
+        redis.call('ZADD', KEYS[4], expireAt, expired)
+    else
+        redis.call('ZREM', KEYS[4], expired)
+        if keyType == 'none' then
+            redis.call('ZREM', KEYS[3], expired)
+            for i = 6, #KEYS do
+                redis.call('ZREM', KEYS[i], expired)
+            end
+        end
+    end
+end
+return 1
@@ -0,0 +1,20 @@
+-- 分页扫描 Session：执行一次 SCAN 并在同一次往返中读取本批 Session
+-- SCAN 每次只遍历 COUNT 个左右的槽位，不会像 KEYS 那样长时间阻塞 Redis
+-- 脚本只读，访问的 Key 由 SCAN 得到（未在 KEYS 中声明，不适用于 Redis Cluster）
+--
+-- ARGV[1] 游标，ARGV[2] 匹配模式，ARGV[3] 每次扫描的数量提示（COUNT）
+--
+-- 返回 {下一游标, Session...}，Session 为 Hash 的 HGETALL 结果（字段、值交替），
+-- 尚未迁移的旧版本 Session 为原始 JSON 字符串
+
+local result = redis.call('SCAN', ARGV[1], 'MATCH', ARGV[2], 'COUNT', ARGV[3])
+local reply = {result[1]}
+for _, key in ipairs(result[2]) do
+    local keyType = redis.call('TYPE', key).ok
+    if keyType == 'hash' then
+        reply[#reply + 1] = redis.call('HGETALL', key)
+    elseif keyType == 'string' then
+        reply[#reply + 1] = redis.call('GET', key)
+    end
+end
+return reply
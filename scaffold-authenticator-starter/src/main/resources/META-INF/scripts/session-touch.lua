@@ -0,0 +1,50 @@
+-- 批量写回 Session 的访问时间与过期时间，只前移这两个字段，不覆盖状态等其他字段
+--
+-- KEYS[3i-2] Session Key，KEYS[3i-1] 用户 Session 集合 Key，KEYS[3i] 用户索引 Key；
+-- Redis Cluster 上每次只传一个 Session 的 Session Key（用户 Session 集合的过期时间由调用方延长）
+-- ARGV[1] 当前时间（毫秒），ARGV[2i] 访问时间，ARGV[2i+1] 过期时间（0 表示不修改）
+--
+-- 返回实际写回的 Session 数量（已删除、已过期、尚未迁移为 Hash 或存储中的时间更晚的 Session 跳过）
+
+local now = tonumber(ARGV[1])
+local written = 0
+local count = (#ARGV - 1) / 2
+local stride = #KEYS / count
+
+for n = 1, count do
+    local i = (n - 1) * stride + 1
+    if redis.call('TYPE', KEYS[i]).ok == 'hash' then
+        local lastAccessTime = tonumber(ARGV[n * 2])
+        local expireAt = tonumber(ARGV[n * 2 + 1])
+        local current = redis.call('HMGET', KEYS[i], 'lastAccessTime', 'expireAt')
+        local currentLastAccessTime = tonumber(current[1])
+        local currentExpireAt = tonumber(current[2])
+        local changed = {}
+
+        if not currentLastAccessTime or lastAccessTime > currentLastAccessTime then
+            changed[#changed + 1] = 'lastAccessTime'
+            changed[#changed + 1] = ARGV[n * 2]
+        end
+        if expireAt > 0 and (not currentExpireAt or expireAt > currentExpireAt) then
+            changed[#changed + 1] = 'expireAt'
+            changed[#changed + 1] = ARGV[n * 2 + 1]
+            currentExpireAt = expireAt
+        end
+
+        local ttl = currentExpireAt and currentExpireAt - now
+        if #changed > 0 and (not ttl or ttl > 0) then
+            redis.call('HSET', KEYS[i], unpack(changed))
+            if ttl then
+                redis.call('PEXPIRE', KEYS[i], string.format('%d', ttl))
+                -- 用户 Session 集合与用户索引的过期时间只延长不缩短
+                for j = i + 1, i + stride - 1 do
+                    if redis.call('PTTL', KEYS[j]) < ttl then
+                        redis.call('PEXPIRE', KEYS[j], string.format('%d', ttl))
+                    end
+                end
+            end
+            written = written + 1
+        end
+    end
+end
+return written
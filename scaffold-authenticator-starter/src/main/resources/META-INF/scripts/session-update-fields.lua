@@ -0,0 +1,13 @@
+-- 只在 Session Hash 已存在时写入字段，Session 已删除或尚未迁移为 Hash 时不创建
+-- Redis Cluster 上逐个 Session 替代 session-update-status.lua（后者同时声明索引 Key，跨多个槽位）
+--
+-- KEYS[1] Session Key
+-- ARGV 字段、值交替
+--
+-- 返回 1 已写入，0 跳过
+
+if redis.call('TYPE', KEYS[1]).ok ~= 'hash' then
+    return 0
+end
+redis.call('HSET', KEYS[1], unpack(ARGV))
+return 1
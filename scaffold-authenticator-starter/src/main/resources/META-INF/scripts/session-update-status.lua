@@ -0,0 +1,33 @@
+-- 批量更新 Session 的状态与操作时间并维护索引，Session 不存在时不创建
+--
+-- KEYS[1] 时间索引 Key，KEYS[2] 过期索引 Key（未使用，与其他批量脚本的 KEYS 布局一致），KEYS[3...2+N] 全部状态索引 Key，
+-- 其后每个 Session 两个 Key：Session Key、用户索引 Key
+-- ARGV[1] 状态索引 Key 数量 N，其后每个 Session 三个参数：索引成员（Session Key）、状态、操作时间（毫秒）
+--
+-- 返回实际更新的 Session 数量（已删除或尚未迁移为 Hash 的 Session 跳过）
+
+local statusTo = 2 + tonumber(ARGV[1])
+local updated = 0
+
+for n = 1, (#KEYS - statusTo) / 2 do
+    local key = KEYS[statusTo + n * 2 - 1]
+    local userIndex = KEYS[statusTo + n * 2]
+    local member = ARGV[n * 3 - 1]
+    local status = ARGV[n * 3]
+    local operateAt = ARGV[n * 3 + 1]
+    if redis.call('TYPE', key).ok == 'hash' then
+        redis.call('HSET', key, 'status', status, 'operateAt', operateAt)
+        redis.call('ZADD', KEYS[1], operateAt, member)
+        redis.call('ZADD', userIndex, operateAt, member)
+        local suffix = ':' .. status
+        for i = 3, statusTo do
+            if string.sub(KEYS[i], -#suffix) == suffix then
+                redis.call('ZADD', KEYS[i], operateAt, member)
+            else
+                redis.call('ZREM', KEYS[i], member)
+            end
+        end
+        updated = updated + 1
+    end
+end
+return updated
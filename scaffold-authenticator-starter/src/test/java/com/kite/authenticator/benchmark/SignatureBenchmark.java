@@ -0,0 +1,115 @@
+package com.kite.authenticator.benchmark;
+
+import com.kite.authenticator.context.LoginUser;
+import com.kite.authenticator.enums.TokenProfile;
+import com.kite.authenticator.signature.HmacKeyring;
+import com.kite.authenticator.signature.JwtEcSignature;
+import com.kite.authenticator.signature.JwtHmacSignature;
+import com.kite.authenticator.signature.VerifiedClaims;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.spec.ECGenParameterSpec;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HS256 与 ES256 签发、验证吞吐量对比
+ * 不属于单元测试（不会被 Surefire 执行），test-compile 后在 IDE 中直接运行 main 方法
+ *
+ * @author yourname
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SignatureBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-at-least-32-bytes-long";
+    private static final long EXPIRE_TIME = 60 * 60 * 1000L;
+    private static final String SESSION_KEY = "benchmark-session";
+
+    @Param({"FULL", "COMPACT"})
+    private TokenProfile profile;
+
+    private LoginUser loginUser;
+    private JwtHmacSignature hmacSignature;
+    private JwtEcSignature ecSignature;
+    private JwtEcSignature ecVerifier;
+    private String hmacToken;
+    private String ecToken;
+
+    @Setup
+    public void setup() throws Exception {
+        loginUser = new LoginUser();
+        loginUser.setUserId(10001L);
+        loginUser.setUsername("benchmark");
+        loginUser.setNickname("基准测试用户");
+        loginUser.setEmail("benchmark@example.com");
+        List<String> permissions = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            permissions.add("system:module" + i + ":view");
+        }
+        loginUser.setRoles(Collections.singletonList("admin"));
+        loginUser.setPermissions(permissions);
+
+        hmacSignature = new JwtHmacSignature(new HmacKeyring(SECRET), SECRET);
+        hmacSignature.setTokenProfile(profile);
+
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+        generator.initialize(new ECGenParameterSpec("secp256r1"));
+        KeyPair keyPair = generator.generateKeyPair();
+        ecSignature = new JwtEcSignature(keyPair.getPrivate(), keyPair.getPublic(), EXPIRE_TIME);
+        ecSignature.setTokenProfile(profile);
+        ecVerifier = JwtEcSignature.verifyOnly(keyPair.getPublic());
+
+        hmacToken = hmacSignature.sign(loginUser, SECRET, SESSION_KEY, EXPIRE_TIME);
+        ecToken = ecSignature.sign(loginUser, null, SESSION_KEY, EXPIRE_TIME);
+    }
+
+    @Benchmark
+    public String hs256Sign() {
+        return hmacSignature.sign(loginUser, SECRET, SESSION_KEY, EXPIRE_TIME);
+    }
+
+    @Benchmark
+    public VerifiedClaims hs256Verify() {
+        return hmacSignature.verifyClaims(hmacToken, SECRET);
+    }
+
+    @Benchmark
+    public String es256Sign() {
+        return ecSignature.sign(loginUser, null, SESSION_KEY, EXPIRE_TIME);
+    }
+
+    @Benchmark
+    public VerifiedClaims es256Verify() {
+        return ecVerifier.verifyClaims(ecToken, null);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(SignatureBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
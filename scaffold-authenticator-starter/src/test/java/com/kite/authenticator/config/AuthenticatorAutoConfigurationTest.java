@@ -0,0 +1,61 @@
+package com.kite.authenticator.config;
+
+import com.kite.authenticator.Authenticator;
+import com.kite.authenticator.filter.AuthenticationFilter;
+import com.kite.authenticator.reactive.ReactiveAuthenticationFilter;
+import com.kite.authenticator.reactive.ReactiveSecurityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.FilteredClassLoader;
+import org.springframework.boot.test.context.runner.ReactiveWebApplicationContextRunner;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 自动配置按应用类型选择认证入口：WebFlux 应用加载响应式过滤器，Servlet 应用加载 Servlet 过滤器
+ *
+ * @author yourname
+ */
+class AuthenticatorAutoConfigurationTest {
+
+    private static final AutoConfigurations AUTO_CONFIGURATIONS = AutoConfigurations.of(
+            AuthenticatorAutoConfiguration.class, ReactiveAuthenticatorAutoConfiguration.class,
+            PermissionAspect.class, RateLimitAspect.class);
+
+    private static final String SECRET = "kite.auth.secret=0123456789abcdef0123456789abcdef0123456789abcdef";
+
+    @Test
+    void reactiveApplicationLoadsReactiveFilter() {
+        new ReactiveWebApplicationContextRunner()
+                // WebFlux 应用的类路径上没有 spring-webmvc 与 Servlet API
+                .withClassLoader(new FilteredClassLoader("org.springframework.web.servlet", "javax.servlet"))
+                .withConfiguration(AUTO_CONFIGURATIONS)
+                .withPropertyValues(SECRET)
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+                    assertThat(context).hasSingleBean(ReactiveAuthenticationFilter.class);
+                    assertThat(context).hasSingleBean(ReactiveSecurityManager.class);
+                    assertThat(context).doesNotHaveBean(AuthenticationFilter.class);
+                    assertThat(context).doesNotHaveBean(FilterRegistrationBean.class);
+                    assertThat(context).doesNotHaveBean(AllowAnonymousRegistry.class);
+                    assertThat(context).doesNotHaveBean(PermissionAspect.class);
+                    assertThat(context).doesNotHaveBean(RateLimitAspect.class);
+                });
+    }
+
+    @Test
+    void servletApplicationLoadsServletFilter() {
+        new WebApplicationContextRunner()
+                .withConfiguration(AUTO_CONFIGURATIONS)
+                .withPropertyValues(SECRET)
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+                    assertThat(context).hasSingleBean(Authenticator.class);
+                    assertThat(context).hasSingleBean(AuthenticationFilter.class);
+                    assertThat(context).hasSingleBean(PermissionAspect.class);
+                    assertThat(context).doesNotHaveBean(ReactiveAuthenticationFilter.class);
+                });
+    }
+}
@@ -0,0 +1,130 @@
+package com.kite.authenticator.reactive;
+
+import com.kite.authenticator.session.DefaultSession;
+import com.kite.authenticator.session.Session;
+import com.kite.authenticator.session.dao.RedisSessionDao;
+import com.kite.authenticator.session.enums.UserStatus;
+import com.kite.common.config.RedisConfig;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ReactiveRedisSessionDao 续期写回不覆盖并发的状态修改与删除
+ *
+ * @author yourname
+ */
+class ReactiveRedisSessionDaoTest {
+
+    private static final String SESSION_KEY_PREFIX = "authc:session:";
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+
+    private StringRedisTemplate stringRedisTemplate;
+    private RedisSessionDao sessionDao;
+    private ReactiveRedisSessionDao reactiveSessionDao;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        connectionFactory.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+        if (redisServer != null) {
+            redisServer.stop();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        stringRedisTemplate = new StringRedisTemplate(connectionFactory);
+        stringRedisTemplate.getRequiredConnectionFactory().getConnection().flushAll();
+        sessionDao = new RedisSessionDao(new RedisConfig().redisTemplate(connectionFactory));
+        reactiveSessionDao = new ReactiveRedisSessionDao(new ReactiveStringRedisTemplate(connectionFactory));
+    }
+
+    @Test
+    void touchExtendsAccessAndExpireTime() {
+        DefaultSession session = session();
+        sessionDao.create(session);
+        Session loaded = reactiveSessionDao.get(session.getSessionKey()).block();
+        loaded.setLastAccessTime(session.getLastAccessTime() + 1000);
+        loaded.setExpireAt(session.getExpireAt() + TimeUnit.HOURS.toMillis(1));
+
+        reactiveSessionDao.touch(loaded).block();
+
+        Session stored = sessionDao.get(session.getSessionKey());
+        assertThat(stored.getLastAccessTime()).isEqualTo(loaded.getLastAccessTime());
+        assertThat(stored.getExpireAt()).isEqualTo(loaded.getExpireAt());
+        assertThat(stringRedisTemplate.getExpire(SESSION_KEY_PREFIX + session.getSessionKey(), TimeUnit.MILLISECONDS))
+                .isGreaterThan(TimeUnit.MINUTES.toMillis(90));
+    }
+
+    @Test
+    void touchKeepsConcurrentKickOut() {
+        DefaultSession session = session();
+        sessionDao.create(session);
+        Session loaded = reactiveSessionDao.get(session.getSessionKey()).block();
+        // 读取后、写回前被其他节点踢出
+        session.setStatus(UserStatus.KICK_OUT.getCode());
+        sessionDao.updateStatus(session);
+        loaded.touch();
+
+        reactiveSessionDao.touch(loaded).block();
+
+        assertThat(sessionDao.get(session.getSessionKey()).getStatus()).isEqualTo(UserStatus.KICK_OUT.getCode());
+    }
+
+    @Test
+    void touchDoesNotRecreateDeletedSession() {
+        DefaultSession session = session();
+        sessionDao.create(session);
+        Session loaded = reactiveSessionDao.get(session.getSessionKey()).block();
+        // 读取后、写回前登出
+        sessionDao.delete(session);
+        loaded.touch();
+
+        reactiveSessionDao.touch(loaded).block();
+
+        assertThat(stringRedisTemplate.hasKey(SESSION_KEY_PREFIX + session.getSessionKey())).isFalse();
+        assertThat(sessionDao.getUserSessionKeys(1L)).isEmpty();
+    }
+
+    private static DefaultSession session() {
+        long now = System.currentTimeMillis();
+        DefaultSession session = new DefaultSession();
+        session.setSessionKey("1:web:reactive");
+        session.setUserId(1L);
+        session.setDeviceId("web");
+        session.setStartTime(now);
+        session.setLastAccessTime(now);
+        session.setOperateAt(now);
+        session.setExpireAt(now + TimeUnit.HOURS.toMillis(1));
+        session.setStatus(UserStatus.NORMAL.getCode());
+        return session;
+    }
+}
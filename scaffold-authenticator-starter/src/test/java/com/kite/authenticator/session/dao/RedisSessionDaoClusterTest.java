@@ -0,0 +1,209 @@
+package com.kite.authenticator.session.dao;
+
+import com.kite.authenticator.reactive.ReactiveRedisSessionDao;
+import com.kite.authenticator.session.DefaultSession;
+import com.kite.authenticator.session.Session;
+import com.kite.authenticator.session.SessionPage;
+import com.kite.authenticator.session.enums.UserStatus;
+import com.kite.common.config.RedisConfig;
+import com.kite.common.util.JsonUtils;
+import com.kite.common.util.PageResult;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DataType;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
+import org.springframework.data.redis.connection.RedisClusterNode;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisShardedCluster;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Redis Cluster（内嵌三分片集群）上 Session 的读写：Session Hash、用户 Session 集合与黑名单位于不同槽位，
+ * 跨槽位的脚本会被拒绝（CROSSSLOT），Dao 应改为每次只访问一个 Key
+ *
+ * @author yourname
+ */
+class RedisSessionDaoClusterTest {
+
+    private static final String SESSION_KEY_PREFIX = "authc:session:";
+    private static final String USER_SESSIONS_KEY = "authc:user:sessions:1";
+
+    private static RedisShardedCluster redisCluster;
+    private static LettuceConnectionFactory connectionFactory;
+
+    private RedisTemplate<String, Object> redisTemplate;
+    private StringRedisTemplate stringRedisTemplate;
+    private RedisSessionDao sessionDao;
+
+    @BeforeAll
+    static void startCluster() throws IOException {
+        redisCluster = RedisShardedCluster.newRedisCluster()
+                .shard("a", 0).shard("b", 0).shard("c", 0)
+                .initializationTimeout(Duration.ofSeconds(20))
+                .ephemeral()
+                .build();
+        redisCluster.start();
+        RedisClusterConfiguration configuration = new RedisClusterConfiguration();
+        for (int port : redisCluster.serverPorts()) {
+            configuration.clusterNode("127.0.0.1", port);
+        }
+        connectionFactory = new LettuceConnectionFactory(configuration);
+        connectionFactory.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopCluster() throws IOException {
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+        if (redisCluster != null) {
+            redisCluster.stop();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = new RedisConfig().redisTemplate(connectionFactory);
+        stringRedisTemplate = new StringRedisTemplate(connectionFactory);
+        for (RedisClusterNode node : connectionFactory.getClusterConnection().clusterGetNodes()) {
+            if (node.isMaster()) {
+                connectionFactory.getClusterConnection().serverCommands().flushAll(node);
+            }
+        }
+        sessionDao = new RedisSessionDao(redisTemplate);
+    }
+
+    @Test
+    void detectsClusterConnection() {
+        assertThat(sessionDao.isCluster()).isTrue();
+        assertThat(new ReactiveRedisSessionDao(new ReactiveStringRedisTemplate(connectionFactory)).isCluster()).isTrue();
+    }
+
+    @Test
+    void createGetAndDelete() {
+        DefaultSession web = RedisSessionDaoTest.session("1:web:cluster", 1L, UserStatus.NORMAL);
+        DefaultSession app = RedisSessionDaoTest.session("1:app:cluster", 1L, UserStatus.NORMAL);
+        sessionDao.create(web);
+        sessionDao.create(app);
+
+        assertThat(sessionDao.get(web.getSessionKey()).getUserId()).isEqualTo(1L);
+        assertThat(sessionDao.getAll(Arrays.asList(web.getSessionKey(), app.getSessionKey(), "1:pad:missing")))
+                .extracting(Session::getSessionKey).containsExactlyInAnyOrder(web.getSessionKey(), app.getSessionKey());
+        assertThat(sessionDao.getUserSessionKeys(1L)).containsExactlyInAnyOrder(web.getSessionKey(), app.getSessionKey());
+        assertThat(stringRedisTemplate.getExpire(USER_SESSIONS_KEY, TimeUnit.MILLISECONDS)).isPositive();
+
+        sessionDao.delete(web);
+
+        assertThat(sessionDao.get(web.getSessionKey())).isNull();
+        assertThat(sessionDao.getUserSessionKeys(1L)).containsExactly(app.getSessionKey());
+
+        sessionDao.deleteUserSessions(1L);
+
+        assertThat(sessionDao.get(app.getSessionKey())).isNull();
+        assertThat(stringRedisTemplate.hasKey(USER_SESSIONS_KEY)).isFalse();
+    }
+
+    @Test
+    void legacySessionIsReplacedOnSave() {
+        DefaultSession legacy = RedisSessionDaoTest.session("1:web:legacy", 1L, UserStatus.NORMAL);
+        redisTemplate.opsForValue().set(SESSION_KEY_PREFIX + legacy.getSessionKey(),
+                JsonUtils.toJsonString(legacy), 1, TimeUnit.HOURS);
+
+        assertThat(sessionDao.get(legacy.getSessionKey()).getDeviceId()).isEqualTo("web");
+
+        legacy.setStatus(UserStatus.KICK_OUT.getCode());
+        sessionDao.update(legacy);
+
+        assertThat(stringRedisTemplate.type(SESSION_KEY_PREFIX + legacy.getSessionKey())).isEqualTo(DataType.HASH);
+        assertThat(sessionDao.get(legacy.getSessionKey()).getStatus()).isEqualTo(UserStatus.KICK_OUT.getCode());
+    }
+
+    @Test
+    void touchAndUpdateStatusDoNotRecreateDeletedSession() {
+        DefaultSession session = RedisSessionDaoTest.session("1:web:touched", 1L, UserStatus.NORMAL);
+        sessionDao.create(session);
+        session.setLastAccessTime(session.getLastAccessTime() + 1000);
+        session.setExpireAt(session.getExpireAt() + TimeUnit.HOURS.toMillis(1));
+        stringRedisTemplate.expire(USER_SESSIONS_KEY, 1, TimeUnit.MINUTES);
+
+        sessionDao.touch(session);
+
+        Session stored = sessionDao.get(session.getSessionKey());
+        assertThat(stored.getLastAccessTime()).isEqualTo(session.getLastAccessTime());
+        assertThat(stored.getExpireAt()).isEqualTo(session.getExpireAt());
+        assertThat(stringRedisTemplate.getExpire(USER_SESSIONS_KEY, TimeUnit.MINUTES)).isGreaterThan(90L);
+
+        session.setStatus(UserStatus.KICK_OUT.getCode());
+        session.setOperateAt(System.currentTimeMillis());
+        sessionDao.updateStatus(session);
+
+        assertThat(sessionDao.get(session.getSessionKey()).getStatus()).isEqualTo(UserStatus.KICK_OUT.getCode());
+
+        sessionDao.delete(session);
+        sessionDao.touch(session);
+        sessionDao.updateStatus(session);
+
+        assertThat(stringRedisTemplate.hasKey(SESSION_KEY_PREFIX + session.getSessionKey())).isFalse();
+    }
+
+    @Test
+    void listPageAndScanReadEveryNode() {
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 20; i++) {
+            DefaultSession session = RedisSessionDaoTest.session((i % 4) + ":web:" + i, (long) (i % 4),
+                    i % 5 == 0 ? UserStatus.KICK_OUT : UserStatus.NORMAL);
+            session.setOperateAt(now - i * 1000L);
+            sessionDao.create(session);
+        }
+
+        assertThat(sessionDao.listAllSessions()).hasSize(20);
+
+        PageResult<Session> page = sessionDao.pageSessions(null, UserStatus.KICK_OUT.getCode(), 1, 3);
+        assertThat(page.getTotal()).isEqualTo(4L);
+        assertThat(page.getList()).extracting(Session::getSessionKey).containsExactly("0:web:0", "1:web:5", "2:web:10");
+        assertThat(sessionDao.pageSessions(1L, null, 1, 10).getTotal()).isEqualTo(5L);
+
+        int scanned = 0;
+        String cursor = SessionPage.START;
+        do {
+            SessionPage scan = sessionDao.scanSessions(cursor, 7);
+            scanned += scan.getSessions().size();
+            cursor = scan.getCursor();
+        } while (!SessionPage.START.equals(cursor));
+        assertThat(scanned).isEqualTo(20);
+    }
+
+    @Test
+    void reactiveDaoWritesOneKeyAtATime() {
+        ReactiveRedisSessionDao reactiveSessionDao =
+                new ReactiveRedisSessionDao(new ReactiveStringRedisTemplate(connectionFactory));
+        DefaultSession session = RedisSessionDaoTest.session("1:web:reactive", 1L, UserStatus.NORMAL);
+
+        reactiveSessionDao.update(session).block();
+
+        assertThat(sessionDao.get(session.getSessionKey()).getUserId()).isEqualTo(1L);
+        assertThat(sessionDao.getUserSessionKeys(1L)).containsExactly(session.getSessionKey());
+
+        session.setLastAccessTime(session.getLastAccessTime() + 1000);
+        reactiveSessionDao.touch(session).block();
+
+        assertThat(sessionDao.get(session.getSessionKey()).getLastAccessTime()).isEqualTo(session.getLastAccessTime());
+
+        reactiveSessionDao.delete(session).block();
+        reactiveSessionDao.touch(session).block();
+
+        assertThat(stringRedisTemplate.hasKey(SESSION_KEY_PREFIX + session.getSessionKey())).isFalse();
+        assertThat(stringRedisTemplate.hasKey(USER_SESSIONS_KEY)).isFalse();
+    }
+}
@@ -0,0 +1,405 @@
+package com.kite.authenticator.session.dao;
+
+import com.kite.authenticator.exception.AuthRejection;
+import com.kite.authenticator.exception.AuthenticationException;
+import com.kite.authenticator.session.DefaultSession;
+import com.kite.authenticator.session.Session;
+import com.kite.authenticator.session.SessionValidator;
+import com.kite.authenticator.session.SessionWriteBehind;
+import com.kite.authenticator.session.enums.UserStatus;
+import com.kite.common.config.RedisConfig;
+import com.kite.common.util.PageResult;
+import com.kite.common.util.JsonUtils;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DataType;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import redis.embedded.RedisServer;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+/**
+ * RedisSessionDao 与 Lua 脚本在内嵌 Redis 上的行为
+ *
+ * @author yourname
+ */
+class RedisSessionDaoTest {
+
+    private static final String SESSION_KEY_PREFIX = "authc:session:";
+    private static final String BLACKLIST_KEY = "authc:blacklist:test";
+    private static final Long TIMEOUT = TimeUnit.HOURS.toMillis(1);
+    private static final Long RENEWAL = TimeUnit.HOURS.toMillis(3);
+
+    private static RedisServer redisServer;
+    private static LettuceConnectionFactory connectionFactory;
+
+    private RedisTemplate<String, Object> redisTemplate;
+    private StringRedisTemplate stringRedisTemplate;
+    private RedisSessionDao sessionDao;
+
+    @BeforeAll
+    static void startRedis() throws IOException {
+        int port;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            port = socket.getLocalPort();
+        }
+        redisServer = new RedisServer(port);
+        redisServer.start();
+        connectionFactory = new LettuceConnectionFactory(new RedisStandaloneConfiguration("localhost", port));
+        connectionFactory.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopRedis() throws IOException {
+        if (connectionFactory != null) {
+            connectionFactory.destroy();
+        }
+        if (redisServer != null) {
+            redisServer.stop();
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        // 与应用相同的 RedisTemplate（旧版本 Session 即由其 Jackson2JsonRedisSerializer 写入）
+        redisTemplate = new RedisConfig().redisTemplate(connectionFactory);
+        stringRedisTemplate = new StringRedisTemplate(connectionFactory);
+        stringRedisTemplate.getRequiredConnectionFactory().getConnection().flushAll();
+        sessionDao = new RedisSessionDao(redisTemplate);
+    }
+
+    @Test
+    void getMigratesLegacyJsonToHash() {
+        DefaultSession legacy = session("1:web:legacy", 1L, UserStatus.NORMAL);
+        writeLegacy(legacy);
+
+        Session session = sessionDao.get(legacy.getSessionKey());
+
+        assertThat(session).isNotNull();
+        assertThat(session.getSessionKey()).isEqualTo(legacy.getSessionKey());
+        assertThat(session.getUserId()).isEqualTo(1L);
+        assertThat(session.getDeviceId()).isEqualTo("web");
+        assertThat(session.getExpireAt()).isEqualTo(legacy.getExpireAt());
+        assertThat(session.getStatus()).isEqualTo(UserStatus.NORMAL.getCode());
+        String key = SESSION_KEY_PREFIX + legacy.getSessionKey();
+        assertThat(stringRedisTemplate.type(key)).isEqualTo(DataType.HASH);
+        assertThat(stringRedisTemplate.getExpire(key, TimeUnit.MILLISECONDS)).isPositive();
+    }
+
+    @Test
+    void getAllMigratesLegacyJsonAlongsideHashes() {
+        DefaultSession legacy = session("1:web:legacy", 1L, UserStatus.NORMAL);
+        DefaultSession current = session("1:app:current", 1L, UserStatus.NORMAL);
+        writeLegacy(legacy);
+        sessionDao.create(current);
+
+        List<Session> sessions = sessionDao.getAll(Arrays.asList(legacy.getSessionKey(), current.getSessionKey()));
+
+        assertThat(sessions).extracting(Session::getSessionKey)
+                .containsExactlyInAnyOrder(legacy.getSessionKey(), current.getSessionKey());
+        assertThat(stringRedisTemplate.type(SESSION_KEY_PREFIX + legacy.getSessionKey())).isEqualTo(DataType.HASH);
+    }
+
+    @Test
+    void authenticateMigratesLegacyJson() {
+        DefaultSession legacy = session("1:web:legacy", 1L, UserStatus.NORMAL);
+        writeLegacy(legacy);
+
+        Session session = sessionDao.authenticate(legacy.getSessionKey(), 1L, null, "web",
+                null, true, true, null, null);
+
+        assertThat(session).isNotNull();
+        assertThat(session.getUserId()).isEqualTo(1L);
+        assertThat(stringRedisTemplate.type(SESSION_KEY_PREFIX + legacy.getSessionKey())).isEqualTo(DataType.HASH);
+    }
+
+    @Test
+    void unparsableLegacyValueIsLeftUntouched() {
+        String key = SESSION_KEY_PREFIX + "1:web:broken";
+        stringRedisTemplate.opsForValue().set(key, "not json");
+
+        assertThat(sessionDao.get("1:web:broken")).isNull();
+        assertThat(stringRedisTemplate.opsForValue().get(key)).isEqualTo("not json");
+    }
+
+    @Test
+    void saveRemovesIndexMembersOfExpiredSessions() throws InterruptedException {
+        DefaultSession expiring = session("1:web:expiring", 1L, UserStatus.NORMAL);
+        expiring.setExpireAt(System.currentTimeMillis() + 50);
+        sessionDao.create(expiring);
+        // 过期索引中的分值已过期，但 Hash 中的过期时间已被续期，清理时应重新排队而非删除
+        DefaultSession renewed = session("2:web:renewed", 2L, UserStatus.NORMAL);
+        sessionDao.create(renewed);
+        stringRedisTemplate.opsForZSet().add(SessionIndexKeys.EXPIRE_INDEX_KEY, renewed.getSessionKey(), 1);
+        TimeUnit.MILLISECONDS.sleep(200);
+
+        sessionDao.create(session("3:web:trigger", 3L, UserStatus.NORMAL));
+
+        String normalIndexKey = SessionIndexKeys.statusIndexKey(UserStatus.NORMAL.getCode());
+        for (String indexKey : Arrays.asList(SessionIndexKeys.TIME_INDEX_KEY, SessionIndexKeys.EXPIRE_INDEX_KEY,
+                normalIndexKey)) {
+            assertThat(stringRedisTemplate.opsForZSet().score(indexKey, expiring.getSessionKey())).isNull();
+            assertThat(stringRedisTemplate.opsForZSet().score(indexKey, renewed.getSessionKey())).isNotNull();
+        }
+        assertThat(stringRedisTemplate.opsForZSet().score(SessionIndexKeys.EXPIRE_INDEX_KEY, renewed.getSessionKey()))
+                .isEqualTo(renewed.getExpireAt().doubleValue());
+    }
+
+    @Test
+    void pageSessionsFiltersByStatus() {
+        long now = System.currentTimeMillis();
+        DefaultSession first = session("1:web:first", 1L, UserStatus.NORMAL);
+        DefaultSession second = session("1:app:second", 1L, UserStatus.NORMAL);
+        DefaultSession kicked = session("1:pad:kicked", 1L, UserStatus.NORMAL);
+        DefaultSession other = session("2:web:other", 2L, UserStatus.NORMAL);
+        first.setOperateAt(now - 4000);
+        second.setOperateAt(now - 3000);
+        kicked.setOperateAt(now - 2000);
+        other.setOperateAt(now - 1000);
+        for (DefaultSession session : Arrays.asList(first, second, kicked, other)) {
+            sessionDao.create(session);
+        }
+        kicked.setStatus(UserStatus.KICK_OUT.getCode());
+        other.setStatus(UserStatus.KICK_OUT.getCode());
+        sessionDao.updateStatusAll(Arrays.asList(kicked, other));
+
+        PageResult<Session> normal = sessionDao.pageSessions(1L, UserStatus.NORMAL.getCode(), 1, 10);
+        assertThat(normal.getTotal()).isEqualTo(2L);
+        assertThat(normal.getList()).extracting(Session::getSessionKey)
+                .containsExactly(second.getSessionKey(), first.getSessionKey());
+
+        PageResult<Session> secondPage = sessionDao.pageSessions(1L, UserStatus.NORMAL.getCode(), 2, 1);
+        assertThat(secondPage.getTotal()).isEqualTo(2L);
+        assertThat(secondPage.getList()).extracting(Session::getSessionKey).containsExactly(first.getSessionKey());
+
+        PageResult<Session> userKicked = sessionDao.pageSessions(1L, UserStatus.KICK_OUT.getCode(), 1, 10);
+        assertThat(userKicked.getTotal()).isEqualTo(1L);
+        assertThat(userKicked.getList()).extracting(Session::getSessionKey).containsExactly(kicked.getSessionKey());
+
+        // 仅按状态查询时读取状态索引
+        PageResult<Session> allKicked = sessionDao.pageSessions(null, UserStatus.KICK_OUT.getCode(), 1, 10);
+        assertThat(allKicked.getTotal()).isEqualTo(2L);
+        assertThat(allKicked.getList()).extracting(Session::getSessionKey)
+                .containsExactly(other.getSessionKey(), kicked.getSessionKey());
+        assertThat(stringRedisTemplate.opsForZSet().score(
+                SessionIndexKeys.statusIndexKey(UserStatus.NORMAL.getCode()), kicked.getSessionKey())).isNull();
+
+        assertThat(sessionDao.pageSessions(null, null, 1, 10).getTotal()).isEqualTo(4L);
+    }
+
+    @Test
+    void deleteRemovesIndexMembers() {
+        DefaultSession session = session("1:web:deleted", 1L, UserStatus.NORMAL);
+        sessionDao.create(session);
+
+        sessionDao.delete(session);
+
+        for (String indexKey : Arrays.asList(SessionIndexKeys.TIME_INDEX_KEY, SessionIndexKeys.EXPIRE_INDEX_KEY,
+                SessionIndexKeys.userIndexKey(1L), SessionIndexKeys.statusIndexKey(UserStatus.NORMAL.getCode()))) {
+            assertThat(stringRedisTemplate.opsForZSet().score(indexKey, session.getSessionKey())).isNull();
+        }
+        assertThat(sessionDao.pageSessions(1L, null, 1, 10).getTotal()).isZero();
+    }
+
+    @Test
+    void pageSessionsBackfillsIndexesOfExistingSessions() {
+        // 升级前写入的 Session：Hash 与旧版本的 JSON 字符串，均没有索引
+        DefaultSession hash = session("1:web:hash", 1L, UserStatus.NORMAL);
+        DefaultSession legacy = session("1:app:legacy", 1L, UserStatus.KICK_OUT);
+        legacy.setOperateAt(hash.getOperateAt() + 1000);
+        stringRedisTemplate.opsForHash().putAll(SESSION_KEY_PREFIX + hash.getSessionKey(),
+                SessionHashMapper.toHash(hash));
+        writeLegacy(legacy);
+
+        PageResult<Session> page = sessionDao.pageSessions(1L, null, 1, 10);
+
+        assertThat(page.getTotal()).isEqualTo(2L);
+        assertThat(page.getList()).extracting(Session::getSessionKey)
+                .containsExactly(legacy.getSessionKey(), hash.getSessionKey());
+        assertThat(stringRedisTemplate.hasKey(SessionIndexKeys.READY_KEY)).isTrue();
+        assertThat(stringRedisTemplate.type(SESSION_KEY_PREFIX + legacy.getSessionKey())).isEqualTo(DataType.HASH);
+        assertThat(stringRedisTemplate.opsForZSet().score(
+                SessionIndexKeys.statusIndexKey(UserStatus.KICK_OUT.getCode()), legacy.getSessionKey())).isNotNull();
+        assertThat(stringRedisTemplate.opsForZSet().score(SessionIndexKeys.EXPIRE_INDEX_KEY, hash.getSessionKey()))
+                .isEqualTo(hash.getExpireAt().doubleValue());
+    }
+
+    @Test
+    void authenticateRejectsBlacklistedToken() {
+        DefaultSession session = session("1:web:blacklisted", 1L, UserStatus.NORMAL);
+        sessionDao.create(session);
+        stringRedisTemplate.opsForValue().set(BLACKLIST_KEY, "1");
+
+        assertThatThrownBy(() -> authenticate(session, BLACKLIST_KEY, "web", null, null, null))
+                .isSameAs(AuthRejection.TOKEN_REVOKED.exception());
+        assertThat(stored(session).getLastAccessTime()).isEqualTo(session.getLastAccessTime());
+    }
+
+    @Test
+    void authenticateRejectsMissingSession() {
+        DefaultSession session = session("1:web:missing", 1L, UserStatus.NORMAL);
+
+        assertThatThrownBy(() -> authenticate(session, BLACKLIST_KEY, "web", null, null, null))
+                .isSameAs(AuthRejection.SESSION_NOT_FOUND.exception());
+        assertThat(stringRedisTemplate.hasKey(SESSION_KEY_PREFIX + session.getSessionKey())).isFalse();
+    }
+
+    @Test
+    void authenticateRejectsLikeSessionValidator() {
+        long now = System.currentTimeMillis();
+        Map<String, DefaultSession> cases = new LinkedHashMap<>();
+        DefaultSession expired = session("1:web:expired", 1L, UserStatus.NORMAL);
+        expired.setExpireAt(now - 1000);
+        cases.put("expired", expired);
+        cases.put("device", session("1:web:device", 1L, UserStatus.NORMAL));
+        for (UserStatus status : UserStatus.values()) {
+            if (status != UserStatus.NORMAL) {
+                cases.put(status.name(), session("1:web:" + status.name(), 1L, status));
+            }
+        }
+        DefaultSession idle = session("1:web:idle", 1L, UserStatus.NORMAL);
+        idle.setLastAccessTime(now - TimeUnit.HOURS.toMillis(2));
+        cases.put("timeout", idle);
+
+        for (Map.Entry<String, DefaultSession> entry : cases.entrySet()) {
+            DefaultSession session = entry.getValue();
+            String host = "device".equals(entry.getKey()) ? "app" : "web";
+            sessionDao.create(session);
+            Throwable expected = catchThrowable(() -> SessionValidator.validate(session, host, TIMEOUT, true, true));
+
+            assertThat(expected).as(entry.getKey()).isInstanceOf(AuthenticationException.class);
+            assertThatThrownBy(() -> authenticate(session, null, host, TIMEOUT, RENEWAL, null))
+                    .as(entry.getKey()).isSameAs(expected);
+            // 校验未通过时不写回
+            Session stored = stored(session);
+            assertThat(stored.getLastAccessTime()).as(entry.getKey()).isEqualTo(session.getLastAccessTime());
+            assertThat(stored.getExpireAt()).as(entry.getKey()).isEqualTo(session.getExpireAt());
+        }
+    }
+
+    @Test
+    void authenticateAcceptsNonStandardStatusThroughJavaValidator() {
+        // 脚本只识别标准状态码，其余状态交给 SessionValidator（按 NORMAL 处理）
+        DefaultSession session = session("1:web:custom", 1L, UserStatus.NORMAL);
+        session.setStatus(7);
+        session.setLastAccessTime(session.getLastAccessTime() - 1000);
+        sessionDao.create(session);
+
+        Session authenticated = authenticate(session, null, "web", TIMEOUT, null, null);
+
+        assertThat(authenticated.getStatus()).isEqualTo(7);
+        assertThat(stored(session).getLastAccessTime()).isGreaterThan(session.getLastAccessTime());
+    }
+
+    @Test
+    void authenticateWritesAccessTimeAndRenewal() {
+        DefaultSession session = session("1:web:renewed", 1L, UserStatus.NORMAL);
+        session.setLastAccessTime(session.getLastAccessTime() - TimeUnit.MINUTES.toMillis(5));
+        sessionDao.create(session);
+        long before = System.currentTimeMillis();
+
+        authenticate(session, BLACKLIST_KEY, "web", TIMEOUT, RENEWAL, null);
+
+        Session stored = stored(session);
+        assertThat(stored.getLastAccessTime()).isGreaterThanOrEqualTo(before);
+        assertThat(stored.getExpireAt()).isGreaterThanOrEqualTo(before + RENEWAL);
+        assertThat(stringRedisTemplate.getExpire(SESSION_KEY_PREFIX + session.getSessionKey(), TimeUnit.MILLISECONDS))
+                .isGreaterThan(RENEWAL - TimeUnit.MINUTES.toMillis(1));
+    }
+
+    @Test
+    void authenticateDefersWriteWithinGranularity() {
+        DefaultSession session = session("1:web:deferred", 1L, UserStatus.NORMAL);
+        session.setLastAccessTime(session.getLastAccessTime() - 1000);
+        sessionDao.create(session);
+        SessionWriteBehind writeBehind = new SessionWriteBehind(sessionDao, TimeUnit.MINUTES.toMillis(1), 10000, 100);
+
+        Session authenticated = authenticate(session, null, "web", TIMEOUT, RENEWAL, writeBehind);
+
+        assertThat(authenticated.getLastAccessTime()).isGreaterThan(session.getLastAccessTime());
+        assertThat(writeBehind.getPendingCount()).isEqualTo(1);
+        Session stored = stored(session);
+        assertThat(stored.getLastAccessTime()).isEqualTo(session.getLastAccessTime());
+        assertThat(stored.getExpireAt()).isEqualTo(session.getExpireAt());
+    }
+
+    @Test
+    void authenticateOnlyExtendsUserKeyTtls() {
+        DefaultSession session = session("1:web:ttl", 1L, UserStatus.NORMAL);
+        sessionDao.create(session);
+        String userSessionsKey = "authc:user:sessions:1";
+        String userIndexKey = SessionIndexKeys.userIndexKey(1L);
+        // 同一用户的其他 Session 过期时间更晚：续期不能缩短
+        stringRedisTemplate.expire(userSessionsKey, 10, TimeUnit.HOURS);
+        stringRedisTemplate.expire(userIndexKey, 10, TimeUnit.HOURS);
+
+        authenticate(session, null, "web", null, RENEWAL, null);
+
+        assertThat(stringRedisTemplate.getExpire(userSessionsKey, TimeUnit.HOURS)).isGreaterThanOrEqualTo(9L);
+        assertThat(stringRedisTemplate.getExpire(userIndexKey, TimeUnit.HOURS)).isGreaterThanOrEqualTo(9L);
+
+        // 更短时延长到续期后的过期时间
+        stringRedisTemplate.expire(userSessionsKey, 1, TimeUnit.MINUTES);
+        stringRedisTemplate.expire(userIndexKey, 1, TimeUnit.MINUTES);
+
+        authenticate(session, null, "web", null, RENEWAL, null);
+
+        long minimum = RENEWAL - TimeUnit.MINUTES.toMillis(1);
+        assertThat(stringRedisTemplate.getExpire(userSessionsKey, TimeUnit.MILLISECONDS)).isGreaterThan(minimum);
+        assertThat(stringRedisTemplate.getExpire(userIndexKey, TimeUnit.MILLISECONDS)).isGreaterThan(minimum);
+
+        // 不续期时按 Session 剩余有效期延长，同样不缩短
+        authenticate(session, null, "web", null, null, null);
+
+        assertThat(stringRedisTemplate.getExpire(userSessionsKey, TimeUnit.MILLISECONDS)).isGreaterThan(minimum);
+        assertThat(stringRedisTemplate.getExpire(userIndexKey, TimeUnit.MILLISECONDS)).isGreaterThan(minimum);
+    }
+
+    private Session authenticate(Session session, String blacklistKey, String host, Long sessionTimeout,
+                                 Long renewalInterval, SessionWriteBehind writeBehind) {
+        return sessionDao.authenticate(session.getSessionKey(), session.getUserId(), blacklistKey, host,
+                sessionTimeout, true, true, renewalInterval, writeBehind);
+    }
+
+    private Session stored(Session session) {
+        return SessionHashMapper.fromHash(
+                stringRedisTemplate.opsForHash().entries(SESSION_KEY_PREFIX + session.getSessionKey()));
+    }
+
+    /**
+     * 按旧版本 RedisSessionDao 的写法保存：Session 先转为 JSON 字符串，再由 RedisTemplate 的 Jackson 序列化器写入
+     */
+    private void writeLegacy(DefaultSession session) {
+        redisTemplate.opsForValue().set(SESSION_KEY_PREFIX + session.getSessionKey(),
+                JsonUtils.toJsonString(session), 1, TimeUnit.HOURS);
+    }
+
+    static DefaultSession session(String sessionKey, Long userId, UserStatus status) {
+        long now = System.currentTimeMillis();
+        DefaultSession session = new DefaultSession();
+        session.setSessionKey(sessionKey);
+        session.setUserId(userId);
+        session.setDeviceId(sessionKey.split(":")[1]);
+        session.setStartTime(now);
+        session.setLastAccessTime(now);
+        session.setOperateAt(now);
+        session.setExpireAt(now + TimeUnit.HOURS.toMillis(1));
+        session.setStatus(status.getCode());
+        return session;
+    }
+}
@@ -0,0 +1,21 @@
+package com.kite.common.concurrent;
+
+/**
+ * 线程上下文传递器
+ * 提交并行任务时在调用线程上 {@link #capture()} 当前上下文，
+ * 工作线程执行任务前 {@link #restore(Object)} 该快照，任务结束后再恢复工作线程原有的上下文。
+ *
+ * @author yourname
+ */
+public interface ContextPropagator {
+
+    /**
+     * 在调用线程上获取上下文快照（无上下文时返回 null）
+     */
+    Object capture();
+
+    /**
+     * 在当前线程上恢复快照，snapshot 为 null 时清除上下文
+     */
+    void restore(Object snapshot);
+}
@@ -0,0 +1,241 @@
+package com.kite.common.concurrent;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * 并行扇出执行器
+ * 把一次请求中互不依赖的 I/O（如多条统计查询、按ID批量加载）并行执行，整体耗时接近其中最慢的一次调用。
+ * 线程池与队列均有上限，队列满时由调用线程自己执行，不会无限堆积任务；
+ * 提交时通过 {@link ContextPropagator} 把调用线程的上下文（登录用户、操作日志等）带到工作线程。
+ * 每次调用都带截止时间，超时后取消未完成的任务。
+ *
+ * @author yourname
+ */
+public class FanOutExecutor implements AutoCloseable {
+
+    private final ThreadPoolExecutor executor;
+    private final List<ContextPropagator> propagators;
+
+    /**
+     * @param poolSize      工作线程数
+     * @param queueCapacity 等待队列容量
+     * @param propagators   上下文传递器
+     */
+    public FanOutExecutor(int poolSize, int queueCapacity, List<ContextPropagator> propagators) {
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new NamedThreadFactory("fan-out-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        this.executor.allowCoreThreadTimeOut(true);
+        this.propagators = propagators != null ? new ArrayList<>(propagators) : Collections.emptyList();
+    }
+
+    /**
+     * 并行执行全部任务，按提交顺序返回结果
+     * 任一任务失败时取消其余任务并抛出该任务的异常（RuntimeException 原样抛出）；
+     * 超过截止时间时取消未完成的任务并抛出 IllegalStateException。
+     *
+     * @param tasks   任务列表
+     * @param timeout 截止时间（从调用开始计算）
+     * @param unit    时间单位
+     */
+    public <T> List<T> invokeAll(List<? extends Callable<T>> tasks, long timeout, TimeUnit unit) {
+        if (tasks.isEmpty()) {
+            return Collections.emptyList();
+        }
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        List<Future<T>> futures = submitAll(tasks);
+        List<T> results = new ArrayList<>(futures.size());
+        try {
+            for (Future<T> future : futures) {
+                results.add(future.get(remaining(deadline), TimeUnit.NANOSECONDS));
+            }
+            return results;
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("并行任务未在 " + unit.toMillis(timeout) + "ms 内完成", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("并行任务执行失败", cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("等待并行任务时线程被中断", e);
+        } finally {
+            cancelAll(futures);
+        }
+    }
+
+    /**
+     * 按 key 并行加载，尽力而为
+     * 加载失败、返回 null 或截止时间前未完成的 key 不出现在结果中，适合列表页补充展示信息等可降级的场景。
+     *
+     * @param keys    待加载的 key（重复的 key 只加载一次）
+     * @param loader  加载函数
+     * @param timeout 截止时间（从调用开始计算）
+     * @param unit    时间单位
+     */
+    public <K, V> Map<K, V> loadAll(Collection<K> keys, Function<? super K, ? extends V> loader,
+                                    long timeout, TimeUnit unit) {
+        return loadAll(keys, loader, Integer.MAX_VALUE, timeout, unit);
+    }
+
+    /**
+     * 按 key 并行加载，尽力而为，同时进行的加载不超过 parallelism 个
+     * 加载函数占用数据库连接等有限资源时，用 parallelism 限制单次调用的占用量（key 均分给各任务，任务内顺序加载）。
+     *
+     * @param keys        待加载的 key（重复的 key 只加载一次）
+     * @param loader      加载函数
+     * @param parallelism 最大并行数
+     * @param timeout     截止时间（从调用开始计算）
+     * @param unit        时间单位
+     */
+    public <K, V> Map<K, V> loadAll(Collection<K> keys, Function<? super K, ? extends V> loader,
+                                    int parallelism, long timeout, TimeUnit unit) {
+        Map<K, V> result = new LinkedHashMap<>();
+        if (keys == null || keys.isEmpty()) {
+            return result;
+        }
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        List<K> distinct = new ArrayList<>(new LinkedHashSet<>(keys));
+        distinct.remove(null);
+        int tasks = Math.max(1, Math.min(parallelism, distinct.size()));
+        // 每个 key 加载完成即写入，截止时间到达时已完成的 key 都能返回
+        Map<K, V> loaded = new ConcurrentHashMap<>();
+        List<Future<Void>> futures = new ArrayList<>(tasks);
+        for (int i = 0; i < tasks; i++) {
+            List<K> slice = new ArrayList<>();
+            for (int j = i; j < distinct.size(); j += tasks) {
+                slice.add(distinct.get(j));
+            }
+            futures.add(executor.submit(wrap(() -> {
+                for (K key : slice) {
+                    if (Thread.currentThread().isInterrupted()) {
+                        break;
+                    }
+                    try {
+                        V value = loader.apply(key);
+                        if (value != null) {
+                            loaded.put(key, value);
+                        }
+                    } catch (RuntimeException ignore) {
+                        // 单个 key 失败不影响其他 key
+                    }
+                }
+                return null;
+            })));
+        }
+        try {
+            for (Future<Void> future : futures) {
+                try {
+                    future.get(remaining(deadline), TimeUnit.NANOSECONDS);
+                } catch (TimeoutException | ExecutionException | CancellationException ignore) {
+                    // 单个任务超时或失败不影响其他任务；截止时间过后等待时间为 0，不再阻塞
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            cancelAll(futures);
+        }
+        for (K key : distinct) {
+            V value = loaded.get(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 关闭执行器，不再接受新任务
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private <T> List<Future<T>> submitAll(List<? extends Callable<T>> tasks) {
+        List<Future<T>> futures = new ArrayList<>(tasks.size());
+        for (Callable<T> task : tasks) {
+            futures.add(executor.submit(wrap(task)));
+        }
+        return futures;
+    }
+
+    private <T> Callable<T> wrap(Callable<T> task) {
+        if (propagators.isEmpty()) {
+            return task;
+        }
+        Object[] snapshots = new Object[propagators.size()];
+        for (int i = 0; i < snapshots.length; i++) {
+            snapshots[i] = propagators.get(i).capture();
+        }
+        return () -> {
+            // 队列满时任务在调用线程上执行，结束后需要还原调用线程自己的上下文
+            Object[] previous = new Object[snapshots.length];
+            for (int i = 0; i < snapshots.length; i++) {
+                ContextPropagator propagator = propagators.get(i);
+                previous[i] = propagator.capture();
+                propagator.restore(snapshots[i]);
+            }
+            try {
+                return task.call();
+            } finally {
+                for (int i = snapshots.length - 1; i >= 0; i--) {
+                    propagators.get(i).restore(previous[i]);
+                }
+            }
+        };
+    }
+
+    private static long remaining(long deadline) {
+        return Math.max(0L, deadline - System.nanoTime());
+    }
+
+    private static void cancelAll(Collection<? extends Future<?>> futures) {
+        for (Future<?> future : futures) {
+            if (!future.isDone()) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private static class NamedThreadFactory implements ThreadFactory {
+
+        private final String prefix;
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        NamedThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.kite.common.concurrent;
+
+import com.kite.common.log.OperationLogContext;
+
+/**
+ * 操作日志上下文传递器
+ *
+ * @author yourname
+ */
+public class OperationLogContextPropagator implements ContextPropagator {
+
+    @Override
+    public Object capture() {
+        return OperationLogContext.getContext();
+    }
+
+    @Override
+    public void restore(Object snapshot) {
+        if (snapshot == null) {
+            OperationLogContext.clear();
+        } else {
+            OperationLogContext.setContext((OperationLogContext) snapshot);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.kite.common.config;
+
+import com.kite.common.concurrent.ContextPropagator;
+import com.kite.common.concurrent.FanOutExecutor;
+import com.kite.common.concurrent.OperationLogContextPropagator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * 并行扇出执行器配置
+ * 
+ * @author yourname
+ */
+@Configuration
+public class FanOutConfig {
+
+    @Bean
+    public OperationLogContextPropagator operationLogContextPropagator() {
+        return new OperationLogContextPropagator();
+    }
+
+    @Bean
+    public FanOutExecutor fanOutExecutor(@Value("${kite.fan-out.pool-size:16}") int poolSize,
+                                         @Value("${kite.fan-out.queue-capacity:256}") int queueCapacity,
+                                         ObjectProvider<ContextPropagator> propagators) {
+        List<ContextPropagator> list = propagators.orderedStream().collect(Collectors.toList());
+        return new FanOutExecutor(poolSize, queueCapacity, list);
+    }
+}
@@ -45,6 +45,15 @@ public class BusinessException extends RuntimeException {
         this.message = resultCode.getMessage();
     }
     
+    /**
+     * 供高频异常子类使用：可关闭堆栈采集与异常抑制，以便预分配并复用实例
+     */
+    protected BusinessException(Integer code, String message, boolean writableStackTrace) {
+        super(message, null, writableStackTrace, writableStackTrace);
+        this.code = code;
+        this.message = message;
+    }
+    
     public BusinessException(String message, Throwable cause) {
         super(message, cause);
         this.code = ResultCode.BUSINESS_ERROR.getCode();
@@ -2,16 +2,20 @@ package com.kite.usercenter.controller;
 
 import com.kite.authenticator.AuthenticationInfo;
 import com.kite.authenticator.Authenticator;
+import com.kite.authenticator.Signature;
 import com.kite.authenticator.annotation.AllowAnonymous;
 import com.kite.authenticator.annotation.RateLimit;
+import com.kite.authenticator.context.AuthContext;
 import com.kite.authenticator.context.LoginUser;
 import com.kite.authenticator.enums.RateLimitType;
 import com.kite.authenticator.service.AuthenticationService;
 import com.kite.authenticator.service.SessionManagementService;
 import com.kite.authenticator.service.TokenBlacklistService;
+import com.kite.authenticator.token.TokenPair;
 import com.kite.authenticator.util.JwtUtils;
 import com.kite.common.response.Result;
 import com.kite.usercenter.dto.LoginRequest;
+import com.kite.usercenter.dto.RefreshTokenRequest;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -52,6 +56,9 @@ public class AuthController {
     @Autowired(required = false)
     private com.kite.authenticator.config.AuthenticatorProperties authenticatorProperties;
     
+    @Autowired(required = false)
+    private Signature signature;
+    
     @Operation(summary = "用户登录", description = "用户名密码登录，返回 Token")
     @RateLimit(
         type = RateLimitType.IP,
@@ -94,17 +101,33 @@ public class AuthController {
             }
         };
         
-        // 调用 Authenticator 进行登录
-        String token = authenticator.login(authenticationInfo);
+        // 调用 Authenticator 进行登录（启用 Refresh Token 时同时签发令牌对）
+        TokenPair tokenPair = authenticator.issueTokens(authenticationInfo);
         
-        Map<String, Object> result = new HashMap<>();
-        result.put("token", token);
-        result.put("expireTime", loginUser.getExpireAt());
+        Map<String, Object> result = toTokenResult(tokenPair);
         result.put("user", loginUser);
         
         return Result.success(result);
     }
     
+    @Operation(summary = "刷新 Token", description = "使用 Refresh Token 换取新的 Access Token 与 Refresh Token（旧 Refresh Token 立即失效）")
+    @RateLimit(
+        type = RateLimitType.IP,
+        window = 60,
+        maxRequests = 30,
+        message = "刷新过于频繁，请稍后再试"
+    )
+    @PostMapping("/refresh")
+    public Result<Map<String, Object>> refresh(@Valid @RequestBody RefreshTokenRequest refreshTokenRequest,
+                                               HttpServletRequest request) {
+        if (authenticator == null) {
+            return Result.fail("认证器未配置");
+        }
+        
+        TokenPair tokenPair = authenticator.refresh(refreshTokenRequest.getRefreshToken(), extractDeviceId(request));
+        return Result.success(toTokenResult(tokenPair));
+    }
+    
     @Operation(summary = "获取当前用户信息", description = "根据 Token 获取当前登录用户信息")
     @GetMapping("/current")
     public Result<LoginUser> getCurrentUser(LoginUser loginUser) {
@@ -121,7 +144,7 @@ public class AuthController {
             String token = extractToken(request);
             if (token != null && sessionManagementService != null && authenticatorProperties != null) {
                 // 从 Token 中提取 sessionKey
-                String sessionKey = JwtUtils.extractSessionKey(token, authenticatorProperties.getSecret());
+                String sessionKey = extractSessionKey(token);
                 if (sessionKey != null && !sessionKey.isEmpty()) {
                     // 正常退出：删除 Session（不加入黑名单）
                     sessionManagementService.deleteSession(sessionKey);
@@ -132,29 +155,44 @@ public class AuthController {
     }
     
     /**
-     * 提取设备ID
+     * 令牌对转为响应结果（未启用 Refresh Token 时不返回 refreshToken 字段）
      */
-    private String extractDeviceId(HttpServletRequest request) {
-        String deviceId = request.getHeader("X-Device-Id");
-        if (deviceId == null || deviceId.isEmpty()) {
-            String userAgent = request.getHeader("User-Agent");
-            if (userAgent != null && !userAgent.isEmpty()) {
-                deviceId = userAgent.hashCode() + "";
-            } else {
-                deviceId = request.getRemoteAddr();
-            }
+    private Map<String, Object> toTokenResult(TokenPair tokenPair) {
+        Map<String, Object> result = new HashMap<>();
+        result.put("token", tokenPair.getAccessToken());
+        result.put("expireTime", tokenPair.getAccessExpireAt());
+        if (tokenPair.getRefreshToken() != null) {
+            result.put("refreshToken", tokenPair.getRefreshToken());
+            result.put("refreshExpireTime", tokenPair.getRefreshExpireAt());
+        }
+        return result;
+    }
+    
+    /**
+     * 从 Token 中提取 SessionKey（通过 Signature 验证，兼容 HMAC 与非对称算法）
+     */
+    private String extractSessionKey(String token) {
+        if (signature == null) {
+            return JwtUtils.extractSessionKey(token, authenticatorProperties.getSecret());
+        }
+        try {
+            return signature.verifyClaims(token, authenticatorProperties.getSecret()).getSessionKey();
+        } catch (Exception e) {
+            return null;
         }
-        return deviceId;
+    }
+    
+    /**
+     * 提取设备ID（与认证过滤器使用同一请求级上下文）
+     */
+    private String extractDeviceId(HttpServletRequest request) {
+        return AuthContext.from(request, authenticatorProperties).getDeviceId();
     }
     
     /**
      * 提取 Token
      */
     private String extractToken(HttpServletRequest request) {
-        String token = request.getHeader("Authorization");
-        if (token != null && token.startsWith("Bearer ")) {
-            return token.substring(7);
-        }
-        return null;
+        return AuthContext.from(request, authenticatorProperties).getToken();
     }
 }
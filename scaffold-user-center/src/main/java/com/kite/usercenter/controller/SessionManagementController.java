@@ -5,18 +5,22 @@ import com.kite.authenticator.context.LoginUserContext;
 import com.kite.authenticator.service.SessionManagementService;
 import com.kite.authenticator.service.TokenBlacklistService;
 import com.kite.authenticator.session.Session;
+import com.kite.authenticator.session.SessionPage;
 import com.kite.authenticator.session.enums.UserStatus;
 import com.kite.common.annotation.OperationLog;
+import com.kite.common.concurrent.FanOutExecutor;
 import com.kite.common.response.Result;
 import com.kite.common.util.PageResult;
 import com.kite.usercenter.dto.SessionListRequest;
 import com.kite.usercenter.dto.UserDTO;
 import com.kite.usercenter.service.UserService;
 import com.kite.usercenter.vo.SessionInfoVO;
+import com.kite.usercenter.vo.SessionScanVO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
 
@@ -25,6 +29,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -47,6 +52,18 @@ public class SessionManagementController {
     @Autowired(required = false)
     private UserService userService;
     
+    @Autowired(required = false)
+    private FanOutExecutor fanOutExecutor;
+    
+    @Value("${kite.fan-out.timeout:3000}")
+    private long fanOutTimeout;
+    
+    /**
+     * 单次请求并行查库的上限（每个并行任务占用一个数据库连接）
+     */
+    @Value("${kite.fan-out.db-parallelism:2}")
+    private int dbParallelism;
+    
     @Operation(summary = "获取当前用户的 Session 列表", description = "获取当前登录用户的所有 Session")
     @GetMapping("/my-sessions")
     @OperationLog(module = "Session管理", operationType = "查询", description = "查询我的Session列表")
@@ -133,7 +150,7 @@ public class SessionManagementController {
         return Result.success("Token 已撤销（安全事件）");
     }
     
-    @Operation(summary = "分页获取 Session 列表", description = "支持按用户、关键字筛选 Session 列表")
+    @Operation(summary = "分页获取 Session 列表", description = "支持按用户、状态、关键字筛选 Session 列表")
     @PostMapping("/list")
     @OperationLog(module = "Session管理", operationType = "查询", description = "分页查询Session列表")
     public Result<PageResult<SessionInfoVO>> listSessions(@RequestBody SessionListRequest request) {
@@ -144,6 +161,20 @@ public class SessionManagementController {
         int pageNum = request.getPageNum() != null && request.getPageNum() > 0 ? request.getPageNum() : 1;
         int pageSize = request.getPageSize() != null && request.getPageSize() > 0 ? request.getPageSize() : 10;
         
+        String keyword = request.getKeyword();
+        if (!StringUtils.hasText(keyword)) {
+            // 用户、状态过滤与排序分页由存储端索引完成，只读取本页的 Session
+            PageResult<Session> page = sessionManagementService.pageSessions(
+                    request.getUserId(), request.getStatus(), pageNum, pageSize);
+            Set<Long> pageUserIds = page.getList().stream()
+                    .map(Session::getUserId)
+                    .filter(id -> id != null && id > 0)
+                    .collect(Collectors.toSet());
+            List<SessionInfoVO> pageList = convertSessions(page.getList(), loadUserInfo(pageUserIds));
+            return Result.success(PageResult.of(pageList, page.getTotal(), pageNum, pageSize));
+        }
+        
+        // 关键字需要匹配用户名与昵称，仍读取全部 Session 在内存中过滤
         List<Session> sessionList = sessionManagementService.listAllSessions();
         if (sessionList == null) {
             sessionList = new ArrayList<>();
@@ -157,34 +188,38 @@ public class SessionManagementController {
                     .collect(Collectors.toList());
         }
         
+        Integer targetStatus = request.getStatus();
+        if (targetStatus != null) {
+            sessionList = sessionList.stream()
+                    .filter(session -> targetStatus.equals(UserStatus.fromCode(session.getStatus()).getCode()))
+                    .collect(Collectors.toList());
+        }
+        
         Set<Long> userIds = sessionList.stream()
                 .map(Session::getUserId)
                 .filter(id -> id != null && id > 0)
                 .collect(Collectors.toSet());
         Map<Long, UserDTO> userInfoMap = loadUserInfo(userIds);
         
-        String keyword = request.getKeyword();
-        if (StringUtils.hasText(keyword)) {
-            String lowerKeyword = keyword.toLowerCase();
-            sessionList = sessionList.stream().filter(session -> {
-                if (session.getSessionKey() != null && session.getSessionKey().toLowerCase().contains(lowerKeyword)) {
+        String lowerKeyword = keyword.toLowerCase();
+        sessionList = sessionList.stream().filter(session -> {
+            if (session.getSessionKey() != null && session.getSessionKey().toLowerCase().contains(lowerKeyword)) {
+                return true;
+            }
+            if (session.getDeviceId() != null && session.getDeviceId().toLowerCase().contains(lowerKeyword)) {
+                return true;
+            }
+            UserDTO user = userInfoMap.get(session.getUserId());
+            if (user != null) {
+                if (user.getUsername() != null && user.getUsername().toLowerCase().contains(lowerKeyword)) {
                     return true;
                 }
-                if (session.getDeviceId() != null && session.getDeviceId().toLowerCase().contains(lowerKeyword)) {
+                if (user.getNickname() != null && user.getNickname().toLowerCase().contains(lowerKeyword)) {
                     return true;
                 }
-                UserDTO user = userInfoMap.get(session.getUserId());
-                if (user != null) {
-                    if (user.getUsername() != null && user.getUsername().toLowerCase().contains(lowerKeyword)) {
-                        return true;
-                    }
-                    if (user.getNickname() != null && user.getNickname().toLowerCase().contains(lowerKeyword)) {
-                        return true;
-                    }
-                }
-                return false;
-            }).collect(Collectors.toList());
-        }
+            }
+            return false;
+        }).collect(Collectors.toList());
         
         sessionList.sort((a, b) -> {
             long timeA = getSortTime(a);
@@ -202,6 +237,30 @@ public class SessionManagementController {
         return Result.success(pageResult);
     }
 
+    @Operation(summary = "游标扫描 Session 列表", description = "按 SCAN 游标逐页返回 Session，适用于导出等需要遍历全部 Session 的场景")
+    @GetMapping("/scan")
+    @OperationLog(module = "Session管理", operationType = "查询", description = "游标扫描Session列表")
+    public Result<SessionScanVO> scanSessions(
+            @Parameter(description = "游标，首次传 0") @RequestParam(required = false, defaultValue = SessionPage.START) String cursor,
+            @Parameter(description = "每页数量（提示值）") @RequestParam(required = false, defaultValue = "100") Integer count) {
+        if (sessionManagementService == null) {
+            return Result.fail("Session 管理服务未启用");
+        }
+        
+        int scanCount = Math.min(Math.max(count, 1), 1000);
+        SessionPage page = sessionManagementService.scanSessions(cursor, scanCount);
+        Set<Long> userIds = page.getSessions().stream()
+                .map(Session::getUserId)
+                .filter(id -> id != null && id > 0)
+                .collect(Collectors.toSet());
+        
+        SessionScanVO vo = new SessionScanVO();
+        vo.setSessions(convertSessions(page.getSessions(), loadUserInfo(userIds)));
+        vo.setCursor(page.getCursor());
+        vo.setFinished(page.isFinished());
+        return Result.success(vo);
+    }
+
     private List<SessionInfoVO> convertSessions(List<Session> sessions) {
         return convertSessions(sessions, null);
     }
@@ -257,6 +316,11 @@ public class SessionManagementController {
         if (userService == null || userIds == null || userIds.isEmpty()) {
             return result;
         }
+        // 各用户的详情互不依赖，并行加载；超时或失败的用户仅缺少展示信息
+        if (fanOutExecutor != null) {
+            return fanOutExecutor.loadAll(userIds, userService::getUserDetail, dbParallelism,
+                    fanOutTimeout, TimeUnit.MILLISECONDS);
+        }
         for (Long userId : userIds) {
             if (userId == null) {
                 continue;
@@ -0,0 +1,20 @@
+package com.kite.usercenter.dto;
+
+import javax.validation.constraints.NotBlank;
+
+/**
+ * 刷新 Token 请求体
+ */
+public class RefreshTokenRequest {
+    
+    @NotBlank(message = "Refresh Token 不能为空")
+    private String refreshToken;
+    
+    public String getRefreshToken() {
+        return refreshToken;
+    }
+    
+    public void setRefreshToken(String refreshToken) {
+        this.refreshToken = refreshToken;
+    }
+}
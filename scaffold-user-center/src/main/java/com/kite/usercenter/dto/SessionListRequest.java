@@ -12,6 +12,9 @@ public class SessionListRequest {
     @Schema(description = "用户ID（可选）")
     private Long userId;
     
+    @Schema(description = "Session 状态码（可选）")
+    private Integer status;
+    
     @Schema(description = "关键字（匹配用户名、昵称、设备、Session Key）")
     private String keyword;
     
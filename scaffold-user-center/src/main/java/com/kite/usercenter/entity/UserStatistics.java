@@ -0,0 +1,19 @@
+package com.kite.usercenter.entity;
+
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 用户统计（总数与启用、禁用、今日新增数，一次查询得出）
+ */
+@Data
+public class UserStatistics implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long total;
+    private Long enabledCount;
+    private Long disabledCount;
+    private Long todayNewCount;
+}
@@ -1,6 +1,7 @@
 package com.kite.usercenter.mapper;
 
 import com.kite.usercenter.entity.User;
+import com.kite.usercenter.entity.UserStatistics;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
@@ -43,4 +44,10 @@ public interface UserMapper {
      * 统计今日新增用户数
      */
     long countTodayNew(@Param("keyword") String keyword);
+    
+    /**
+     * 一次查询统计总数（按关键字与状态）及启用、禁用、今日新增用户数（按关键字）
+     */
+    UserStatistics countStatistics(@Param("keyword") String keyword,
+                                   @Param("status") Integer status);
 }
@@ -1,23 +1,30 @@
 package com.kite.usercenter.service.impl;
 
 import com.kite.authenticator.service.SessionManagementService;
+import com.kite.common.concurrent.FanOutExecutor;
 import com.kite.common.exception.BusinessException;
 import com.kite.common.response.ResultCode;
 import com.kite.common.util.PageResult;
 import com.kite.usercenter.dto.*;
 import com.kite.usercenter.entity.User;
+import com.kite.usercenter.entity.UserStatistics;
 import com.kite.usercenter.mapper.UserMapper;
 import com.kite.usercenter.mapper.UserRoleMapper;
 import com.kite.usercenter.service.UserService;
 import com.kite.usercenter.util.PasswordUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,14 +33,20 @@ public class UserServiceImpl implements UserService {
     private final UserMapper userMapper;
     private final UserRoleMapper userRoleMapper;
     private final SessionManagementService sessionManagementService;
+    private final FanOutExecutor fanOutExecutor;
+    
+    @Value("${kite.fan-out.timeout:3000}")
+    private long fanOutTimeout;
     
     @Autowired
     public UserServiceImpl(UserMapper userMapper,
                            UserRoleMapper userRoleMapper,
-                           @Autowired(required = false) SessionManagementService sessionManagementService) {
+                           @Autowired(required = false) SessionManagementService sessionManagementService,
+                           @Autowired(required = false) FanOutExecutor fanOutExecutor) {
         this.userMapper = userMapper;
         this.userRoleMapper = userRoleMapper;
         this.sessionManagementService = sessionManagementService;
+        this.fanOutExecutor = fanOutExecutor;
     }
     
     @Override
@@ -46,21 +59,20 @@ public class UserServiceImpl implements UserService {
         String sortField = request.getSortField() != null ? request.getSortField() : "createTime";
         String sortOrder = request.getSortOrder() != null ? request.getSortOrder() : "desc";
         
-        // 查询分页数据
-        List<User> list = userMapper.selectPage(
-            request.getKeyword(), 
-            request.getStatus(), 
-            sortField,
-            sortOrder,
-            offset, 
-            pageSize
-        );
-        
-        // 查询总数和统计信息
-        long total = userMapper.count(request.getKeyword(), request.getStatus());
-        long enabledCount = userMapper.countEnabled(request.getKeyword());
-        long disabledCount = userMapper.countDisabled(request.getKeyword());
-        long todayNewCount = userMapper.countTodayNew(request.getKeyword());
+        // 分页数据与统计信息互不依赖，并行查询；四项统计合并为一条查询，单次调用最多占用两个数据库连接
+        String keyword = request.getKeyword();
+        Integer status = request.getStatus();
+        List<Object> results = invokeAll(Arrays.<Callable<Object>>asList(
+            () -> userMapper.selectPage(keyword, status, sortField, sortOrder, offset, pageSize),
+            () -> userMapper.countStatistics(keyword, status)
+        ));
+        @SuppressWarnings("unchecked")
+        List<User> list = (List<User>) results.get(0);
+        UserStatistics statistics = (UserStatistics) results.get(1);
+        long total = statistics.getTotal();
+        long enabledCount = statistics.getEnabledCount();
+        long disabledCount = statistics.getDisabledCount();
+        long todayNewCount = statistics.getTodayNewCount();
         
         // 转换为 DTO
         List<UserDTO> dtoList = list.stream().map(this::convertToDTO).collect(Collectors.toList());
@@ -171,6 +183,26 @@ public class UserServiceImpl implements UserService {
         return userMapper.selectById(id);
     }
     
+    /**
+     * 并行执行互不依赖的查询；未配置扇出执行器时按顺序执行
+     */
+    private List<Object> invokeAll(List<Callable<Object>> queries) {
+        if (fanOutExecutor != null) {
+            return fanOutExecutor.invokeAll(queries, fanOutTimeout, TimeUnit.MILLISECONDS);
+        }
+        List<Object> results = new ArrayList<>(queries.size());
+        for (Callable<Object> query : queries) {
+            try {
+                results.add(query.call());
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        return results;
+    }
+    
     private UserDTO convertToDTO(User user) {
         if (user == null) {
             return null;
@@ -0,0 +1,22 @@
+package com.kite.usercenter.vo;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Session 游标扫描结果视图对象
+ */
+@Data
+public class SessionScanVO {
+    
+    @Schema(description = "本页 Session 列表")
+    private List<SessionInfoVO> sessions;
+    
+    @Schema(description = "下一页游标，传回 scan 接口继续扫描")
+    private String cursor;
+    
+    @Schema(description = "是否已扫描完全部 Session")
+    private Boolean finished;
+}